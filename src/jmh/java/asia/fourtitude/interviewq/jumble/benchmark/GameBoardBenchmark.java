@@ -0,0 +1,136 @@
+package asia.fourtitude.interviewq.jumble.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asia.fourtitude.interviewq.jumble.core.DefaultJumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.model.GameBoard;
+
+/**
+ * Session round trip (serialize, then deserialize) of a played game
+ * board: the compact GameBoard form against default Java serialization
+ * of the same data, as sessions held it before.
+ *
+ * See the `jmh` profile in pom.xml for how to run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameBoardBenchmark {
+
+    static final int NUM_BOARDS = 64;
+
+    /*
+     * The session layout before GameBoard was Externalizable: default Java
+     * serialization of the words and a TreeMap of boxed Booleans.
+     */
+    static class DefaultGameBoard implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        String original;
+
+        String scramble;
+
+        Map<String, Boolean> subWords;
+
+        String word;
+
+        DefaultGameBoard(GameBoard board) {
+            this.original = board.getState().getOriginal();
+            this.scramble = board.getState().getScramble();
+            this.subWords = new TreeMap<>(board.getState().getSubWords());
+            this.word = board.getWord();
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class Boards {
+
+        GameBoard[] compact;
+
+        DefaultGameBoard[] defaults;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            try (JumbleEngine engine = new DefaultJumbleEngine()) {
+                this.compact = new GameBoard[NUM_BOARDS];
+                this.defaults = new DefaultGameBoard[NUM_BOARDS];
+                for (int ix = 0; ix < NUM_BOARDS; ix += 1) {
+                    GameBoard board = new GameBoard();
+                    GameState state = engine.createGameState(6, 3);
+                    board.setState(state);
+                    board.setWord("");
+                    // a game in progress: every 3rd word guessed
+                    List<String> words = new ArrayList<>(state.getSubWords().keySet());
+                    for (int wx = 0; wx < words.size(); wx += 3) {
+                        state.updateGuessWord(words.get(wx));
+                    }
+                    this.compact[ix] = board;
+                    this.defaults[ix] = new DefaultGameBoard(board);
+                }
+            }
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next() {
+            int ix = this.next;
+            this.next = (ix + 1) & (NUM_BOARDS - 1);
+            return ix;
+        }
+
+    }
+
+    static Object roundTrip(Object obj) throws IOException, ClassNotFoundException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(obj);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    @Benchmark
+    public Object compactRoundTrip(Boards boards, Cursor cursor) throws Exception {
+        return roundTrip(boards.compact[cursor.next()]);
+    }
+
+    @Benchmark
+    public Object defaultRoundTrip(Boards boards, Cursor cursor) throws Exception {
+        return roundTrip(boards.defaults[cursor.next()]);
+    }
+
+}
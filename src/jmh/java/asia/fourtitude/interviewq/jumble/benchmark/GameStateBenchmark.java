@@ -0,0 +1,97 @@
+package asia.fourtitude.interviewq.jumble.benchmark;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+
+/**
+ * Throughput of guesses on distinct games, one game per thread, at 1 and
+ * at 4 threads. Guesses on different games share no state, so the total
+ * throughput should grow with the thread count, up to the number of
+ * cores.
+ *
+ * Each guess marks a new word; a game is replaced once all its words are
+ * guessed, which is amortized over its 1000 guesses.
+ *
+ * See the `jmh` profile in pom.xml for how to run.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GameStateBenchmark {
+
+    static final int NUM_WORDS = 1000;
+
+    /*
+     * Has each of the letters 'a' to 'j' three times, enough to spell
+     * every word of WORDS.
+     */
+    static final String ORIGINAL = "abcdefghijabcdefghijabcdefghij";
+
+    static final String[] WORDS = new String[NUM_WORDS];
+
+    static final Map<String, Boolean> SUB_WORDS = new TreeMap<>();
+
+    static {
+        for (int ix = 0; ix < NUM_WORDS; ix += 1) {
+            // three letters from 'a' to 'j', one per decimal digit of `ix`
+            WORDS[ix] = new String(new char[] {
+                    (char) ('a' + ix / 100), (char) ('a' + ix / 10 % 10), (char) ('a' + ix % 10) });
+            SUB_WORDS.put(WORDS[ix], Boolean.FALSE);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Game {
+
+        GameState state;
+
+        int next;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            this.state = new GameState(ORIGINAL, "scramble", SUB_WORDS);
+            this.next = 0;
+        }
+
+        GameState.Guess guess() {
+            GameState.Guess guess = this.state.guess(WORDS[this.next]);
+            this.next += 1;
+            if (this.next == NUM_WORDS) {
+                setUp();
+            }
+            return guess;
+        }
+
+    }
+
+    @Benchmark
+    @Threads(1)
+    public GameState.Guess guessDistinctGames1Thread(Game game) {
+        return game.guess();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public GameState.Guess guessDistinctGames4Threads(Game game) {
+        return game.guess();
+    }
+
+}
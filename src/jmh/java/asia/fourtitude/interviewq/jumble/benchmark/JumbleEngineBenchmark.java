@@ -0,0 +1,335 @@
+package asia.fourtitude.interviewq.jumble.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import asia.fourtitude.interviewq.jumble.core.DefaultJumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.DictionarySource;
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.ScoredWord;
+
+/**
+ * Benchmarks of the {@link JumbleEngine} hot paths.
+ *
+ * Every benchmark runs against each `dictionary`: the full internal word
+ * list, or every 2nd / 4th word of it, to show how costs grow with the
+ * word list size. Thread count is a JMH run option, e.g. `-t 4`; the
+ * engine is shared by all threads, while inputs are cycled per thread.
+ *
+ * See the `jmh` profile in pom.xml for how to run.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JumbleEngineBenchmark {
+
+    /*
+     * Number of inputs of each kind. A power of two, so that the cursor
+     * can be masked instead of taken modulo.
+     */
+    static final int NUM_INPUTS = 256;
+
+    static final Duration PHRASE_TIMEOUT = Duration.ofSeconds(2);
+
+    @State(Scope.Benchmark)
+    public static class EngineState {
+
+        @Param({ "full", "half", "quarter" })
+        public String dictionary;
+
+        JumbleEngine engine;
+
+        String[] hitWords;
+
+        String[] missWords;
+
+        String[] shortPrefixes;
+
+        String[] longPrefixes;
+
+        String[] scrambleWords;
+
+        String[] patterns;
+
+        String[] regexes;
+
+        @Setup(Level.Trial)
+        public void setUp() throws IOException {
+            this.engine = new DefaultJumbleEngine(DictionarySource.of(loadDictionary(this.dictionary)));
+            this.hitWords = new String[NUM_INPUTS];
+            this.missWords = new String[NUM_INPUTS];
+            this.shortPrefixes = new String[NUM_INPUTS];
+            this.longPrefixes = new String[NUM_INPUTS];
+            this.scrambleWords = new String[NUM_INPUTS];
+            this.patterns = new String[NUM_INPUTS];
+            this.regexes = new String[NUM_INPUTS];
+            List<String> sample = sample(this.engine.searchWords(null, null, 7), NUM_INPUTS);
+            for (int ix = 0; ix < NUM_INPUTS; ix += 1) {
+                String word = sample.get(ix);
+                this.hitWords[ix] = word;
+                // 'q' followed by 'x' is in no english word
+                this.missWords[ix] = word.substring(0, 3) + "qx" + word.substring(5);
+                this.shortPrefixes[ix] = word.substring(0, 2);
+                this.longPrefixes[ix] = word.substring(0, 5);
+                this.scrambleWords[ix] = word;
+                // crossword style: some letters known, "c?ta*s"
+                this.patterns[ix] = word.charAt(0) + "?" + word.substring(2, 4) + "*" + word.charAt(6);
+                this.regexes[ix] = word.charAt(0) + "[aeiou]." + word.charAt(3) + ".*(s|ed|ing)?";
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            this.engine.close();
+        }
+
+    }
+
+    @State(Scope.Benchmark)
+    public static class SubWordsState {
+
+        @Param({ "6", "7", "8", "9", "10", "11", "12", "13", "14", "15" })
+        public int seedLength;
+
+        String[] seeds;
+
+        String[] racks;
+
+        @Setup(Level.Trial)
+        public void setUp(EngineState engineState) {
+            Collection<String> candidates = engineState.engine.searchWords(null, null, this.seedLength);
+            if (candidates.isEmpty()) {
+                throw new IllegalStateException("No word of length=[" + this.seedLength
+                        + "] in dictionary=[" + engineState.dictionary + "]");
+            }
+            this.seeds = sample(candidates, NUM_INPUTS).toArray(new String[0]);
+            this.racks = new String[NUM_INPUTS];
+            for (int ix = 0; ix < NUM_INPUTS; ix += 1) {
+                // two blank tiles, as in a Scrabble set
+                char[] rack = this.seeds[ix].toCharArray();
+                rack[1] = '?';
+                rack[rack.length - 1] = '?';
+                this.racks[ix] = new String(rack);
+            }
+        }
+
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int next;
+
+        int next() {
+            int ix = this.next;
+            this.next = (ix + 1) & (NUM_INPUTS - 1);
+            return ix;
+        }
+
+    }
+
+    /*
+     * Reads the internal word list, keeping every word, every 2nd word or
+     * every 4th word.
+     */
+    static List<String> loadDictionary(String dictionary) throws IOException {
+        int step;
+        if ("full".equals(dictionary)) {
+            step = 1;
+        } else if ("half".equals(dictionary)) {
+            step = 2;
+        } else if ("quarter".equals(dictionary)) {
+            step = 4;
+        } else {
+            throw new IllegalArgumentException("Unknown dictionary=[" + dictionary + "]");
+        }
+        List<String> words = new ArrayList<>();
+        try (InputStream is = JumbleEngineBenchmark.class.getClassLoader().getResourceAsStream("words.txt");
+                BufferedReader reader = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            String line;
+            for (int ix = 0; (line = reader.readLine()) != null; ix += 1) {
+                if (ix % step == 0) {
+                    words.add(line);
+                }
+            }
+        }
+        return words;
+    }
+
+    /*
+     * Picks `count` words spread evenly across `words`, repeating words
+     * when there are fewer than `count`. Deterministic, so that runs are
+     * comparable.
+     */
+    static List<String> sample(Collection<String> words, int count) {
+        List<String> list = new ArrayList<>(words);
+        List<String> sample = new ArrayList<>(count);
+        for (int ix = 0; ix < count; ix += 1) {
+            sample.add(list.get((int) ((long) ix * list.size() / count)));
+        }
+        return sample;
+    }
+
+    @Benchmark
+    public String scramble(EngineState state, Cursor cursor) {
+        return state.engine.scramble(state.scrambleWords[cursor.next()]);
+    }
+
+    @Benchmark
+    public boolean existsHit(EngineState state, Cursor cursor) {
+        return state.engine.exists(state.hitWords[cursor.next()]);
+    }
+
+    @Benchmark
+    public boolean existsMiss(EngineState state, Cursor cursor) {
+        return state.engine.exists(state.missWords[cursor.next()]);
+    }
+
+    @Benchmark
+    public Collection<String> wordsMatchingShortPrefix(EngineState state, Cursor cursor) {
+        return state.engine.wordsMatchingPrefix(state.shortPrefixes[cursor.next()]);
+    }
+
+    @Benchmark
+    public int countWordsMatchingShortPrefix(EngineState state, Cursor cursor) {
+        return state.engine.countWordsMatchingPrefix(state.shortPrefixes[cursor.next()]);
+    }
+
+    @Benchmark
+    public Collection<String> wordsMatchingLongPrefix(EngineState state, Cursor cursor) {
+        return state.engine.wordsMatchingPrefix(state.longPrefixes[cursor.next()]);
+    }
+
+    @Benchmark
+    public Collection<String> wordsMatchingPattern(EngineState state, Cursor cursor) {
+        return state.engine.wordsMatchingPattern(state.patterns[cursor.next()]);
+    }
+
+    @Benchmark
+    public int countWordsMatchingPattern(EngineState state, Cursor cursor) {
+        return state.engine.countWordsMatchingPattern(state.patterns[cursor.next()]);
+    }
+
+    @Benchmark
+    public Collection<String> wordsMatchingRegex(EngineState state, Cursor cursor) {
+        return state.engine.wordsMatchingRegex(state.regexes[cursor.next()]);
+    }
+
+    @Benchmark
+    public Collection<String> suggestWords(EngineState state, Cursor cursor) {
+        return state.engine.suggestWords(state.missWords[cursor.next()], 2, 5);
+    }
+
+    @Benchmark
+    public Collection<String> searchWordsStartChar(EngineState state, Cursor cursor) {
+        String word = state.hitWords[cursor.next()];
+        return state.engine.searchWords(word.charAt(0), null, null);
+    }
+
+    @Benchmark
+    public int countSearchWordsStartChar(EngineState state, Cursor cursor) {
+        String word = state.hitWords[cursor.next()];
+        return state.engine.countSearchWords(word.charAt(0), null, null);
+    }
+
+    @Benchmark
+    public Collection<String> searchWordsEndChar(EngineState state, Cursor cursor) {
+        String word = state.hitWords[cursor.next()];
+        return state.engine.searchWords(null, word.charAt(word.length() - 1), null);
+    }
+
+    @Benchmark
+    public Collection<String> searchWordsLength(EngineState state, Cursor cursor) {
+        return state.engine.searchWords(null, null, 3 + (cursor.next() & 7));
+    }
+
+    @Benchmark
+    public Collection<String> searchWordsAll(EngineState state, Cursor cursor) {
+        String word = state.hitWords[cursor.next()];
+        return state.engine.searchWords(word.charAt(0), word.charAt(word.length() - 1), word.length());
+    }
+
+    @Benchmark
+    public Collection<String> searchWordsPositions(EngineState state, Cursor cursor) {
+        String word = state.hitWords[cursor.next()];
+        Map<Integer, Character> letters = new HashMap<>();
+        letters.put(3, word.charAt(2));
+        letters.put(-2, word.charAt(word.length() - 2));
+        return state.engine.searchWords(word.length(), letters);
+    }
+
+    @Benchmark
+    public Collection<String> anagrams(EngineState state, Cursor cursor) {
+        return state.engine.anagrams(state.hitWords[cursor.next()]);
+    }
+
+    @Benchmark
+    public List<String> phraseAnagrams(EngineState state, Cursor cursor) {
+        // two words, 14 letters
+        String letters = state.hitWords[cursor.next()] + state.hitWords[cursor.next()];
+        return state.engine.phraseAnagrams(letters, 3, 100, PHRASE_TIMEOUT).join();
+    }
+
+    @Benchmark
+    public String pickOneRandomWord(EngineState state) {
+        return state.engine.pickOneRandomWord(7);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Collection<String> generateSubWords(EngineState state, SubWordsState subWordsState, Cursor cursor) {
+        return state.engine.generateSubWords(subWordsState.seeds[cursor.next()], 3);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public int countSubWords(EngineState state, SubWordsState subWordsState, Cursor cursor) {
+        return state.engine.countSubWords(subWordsState.seeds[cursor.next()], 3);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Collection<String> generateSubWordsWithBlanks(EngineState state, SubWordsState subWordsState, Cursor cursor) {
+        return state.engine.generateSubWordsWithBlanks(subWordsState.racks[cursor.next()], 3);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public List<ScoredWord> bestWords(EngineState state, SubWordsState subWordsState, Cursor cursor) {
+        return state.engine.bestWords(subWordsState.racks[cursor.next()], 3, 10);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public GameState createGameState(EngineState state) {
+        return state.engine.createGameState(6, 3);
+    }
+
+}
@@ -0,0 +1,425 @@
+package asia.fourtitude.interviewq.jumble.loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import asia.fourtitude.interviewq.jumble.core.DefaultJumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+/**
+ * HTTP load generator for the game and word APIs, run against a locally
+ * started app.
+ *
+ * Replays a weighted mix of the requests from
+ * interviewq-jumble.postman_collection.json (new game, then guesses on
+ * it), plus prefix lookups. Guesses are made against games created
+ * during the run; the sub words of each game are worked out with a local
+ * engine, so that a set share of guesses is correct.
+ *
+ * Two modes:
+ * - closed loop (`rate=0`): `concurrency` workers each send the next
+ *   request as soon as the previous one completes.
+ * - open loop (`rate=N`): requests are started at a fixed N per second
+ *   regardless of how fast the app responds, on up to `concurrency`
+ *   connections. Latency is measured from the intended start time, so
+ *   queueing behind a slow app is included (no coordinated omission).
+ *
+ * Requests and their inputs come from a seeded random, so runs with the
+ * same options send the same sequence of requests.
+ *
+ * Options, as `name=value` (or `--name=value`):
+ * - url          Base URL of the app. Default http://localhost:8080
+ * - concurrency  Number of workers / connections. Default 8
+ * - rate         Requests per second, 0 for closed loop. Default 0
+ * - warmup       Seconds of load before measuring. Default 10
+ * - duration     Seconds of measured load. Default 30
+ * - mix          Operation weights. Default new=1,guess=6,prefix=3
+ * - correct      Share of guesses that are correct, 0 to 1. Default 0.5
+ * - seed         Random seed. Default 42
+ * - timeout      Connect and read timeout in milliseconds. Default 5000
+ */
+public class LoadTest {
+
+    enum Operation {
+        NEW("new"),
+        GUESS("guess"),
+        PREFIX("prefix");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    static class Options {
+
+        String url = "http://localhost:8080";
+
+        int concurrency = 8;
+
+        int rate = 0;
+
+        int warmup = 10;
+
+        int duration = 30;
+
+        Map<Operation, Integer> mix = parseMix("new=1,guess=6,prefix=3");
+
+        double correct = 0.5;
+
+        long seed = 42;
+
+        int timeout = 5_000;
+
+        static Options parse(String[] args) {
+            Options options = new Options();
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq < 0) {
+                    throw new IllegalArgumentException("Invalid option=[" + arg + "], expected name=value");
+                }
+                String name = arg.substring(arg.startsWith("--") ? 2 : 0, eq);
+                String value = arg.substring(eq + 1);
+                switch (name) {
+                case "url":
+                    options.url = value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+                    break;
+                case "concurrency":
+                    options.concurrency = Integer.parseInt(value);
+                    break;
+                case "rate":
+                    options.rate = Integer.parseInt(value);
+                    break;
+                case "warmup":
+                    options.warmup = Integer.parseInt(value);
+                    break;
+                case "duration":
+                    options.duration = Integer.parseInt(value);
+                    break;
+                case "mix":
+                    options.mix = parseMix(value);
+                    break;
+                case "correct":
+                    options.correct = Double.parseDouble(value);
+                    break;
+                case "seed":
+                    options.seed = Long.parseLong(value);
+                    break;
+                case "timeout":
+                    options.timeout = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option=[" + name + "]");
+                }
+            }
+            if (options.concurrency <= 0 || options.rate < 0 || options.warmup < 0 || options.duration <= 0) {
+                throw new IllegalArgumentException("Invalid concurrency, rate, warmup or duration");
+            }
+            return options;
+        }
+
+        static Map<Operation, Integer> parseMix(String text) {
+            Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+            for (String part : text.split(",")) {
+                String[] pair = part.trim().split("=");
+                Operation found = null;
+                for (Operation op : Operation.values()) {
+                    if (op.key.equals(pair[0])) {
+                        found = op;
+                    }
+                }
+                if (found == null || pair.length != 2) {
+                    throw new IllegalArgumentException("Invalid mix=[" + part + "]");
+                }
+                mix.put(found, Integer.parseInt(pair[1]));
+            }
+            return mix;
+        }
+
+    }
+
+    /*
+     * A game created during the run, with its sub words for correct guesses.
+     */
+    static final class Game {
+
+        final String id;
+
+        final String original;
+
+        final String[] subWords;
+
+        Game(String id, String original, String[] subWords) {
+            this.id = id;
+            this.original = original;
+            this.subWords = subWords;
+        }
+
+    }
+
+    /*
+     * Games to guess on. A ring, so that guesses spread over recent games
+     * and old games are dropped.
+     */
+    static final int MAX_GAMES = 1024;
+
+    private final Options options;
+
+    private final JumbleEngine engine = new DefaultJumbleEngine();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final List<String> prefixWords = new ArrayList<>();
+
+    private final AtomicReferenceArray<Game> games = new AtomicReferenceArray<>(MAX_GAMES);
+
+    private final AtomicLong gameCount = new AtomicLong();
+
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+
+    private final Operation[] weighted;
+
+    private long measureStart;
+
+    public LoadTest(Options options) {
+        this.options = options;
+        for (Operation op : Operation.values()) {
+            this.histograms.put(op, new ConcurrentHistogram(3));
+            this.errors.put(op, new AtomicLong());
+        }
+        List<Operation> ops = new ArrayList<>();
+        for (Map.Entry<Operation, Integer> entry : options.mix.entrySet()) {
+            for (int ix = 0; ix < entry.getValue(); ix += 1) {
+                ops.add(entry.getKey());
+            }
+        }
+        if (ops.isEmpty()) {
+            throw new IllegalArgumentException("Empty mix");
+        }
+        this.weighted = ops.toArray(new Operation[0]);
+        for (int length = 3; length <= 10; length += 1) {
+            this.prefixWords.addAll(this.engine.searchWords(null, null, length));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        // keep-alive pool of HttpURLConnection, one connection per worker
+        System.setProperty("http.maxConnections", String.valueOf(options.concurrency));
+        new LoadTest(options).run();
+    }
+
+    public void run() throws IOException, InterruptedException {
+        // a few games up front, so that the first guesses have a game
+        for (int ix = 0; ix < this.options.concurrency; ix += 1) {
+            if (! newGame()) {
+                throw new IllegalStateException("Failed to create a game at url=[" + this.options.url + "]");
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(this.options.concurrency);
+        long start = System.nanoTime();
+        this.measureStart = start + TimeUnit.SECONDS.toNanos(this.options.warmup);
+        long end = this.measureStart + TimeUnit.SECONDS.toNanos(this.options.duration);
+        if (this.options.rate > 0) {
+            long interval = TimeUnit.SECONDS.toNanos(1) / this.options.rate;
+            Random random = new Random(this.options.seed);
+            for (long ix = 0; ; ix += 1) {
+                long intended = start + ix * interval;
+                if (intended >= end) {
+                    break;
+                }
+                long delay;
+                while ((delay = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(delay);
+                }
+                Operation op = pick(random);
+                long salt = random.nextLong();
+                executor.execute(() -> execute(op, new Random(salt), intended));
+            }
+        } else {
+            for (int ix = 0; ix < this.options.concurrency; ix += 1) {
+                long workerSeed = this.options.seed + ix;
+                executor.execute(() -> {
+                    Random random = new Random(workerSeed);
+                    long begin;
+                    while ((begin = System.nanoTime()) < end) {
+                        execute(pick(random), random, begin);
+                    }
+                });
+            }
+        }
+        executor.shutdown();
+        if (! executor.awaitTermination(this.options.timeout + 60_000L, TimeUnit.MILLISECONDS)) {
+            System.err.println("Requests still running after the end of the run");
+            executor.shutdownNow();
+        }
+        report(System.out);
+    }
+
+    private Operation pick(Random random) {
+        return this.weighted[random.nextInt(this.weighted.length)];
+    }
+
+    /*
+     * Sends one request, and records its latency from `startNanos` when
+     * that falls within the measured window.
+     */
+    void execute(Operation op, Random random, long startNanos) {
+        boolean ok;
+        try {
+            switch (op) {
+            case GUESS:
+                Game game = randomGame(random);
+                ok = game == null ? newGame() : guess(game, random);
+                break;
+            case PREFIX:
+                ok = prefix(random);
+                break;
+            default:
+                ok = newGame();
+            }
+        } catch (IOException | RuntimeException e) {
+            ok = false;
+        }
+        if (startNanos >= this.measureStart) {
+            this.histograms.get(op).recordValue(System.nanoTime() - startNanos);
+            if (! ok) {
+                this.errors.get(op).incrementAndGet();
+            }
+        }
+    }
+
+    private Game randomGame(Random random) {
+        long count = this.gameCount.get();
+        if (count == 0) {
+            return null;
+        }
+        return this.games.get(random.nextInt((int) Math.min(count, MAX_GAMES)));
+    }
+
+    private boolean newGame() throws IOException {
+        StringBuilder body = new StringBuilder();
+        if (send("GET", "/api/game/new", null, body) != 200) {
+            return false;
+        }
+        JsonNode node = this.mapper.readTree(body.toString());
+        String original = node.path("original_word").asText();
+        Collection<String> subWords = this.engine.generateSubWords(original, 3);
+        Game game = new Game(node.path("id").asText(), original, subWords.toArray(new String[0]));
+        this.games.set((int) (this.gameCount.getAndIncrement() % MAX_GAMES), game);
+        return true;
+    }
+
+    private boolean guess(Game game, Random random) throws IOException {
+        String word;
+        if (game.subWords.length > 0 && random.nextDouble() < this.options.correct) {
+            word = game.subWords[random.nextInt(game.subWords.length)];
+        } else {
+            // letters of the original in a random order, almost never a word
+            word = this.engine.scramble(game.original).substring(0, 3 + random.nextInt(game.original.length() - 2));
+        }
+        ObjectNode input = this.mapper.createObjectNode();
+        input.put("id", game.id);
+        input.put("word", word);
+        return send("POST", "/api/game/guess", this.mapper.writeValueAsString(input), new StringBuilder()) == 200;
+    }
+
+    private boolean prefix(Random random) throws IOException {
+        String word = this.prefixWords.get(random.nextInt(this.prefixWords.size()));
+        String prefix = word.substring(0, 3 + random.nextInt(Math.min(3, word.length() - 2)));
+        return send("GET", "/api/word/" + prefix, null, new StringBuilder()) == 200;
+    }
+
+    /*
+     * Sends a request and reads the whole response into `response`, so
+     * that the connection goes back to the keep-alive pool.
+     */
+    private int send(String method, String path, String body, StringBuilder response) throws IOException {
+        HttpURLConnection conn = (HttpURLConnection) new URL(this.options.url + path).openConnection();
+        conn.setRequestMethod(method);
+        conn.setConnectTimeout(this.options.timeout);
+        conn.setReadTimeout(this.options.timeout);
+        conn.setRequestProperty("Accept", "application/json");
+        if (body != null) {
+            conn.setDoOutput(true);
+            conn.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream os = conn.getOutputStream()) {
+                os.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = conn.getResponseCode();
+        InputStream is = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+        if (is != null) {
+            try (InputStream in = is) {
+                ByteArrayOutputStream buf = new ByteArrayOutputStream();
+                byte[] chunk = new byte[4096];
+                int read;
+                while ((read = in.read(chunk)) > 0) {
+                    buf.write(chunk, 0, read);
+                }
+                response.append(new String(buf.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+        return status;
+    }
+
+    void report(PrintStream out) {
+        out.printf(Locale.ROOT, "mode=%s concurrency=%d rate=%d warmup=%ds duration=%ds mix=%s%n",
+                this.options.rate > 0 ? "open" : "closed", this.options.concurrency, this.options.rate,
+                this.options.warmup, this.options.duration, this.options.mix);
+        out.printf(Locale.ROOT, "%-8s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "op", "count", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        for (Operation op : Operation.values()) {
+            Histogram histogram = this.histograms.get(op);
+            total.add(histogram);
+            totalErrors += this.errors.get(op).get();
+            printRow(out, op.key, histogram, this.errors.get(op).get());
+        }
+        printRow(out, "total", total, totalErrors);
+    }
+
+    private void printRow(PrintStream out, String name, Histogram histogram, long errorCount) {
+        double millis = TimeUnit.MILLISECONDS.toNanos(1);
+        out.printf(Locale.ROOT, "%-8s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, histogram.getTotalCount(), errorCount,
+                histogram.getTotalCount() / (double) this.options.duration,
+                histogram.getValueAtPercentile(50) / millis,
+                histogram.getValueAtPercentile(90) / millis,
+                histogram.getValueAtPercentile(99) / millis,
+                histogram.getValueAtPercentile(99.9) / millis,
+                histogram.getMaxValue() / millis);
+    }
+
+}
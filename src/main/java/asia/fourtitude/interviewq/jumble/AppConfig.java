@@ -1,16 +1,110 @@
 package asia.fourtitude.interviewq.jumble;
 
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
 
+import asia.fourtitude.interviewq.jumble.controller.ServerTimingFilter;
+import asia.fourtitude.interviewq.jumble.core.DictionarySource;
+import asia.fourtitude.interviewq.jumble.core.GameTokenCodec;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngineMetrics;
+import asia.fourtitude.interviewq.jumble.core.LetterValues;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 
 @Configuration
 public class AppConfig {
 
+    private static final Logger LOG = LoggerFactory.getLogger(AppConfig.class);
+
+    /*
+     * Loads the word list and builds indexes at startup, even with
+     * spring.main.lazy-initialization, so that no request pays for it.
+     * The solver threads are stopped with the context.
+     */
+    @Bean(destroyMethod = "close")
+    @Lazy(false)
+    public JumbleEngine jumbleEngine(
+            @Value("${jumble.engine.type:default}") String type,
+            @Value("${jumble.dictionary.location:classpath:words.txt}") String location,
+            @Value("${jumble.scoring.letter-values:}") String letterValues) {
+        return JumbleEngine.create(type, DictionarySource.fromLocation(location),
+                letterValues.isEmpty() ? LetterValues.SCRABBLE : LetterValues.parse(letterValues));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "jumble.warmup.enabled", havingValue = "true", matchIfMissing = true)
+    public WarmUpRunner warmUpRunner(
+            JumbleEngine jumbleEngine,
+            @Value("${jumble.warmup.max-duration:15s}") Duration maxDuration) {
+        return new WarmUpRunner(jumbleEngine, maxDuration);
+    }
+
+    @Bean
+    public GameTokenCodec gameTokenCodec(
+            @Value("${jumble.game.token-secret:}") String secret,
+            @Value("${jumble.game.token-max-age:24h}") Duration maxAge,
+            JumbleEngine jumbleEngine) {
+        if (secret.isEmpty()) {
+            LOG.warn("jumble.game.token-secret is not set: stateless game tokens are signed with a random"
+                    + " secret, and only verify on this instance");
+        }
+        return new GameTokenCodec(secret, maxAge, jumbleEngine);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "jumble.server-timing.enabled", havingValue = "true")
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+        registration.addUrlPatterns("/api/game/new", "/api/game/guess", "/api/game/guess/batch", "/api/word/*");
+        return registration;
+    }
+
+    /*
+     * Times methods annotated with @Timed, such as the JumbleEngine
+     * operations.
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public GameMetrics gameMetrics(MeterRegistry registry) {
+        return new GameMetrics(registry);
+    }
+
     @Bean
-    public JumbleEngine jumbleEngine() {
-        return new JumbleEngine();
+    public MeterBinder jumbleEngineMetrics(JumbleEngine jumbleEngine) {
+        return registry -> {
+            Gauge.builder("jumble.dictionary.words", jumbleEngine, JumbleEngine::getWordCount)
+                    .description("Words in the dictionary")
+                    .register(registry);
+            if (jumbleEngine instanceof JumbleEngineMetrics) {
+                JumbleEngineMetrics metrics = (JumbleEngineMetrics) jumbleEngine;
+                Gauge.builder("jumble.dictionary.memory", metrics, JumbleEngineMetrics::getIndexBytes)
+                        .description("Estimated heap used by the dictionary indexes")
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("jumble.solver.queued", metrics, JumbleEngineMetrics::getSolverQueuedCount)
+                        .description("Phrase searches waiting for a solver thread")
+                        .register(registry);
+                Gauge.builder("jumble.solver.active", metrics, JumbleEngineMetrics::getSolverActiveCount)
+                        .description("Solver threads running a phrase search")
+                        .register(registry);
+            }
+        };
     }
 
 }
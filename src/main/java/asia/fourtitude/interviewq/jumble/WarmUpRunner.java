@@ -0,0 +1,137 @@
+package asia.fourtitude.interviewq.jumble;
+
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+/**
+ * Warms up the engine before the app reports ready, so that the first
+ * requests after a deploy do not run on cold (interpreted) code.
+ *
+ * Runs rounds of synthetic exists / prefix / search / sub word /
+ * createGameState / guess calls, until the JIT compiler stays mostly idle
+ * for a few rounds, or `maxDuration` runs out.
+ *
+ * Calls go through the engine bean, the same as requests, so the timing
+ * proxy is warmed up too, and warm-up calls show in the engine metrics.
+ *
+ * Spring Boot publishes the readiness state ACCEPTING_TRAFFIC only after
+ * all application runners complete, so /actuator/health/readiness reports
+ * OUT_OF_SERVICE until the warm-up is done.
+ */
+public class WarmUpRunner implements ApplicationRunner {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    static final int NUM_SAMPLES = 200;
+
+    /*
+     * Rounds in a row with little compilation, to call it stable.
+     */
+    static final int STABLE_ROUNDS = 3;
+
+    /*
+     * Rounds to run when compilation time cannot be monitored.
+     */
+    static final int FIXED_ROUNDS = 20;
+
+    private final JumbleEngine jumbleEngine;
+
+    private final Duration maxDuration;
+
+    /*
+     * Sink for results, so that the JIT cannot drop the calls.
+     */
+    private volatile long checksum;
+
+    public WarmUpRunner(JumbleEngine jumbleEngine, Duration maxDuration) {
+        this.jumbleEngine = jumbleEngine;
+        this.maxDuration = maxDuration;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * @return  The number of rounds run.
+     */
+    public int warmUp() {
+        List<String> samples = new ArrayList<>();
+        for (int length = 3; length <= 10; length += 1) {
+            List<String> words = new ArrayList<>(this.jumbleEngine.searchWords(null, null, length));
+            int step = Math.max(1, words.size() / (NUM_SAMPLES / 8));
+            for (int ix = 0; ix < words.size(); ix += step) {
+                samples.add(words.get(ix));
+            }
+        }
+        if (samples.isEmpty()) {
+            return 0;
+        }
+
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean monitored = jit != null && jit.isCompilationTimeMonitoringSupported();
+        long compileMillis = monitored ? jit.getTotalCompilationTime() : 0;
+        long begin = System.nanoTime();
+        long deadline = begin + this.maxDuration.toNanos();
+        int rounds = 0;
+        int stableRounds = 0;
+        while (System.nanoTime() < deadline) {
+            long roundBegin = System.nanoTime();
+            runRound(samples);
+            rounds += 1;
+            if (monitored) {
+                long roundMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - roundBegin));
+                long total = jit.getTotalCompilationTime();
+                // stable when the JIT compiled for at most 2% of the round
+                stableRounds = (total - compileMillis) * 50 <= roundMillis ? stableRounds + 1 : 0;
+                compileMillis = total;
+                if (stableRounds >= STABLE_ROUNDS) {
+                    break;
+                }
+            } else if (rounds >= FIXED_ROUNDS) {
+                break;
+            }
+        }
+        LOG.info("warmUp: rounds=[{}], stable=[{}], elapsed=[{}ms]", rounds, stableRounds >= STABLE_ROUNDS,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        return rounds;
+    }
+
+    private void runRound(List<String> samples) {
+        long sum = 0;
+        for (String word : samples) {
+            char first = word.charAt(0);
+            char last = word.charAt(word.length() - 1);
+            sum += this.jumbleEngine.exists(word) ? 1 : 0;
+            sum += this.jumbleEngine.exists(word + "zq") ? 1 : 0;
+            sum += this.jumbleEngine.wordsMatchingPrefix(word.substring(0, 3)).size();
+            sum += this.jumbleEngine.searchWords(first, last, word.length()).size();
+            sum += this.jumbleEngine.scramble(word).length();
+        }
+        for (int ix = 0; ix < samples.size(); ix += 10) {
+            sum += this.jumbleEngine.generateSubWords(samples.get(ix), 3).size();
+        }
+        for (int ix = 0; ix < 5; ix += 1) {
+            GameState state = this.jumbleEngine.createGameState(6, 3);
+            for (String word : state.getSubWords().keySet()) {
+                sum += state.updateGuessWord(word) ? 1 : 0;
+            }
+            sum += state.updateGuessWord(state.getScramble()) ? 1 : 0;
+        }
+        this.checksum += sum;
+    }
+
+}
@@ -4,6 +4,7 @@ import java.io.PrintStream;
 import java.util.Collection;
 import java.util.Scanner;
 
+import asia.fourtitude.interviewq.jumble.core.DictionarySource;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 
 public class ConsoleApp extends AConsole {
@@ -12,7 +13,10 @@ public class ConsoleApp extends AConsole {
 
     public ConsoleApp(Scanner cin, PrintStream cout) {
         super(cin, cout);
-        this.engine = new JumbleEngine();
+        // same settings as the web app, given as system properties
+        this.engine = JumbleEngine.create(
+                System.getProperty("jumble.engine.type", JumbleEngine.DEFAULT),
+                DictionarySource.fromLocation(System.getProperty("jumble.dictionary.location", "classpath:words.txt")));
     }
 
     private void scramble() {
@@ -1,7 +1,10 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,13 +16,19 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import asia.fourtitude.interviewq.jumble.core.GameIds;
 import asia.fourtitude.interviewq.jumble.core.GameState;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.LongKeyMap;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
+import asia.fourtitude.interviewq.jumble.model.GameGuessBatchInput;
 import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
 import asia.fourtitude.interviewq.jumble.model.GameGuessModel;
 import asia.fourtitude.interviewq.jumble.model.GameGuessOutput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessWordOutput;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -36,22 +45,37 @@ public class GameApiController {
 
     private static final Logger LOG = LoggerFactory.getLogger(GameApiController.class);
 
+    /*
+     * Most "did you mean" words in a guess response.
+     */
+    static final int MAX_SUGGESTIONS = 5;
+
+    /*
+     * Most blank tiles in a new game, as in a Scrabble set.
+     */
+    static final int MAX_BLANKS = 2;
+
     private final JumbleEngine jumbleEngine;
 
     /*
      * In-memory database/repository for all the game boards/states.
      */
-    private final Map<String, GameGuessModel> gameBoards;
+    private final LongKeyMap<GameGuessModel> gameBoards;
+
+    private final GameMetrics gameMetrics;
 
     @Autowired(required = true)
-    public GameApiController(JumbleEngine jumbleEngine) {
+    public GameApiController(JumbleEngine jumbleEngine, GameMetrics gameMetrics) {
         this.jumbleEngine = jumbleEngine;
-        this.gameBoards = new ConcurrentHashMap<>();
+        this.gameBoards = new LongKeyMap<>();
+        this.gameMetrics = gameMetrics;
+        this.gameMetrics.monitorGameStore(this.gameBoards);
     }
 
     @Operation(
             summary = "Creates new game board/state",
-            description = "Creates a new game board/state and registered into game engine referenced by `id`. All subsequent operation/play is tied to `id`.")
+            description = "Creates a new game board/state and registered into game engine referenced by `id`. All subsequent operation/play is tied to `id`. "
+                    + "With `blanks`, that many letters of the scramble are blank tiles, `?`, and the words to guess are those of the letters and blanks left.")
     @ApiResponses(
             value = {
                     @ApiResponse(
@@ -66,7 +90,7 @@ public class GameApiController {
                                                     description = "Created a new game/board and registered into system.",
                                                     value = "{\n" +
                                                             "  \"result\": \"Created new game.\",\n" +
-                                                            "  \"id\": \"65e0d7a4-59bf-4065-beb1-3c2220d87e1e\",\n" +
+                                                            "  \"id\": \"7nKq2fXb0Ae\",\n" +
                                                             "  \"original_word\": \"titans\",\n" +
                                                             "  \"scramble_word\": \"nisatt\",\n" +
                                                             "  \"total_words\": 29,\n" +
@@ -74,27 +98,44 @@ public class GameApiController {
                                                             "  \"guessed_words\": []\n" +
                                                             "}") })) })
     @GetMapping(value = "/new", produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<GameGuessOutput> newGame() {
-        /*
-         * Refer to the method's Javadoc (above) and implement accordingly.
-         * Must pass the corresponding unit tests.
-         */
-        GameGuessOutput output = new GameGuessOutput();
+    public ResponseEntity<GameGuessOutput> newGame(
+            @Parameter(
+                    description = "The number of blank tiles, `?` in the scramble, each standing for any one letter. 0 to 2.",
+                    example = "0")
+            @RequestParam(defaultValue = "0") int blanks) {
+        if (blanks < 0 || blanks > MAX_BLANKS) {
+            GameGuessOutput output = new GameGuessOutput();
+            output.setResult("Invalid blanks, expect 0 to " + MAX_BLANKS + ".");
+            return new ResponseEntity<>(output, HttpStatus.BAD_REQUEST);
+        }
+        // pick, scramble and sub words
+        long start = System.nanoTime();
+        GameState gameState = this.jumbleEngine.createGameState(6, 3, blanks);
+        ServerTiming.record("engine", start);
 
-        GameState gameState = this.jumbleEngine.createGameState(6, 3);
-
-        /*
-         * TODO:
-         * a) Store the game state to the repository, with unique game board ID
-         * b) Return the game board/state (GameGuessOutput) to caller
-         */
+        Date now = new Date();
+        GameGuessModel model = new GameGuessModel();
+        model.setCreatedAt(now);
+        model.setModifiedAt(now);
+        model.setGameState(gameState);
+        start = System.nanoTime();
+        long id;
+        do {
+            id = GameIds.next();
+        } while (this.gameBoards.putIfAbsent(id, model) != null);
+        ServerTiming.record("repo", start);
+        model.setId(GameIds.encode(id));
+        this.gameMetrics.gameCreated(GameMetrics.API, model.getId(), gameState);
+        LOG.debug("newGame: {}", model);
 
+        GameGuessOutput output = toOutput("Created new game.", model);
         return new ResponseEntity<>(output, HttpStatus.OK);
     }
 
     @Operation(
             summary = "Submits word to play the game",
-            description = "Submits a guessed `word`, along with `id` to play the game.")
+            description = "Submits a guessed `word`, along with `id` to play the game. "
+                    + "With `suggest=true`, a `word` not in the word list gets `suggestions` of words within 2 edits.")
     @ApiResponses(
             value = {
                     @ApiResponse(
@@ -109,7 +150,7 @@ public class GameApiController {
                                                     description = "Guessed correctly the first time.",
                                                     value = "{\n" +
                                                             "  \"result\": \"Guessed correctly.\",\n" +
-                                                            "  \"id\": \"88b4278c-5141-42af-86e6-2a1d4cfa5f3b\",\n" +
+                                                            "  \"id\": \"B4x9LmQ2sTz\",\n" +
                                                             "  \"original_word\": \"ranker\",\n" +
                                                             "  \"scramble_word\": \"nekarr\",\n" +
                                                             "  \"guess_word\": \"rank\",\n" +
@@ -124,7 +165,7 @@ public class GameApiController {
                                                     description = "Guessed correctly with subsequent word.",
                                                     value = "{\n" +
                                                             "  \"result\": \"Guessed correctly.\",\n" +
-                                                            "  \"id\": \"e23a268c-e4af-4123-a610-755e34ac201c\",\n" +
+                                                            "  \"id\": \"Hc81ZpWd5oR\",\n" +
                                                             "  \"original_word\": \"burger\",\n" +
                                                             "  \"scramble_word\": \"rerugb\",\n" +
                                                             "  \"guess_word\": \"rug\",\n" +
@@ -146,7 +187,7 @@ public class GameApiController {
                                                     description = "Guessed with incorrect word.",
                                                     value = "{\n" +
                                                             "  \"result\": \"Guessed incorrectly.\",\n" +
-                                                            "  \"id\": \"88b4278c-5141-42af-86e6-2a1d4cfa5f3b\",\n" +
+                                                            "  \"id\": \"B4x9LmQ2sTz\",\n" +
                                                             "  \"original_word\": \"ranker\",\n" +
                                                             "  \"scramble_word\": \"rnraek\",\n" +
                                                             "  \"guess_word\": \"answer\",\n" +
@@ -154,12 +195,32 @@ public class GameApiController {
                                                             "  \"remaining_words\": 15,\n" +
                                                             "  \"guessed_words\": []\n" +
                                                             "}"),
+                                            @ExampleObject(
+                                                    name = "Guessed Incorrectly With Suggestions",
+                                                    description = "Guessed with a word not in the word list, and `suggest=true`.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Guessed incorrectly.\",\n" +
+                                                            "  \"id\": \"B4x9LmQ2sTz\",\n" +
+                                                            "  \"original_word\": \"ranker\",\n" +
+                                                            "  \"scramble_word\": \"rnraek\",\n" +
+                                                            "  \"guess_word\": \"rankk\",\n" +
+                                                            "  \"total_words\": 15,\n" +
+                                                            "  \"remaining_words\": 15,\n" +
+                                                            "  \"guessed_words\": [],\n" +
+                                                            "  \"suggestions\": [\n" +
+                                                            "    \"rank\",\n" +
+                                                            "    \"ranks\",\n" +
+                                                            "    \"bank\",\n" +
+                                                            "    \"banks\",\n" +
+                                                            "    \"crank\"\n" +
+                                                            "  ]\n" +
+                                                            "}"),
                                             @ExampleObject(
                                                     name = "All Guessed",
                                                     description = "All words guessed.",
                                                     value = "{\n" +
                                                             "  \"result\": \"All words guessed.\",\n" +
-                                                            "  \"id\": \"353ee769-a472-4704-a5f2-d525f181a03e\",\n" +
+                                                            "  \"id\": \"3eV7kYu0NqJ\",\n" +
                                                             "  \"original_word\": \"gloomy\",\n" +
                                                             "  \"scramble_word\": \"gomlyo\",\n" +
                                                             "  \"guess_word\": \"moo\",\n" +
@@ -203,26 +264,206 @@ public class GameApiController {
                     required = true,
                     schema = @Schema(implementation = GameGuessInput.class),
                     example = "{\n" +
-                            "  \"id\": \"4579256c-326f-4169-9b56-6d1d1a2c11f0\",\n" +
+                            "  \"id\": \"4Gz1rPw8XcM\",\n" +
                             "  \"word\": \"answer\"\n" +
                             "}")
-            @RequestBody GameGuessInput input) {
+            @RequestBody GameGuessInput input,
+            @Parameter(
+                    description = "Whether to suggest words when the guessed `word` is not in the word list.",
+                    example = "false")
+            @RequestParam(defaultValue = "false") boolean suggest) {
+        GameGuessOutput output = new GameGuessOutput();
+
+        long id = input == null ? GameIds.INVALID : GameIds.decode(input.getId());
+        if (id == GameIds.INVALID) {
+            output.setResult("Invalid Game ID.");
+            return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+        }
+        long start = System.nanoTime();
+        GameGuessModel model = this.gameBoards.get(id);
+        ServerTiming.record("repo", start);
+        if (model == null) {
+            output.setResult("Game board/state not found.");
+            return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+        }
+
         /*
-         * Refer to the method's Javadoc (above) and implement accordingly.
-         * Must pass the corresponding unit tests.
+         * GameState is safe for concurrent guesses, so no locking is
+         * needed here, even when several clients play the same `id`.
+         * A word that does not fit the letters of the original word is
+         * rejected by a letter count check, and leaves the record untouched.
          */
+        GameState gameState = model.getGameState();
+        String word = normalizeWord(input.getWord());
+        start = System.nanoTime();
+        GameState.Guess guess = gameState.guess(word);
+        ServerTiming.record("engine", start);
+        this.gameMetrics.guessed(GameMetrics.API, model.getId(), gameState, word, guess);
+        boolean correct = guess.isCorrect();
+        if (correct) {
+            model.setModifiedAt(new Date());
+        }
+
+        output = toOutput(playResult(gameState, correct), model);
+        output.setGuessWord(input.getWord());
+        if (suggest && ! correct && word != null && ! this.jumbleEngine.exists(word)) {
+            start = System.nanoTime();
+            output.setSuggestions(new ArrayList<>(this.jumbleEngine.suggestWords(word, 2, MAX_SUGGESTIONS)));
+            ServerTiming.record("suggest", start);
+        }
+        return new ResponseEntity<>(output, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Submits many words to play the game",
+            description = "Submits a list of guessed `words`, along with `id` to play the game. "
+                    + "The words are applied at once: a concurrent guess or read of the game sees either none or all of them. "
+                    + "The outcome of each word is returned in `guess_results`.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GameGuessOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Guessed Some Correctly",
+                                                    description = "Some of the words guessed correctly.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Guessed correctly.\",\n" +
+                                                            "  \"id\": \"B4x9LmQ2sTz\",\n" +
+                                                            "  \"original_word\": \"ranker\",\n" +
+                                                            "  \"scramble_word\": \"nekarr\",\n" +
+                                                            "  \"total_words\": 15,\n" +
+                                                            "  \"remaining_words\": 13,\n" +
+                                                            "  \"guessed_words\": [\n" +
+                                                            "    \"ark\",\n" +
+                                                            "    \"rank\"\n" +
+                                                            "  ],\n" +
+                                                            "  \"guess_results\": [\n" +
+                                                            "    { \"word\": \"rank\", \"result\": \"Guessed correctly.\" },\n" +
+                                                            "    { \"word\": \"answer\", \"result\": \"Guessed incorrectly.\" },\n" +
+                                                            "    { \"word\": \"ark\", \"result\": \"Guessed correctly.\" }\n" +
+                                                            "  ]\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Bad Request",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GameGuessOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Too many words",
+                                                    description = "More than " + GameGuessBatchInput.MAX_WORDS + " `words` submitted.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Too many words.\"\n" +
+                                                            "}") })),
+                    @ApiResponse(
+                            responseCode = "404",
+                            description = "Not Found",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = GameGuessOutput.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Invalid ID",
+                                                    description = "The input `ID` is invalid.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Invalid Game ID.\"\n" +
+                                                            "}"),
+                                            @ExampleObject(
+                                                    name = "Record not found",
+                                                    description = "The `ID` is correct format, but game board/state is not found in system.",
+                                                    value = "{\n" +
+                                                            "  \"result\": \"Game board/state not found.\"\n" +
+                                                            "}") })) })
+    @PostMapping(value = "/guess/batch", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<GameGuessOutput> playGameBatch(
+            @Parameter(
+                    description = "Submits the `words` to guess.",
+                    required = true,
+                    schema = @Schema(implementation = GameGuessBatchInput.class),
+                    example = "{\n" +
+                            "  \"id\": \"4Gz1rPw8XcM\",\n" +
+                            "  \"words\": [\"rank\", \"answer\", \"ark\"]\n" +
+                            "}")
+            @RequestBody GameGuessBatchInput input) {
         GameGuessOutput output = new GameGuessOutput();
 
+        long id = input == null ? GameIds.INVALID : GameIds.decode(input.getId());
+        if (id == GameIds.INVALID) {
+            output.setResult("Invalid Game ID.");
+            return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+        }
+        List<String> words = input.getWords() == null ? Collections.emptyList() : input.getWords();
+        if (words.size() > GameGuessBatchInput.MAX_WORDS) {
+            output.setResult("Too many words.");
+            return new ResponseEntity<>(output, HttpStatus.BAD_REQUEST);
+        }
+        long start = System.nanoTime();
+        GameGuessModel model = this.gameBoards.get(id);
+        ServerTiming.record("repo", start);
+        if (model == null) {
+            output.setResult("Game board/state not found.");
+            return new ResponseEntity<>(output, HttpStatus.NOT_FOUND);
+        }
+
         /*
-         * TODO:
-         * a) Validate the input (GameGuessInput)
-         * b) Check records exists in repository (search by input `id`)
-         * c) From the input guessing `word`, implement the game logic
-         * d) Update the game board (and game state) in repository
-         * e) Return the updated game board/state (GameGuessOutput) to caller
+         * GameState#guessAll sets the guessed flags of all the words in one
+         * CAS, so a concurrent guess or read never sees part of the batch,
+         * and completion is reported once, to one of its words.
          */
+        GameState gameState = model.getGameState();
+        List<String> guesses = new ArrayList<>(words.size());
+        for (String word : words) {
+            guesses.add(normalizeWord(word));
+        }
+        start = System.nanoTime();
+        GameState.Guess[] outcomes = gameState.guessAll(guesses);
+        ServerTiming.record("engine", start);
+        List<GameGuessWordOutput> guessResults = new ArrayList<>(words.size());
+        boolean anyCorrect = false;
+        for (int ix = 0; ix < outcomes.length; ix += 1) {
+            String word = words.get(ix);
+            this.gameMetrics.guessed(GameMetrics.API, model.getId(), gameState, guesses.get(ix), outcomes[ix]);
+            boolean correct = outcomes[ix].isCorrect();
+            anyCorrect |= correct;
+            guessResults.add(new GameGuessWordOutput(word, correct ? "Guessed correctly." : "Guessed incorrectly."));
+        }
+        if (anyCorrect) {
+            model.setModifiedAt(new Date());
+        }
 
+        output = toOutput(playResult(gameState, anyCorrect), model);
+        output.setGuessResults(guessResults);
         return new ResponseEntity<>(output, HttpStatus.OK);
     }
 
+    private static String normalizeWord(String word) {
+        return word == null ? null : word.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String playResult(GameState gameState, boolean correct) {
+        if (! correct) {
+            return "Guessed incorrectly.";
+        }
+        return gameState.getRemainingWords() == 0 ? "All words guessed." : "Guessed correctly.";
+    }
+
+    private static GameGuessOutput toOutput(String result, GameGuessModel model) {
+        GameState gameState = model.getGameState();
+        GameGuessOutput output = new GameGuessOutput();
+        output.setResult(result);
+        output.setId(model.getId());
+        output.setOriginalWord(gameState.getOriginal());
+        output.setScrambleWord(gameState.getScramble());
+        output.setTotalWords(gameState.getTotalWords());
+        output.setRemainingWords(gameState.getRemainingWords());
+        output.setGuessedWords(gameState.getGuessedWords());
+        return output;
+    }
+
 }
@@ -0,0 +1,96 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import java.util.Locale;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.GameTokenCodec;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
+import asia.fourtitude.interviewq.jumble.model.GameBoard;
+
+/*
+ * Same game as GameWebController, but the game state travels with the
+ * client as a signed token (hidden form field), so nothing is kept in
+ * the HTTP session and any instance can serve any request.
+ */
+@Controller
+@RequestMapping(path = "/game/stateless")
+public class GameTokenWebController {
+
+    private static final Logger LOG = LoggerFactory.getLogger(GameTokenWebController.class);
+
+    private final JumbleEngine jumbleEngine;
+
+    private final GameTokenCodec gameTokenCodec;
+
+    private final GameMetrics gameMetrics;
+
+    @Autowired(required = true)
+    public GameTokenWebController(JumbleEngine jumbleEngine, GameTokenCodec gameTokenCodec, GameMetrics gameMetrics) {
+        this.jumbleEngine = jumbleEngine;
+        this.gameTokenCodec = gameTokenCodec;
+        this.gameMetrics = gameMetrics;
+    }
+
+    @ModelAttribute("gamePath")
+    public String gamePath() {
+        // links and form in "game/board" point back to this controller
+        return "/game/stateless";
+    }
+
+    @GetMapping("/new")
+    public String doGetNew(@ModelAttribute(name = "board") GameBoard board) {
+        GameState state = this.jumbleEngine.createGameState(6, 3);
+
+        board.setState(state);
+        board.setWord("");
+        board.setToken(this.gameTokenCodec.encode(state));
+        this.gameMetrics.gameCreated(GameMetrics.STATELESS, null, state);
+        LOG.debug("doGetNew: {}", board);
+
+        return "game/board";
+    }
+
+    @PostMapping("/play")
+    public String doPostPlay(
+            @ModelAttribute(name = "board") GameBoard board,
+            BindingResult bindingResult) {
+        GameState state = this.gameTokenCodec.decode(board.getToken());
+        if (state == null) {
+            // tampered, or signed by another secret
+            board.setToken(null);
+            return "game/board";
+        }
+        board.setState(state);
+
+        String word = StringUtils.trimToEmpty(board.getWord()).toLowerCase(Locale.ROOT);
+        if (word.isEmpty()) {
+            bindingResult.rejectValue("word", "NotBlank", "must not be blank");
+        } else if (guess(state, word)) {
+            board.setWord("");
+            board.setToken(this.gameTokenCodec.encode(state));
+        } else {
+            bindingResult.rejectValue("word", "Incorrect", "Guessed incorrectly");
+        }
+
+        return "game/board";
+    }
+
+    private boolean guess(GameState state, String word) {
+        GameState.Guess guess = state.guess(word);
+        this.gameMetrics.guessed(GameMetrics.STATELESS, null, state, word, guess);
+        return guess.isCorrect();
+    }
+
+}
@@ -1,5 +1,8 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
+import java.util.Locale;
+
+import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.support.SessionStatus;
 
 import asia.fourtitude.interviewq.jumble.core.GameState;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
 import asia.fourtitude.interviewq.jumble.model.GameBoard;
 
 @Controller
@@ -26,9 +30,12 @@ public class GameWebController {
 
     private final JumbleEngine jumbleEngine;
 
+    private final GameMetrics gameMetrics;
+
     @Autowired(required = true)
-    public GameWebController(JumbleEngine jumbleEngine) {
+    public GameWebController(JumbleEngine jumbleEngine, GameMetrics gameMetrics) {
         this.jumbleEngine = jumbleEngine;
+        this.gameMetrics = gameMetrics;
     }
 
     @ModelAttribute("board")
@@ -42,10 +49,14 @@ public class GameWebController {
 
     private void scrambleWord(GameBoard board) {
         if (board.getState() != null) {
+            /*
+             * Reshuffles the current scramble, not the original word, so
+             * that the `?` blanks of a blanked scramble are kept.
+             */
             String oldScramble = board.getState().getScramble();
             int num = 0;
             do {
-                String scramble = this.jumbleEngine.scramble(board.getState().getOriginal());
+                String scramble = this.jumbleEngine.scramble(oldScramble);
                 board.getState().setScramble(scramble);
                 num += 1;
             } while (oldScramble.equals(board.getState().getScramble()) && num <= 10);
@@ -67,13 +78,10 @@ public class GameWebController {
     public String doGetNew(@ModelAttribute(name = "board") GameBoard board) {
         GameState state = this.jumbleEngine.createGameState(6, 3);
 
-        /*
-         * TODO:
-         * a) Assign the created game `state` (with randomly picked word) into
-         *        game `board` (session attribute)
-         * b) Presentation page to show the information of game board/state
-         * c) Must pass the corresponding unit tests
-         */
+        board.setState(state);
+        board.setWord("");
+        this.gameMetrics.gameCreated(GameMetrics.WEB, null, state);
+        LOG.debug("doGetNew: {}", board);
 
         return "game/board";
     }
@@ -96,15 +104,24 @@ public class GameWebController {
 
         scrambleWord(board);
 
+        String word = StringUtils.trimToEmpty(board.getWord()).toLowerCase(Locale.ROOT);
+        if (word.isEmpty()) {
+            bindingResult.rejectValue("word", "NotBlank", "must not be blank");
+            return "game/board";
+        }
         /*
-         * TODO:
-         * a) Validate the input `word`
-         * b) From the input guessing `word`, implement the game logic
-         * c) Update the game `board` (session attribute)
-         * d) Show the error: "Guessed incorrectly", when word is guessed incorrectly.
-         * e) Presentation page to show the information of game board/state
-         * f) Must pass the corresponding unit tests
+         * GameState#guess checks isMadeOfOriginalLetters first, so most
+         * wrong words are rejected by a letter count before any sub word
+         * lookup.
          */
+        GameState state = board.getState();
+        GameState.Guess guess = state.guess(word);
+        this.gameMetrics.guessed(GameMetrics.WEB, null, state, word, guess);
+        if (guess.isCorrect()) {
+            board.setWord("");
+        } else {
+            bindingResult.rejectValue("word", "Incorrect", "Guessed incorrectly");
+        }
 
         return "game/board";
     }
@@ -2,6 +2,8 @@ package asia.fourtitude.interviewq.jumble.controller;
 
 import java.time.ZonedDateTime;
 
+import org.apache.commons.lang3.StringUtils;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -15,6 +17,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
 import asia.fourtitude.interviewq.jumble.model.ExistsForm;
+import asia.fourtitude.interviewq.jumble.model.PatternForm;
 import asia.fourtitude.interviewq.jumble.model.PrefixForm;
 import asia.fourtitude.interviewq.jumble.model.ScrambleForm;
 import asia.fourtitude.interviewq.jumble.model.SearchForm;
@@ -108,6 +111,34 @@ public class RootController {
         return "prefix";
     }
 
+    @GetMapping("pattern")
+    public String doGetPattern(Model model) {
+        model.addAttribute("form", new PatternForm());
+        return "pattern";
+    }
+
+    @PostMapping("pattern")
+    public String doPostPattern(
+            @ModelAttribute(name = "form") PatternForm form,
+            BindingResult bindingResult, Model model) {
+        String pattern = StringUtils.trimToEmpty(form.getPattern());
+        if (pattern.isEmpty()) {
+            bindingResult.rejectValue("pattern", "NotBlank", "must not be blank");
+        } else if (form.isRegex()) {
+            try {
+                form.setWords(this.jumbleEngine.wordsMatchingRegex(pattern));
+            } catch (IllegalArgumentException e) {
+                bindingResult.rejectValue("pattern", "Regex", e.getMessage());
+            }
+        } else if (! pattern.matches("[A-Za-z?*]{1,63}")) {
+            bindingResult.rejectValue("pattern", "Pattern", "must be letters, ? or *, at most 63");
+        } else {
+            form.setWords(this.jumbleEngine.wordsMatchingPattern(pattern));
+        }
+        LOG.debug("doPostPattern: pattern=[{}]", pattern);
+        return "pattern";
+    }
+
     @GetMapping("search")
     public String doGetSearch(Model model) {
         model.addAttribute("form", new SearchForm());
@@ -0,0 +1,73 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import java.util.Locale;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/*
+ * Stage timings of one request, for the Server-Timing response header.
+ *
+ * Created by ServerTimingFilter; controllers add stages with
+ * record(name, startNanos), which does nothing when the filter is not
+ * installed. Time before the first stage is reported as "req" (dispatch
+ * and request body parsing), time after the last stage as "ser"
+ * (response serialization).
+ */
+final class ServerTiming {
+
+    static final String ATTRIBUTE = ServerTiming.class.getName();
+
+    static final String HEADER = "Server-Timing";
+
+    private final long start;
+
+    private long mark;
+
+    private final StringBuilder header = new StringBuilder();
+
+    ServerTiming() {
+        this.start = System.nanoTime();
+        this.mark = this.start;
+    }
+
+    /*
+     * Adds stage `name`, from `startNanos` (System.nanoTime()) to now, to
+     * the timing of the current request, if any.
+     */
+    static void record(String name, long startNanos) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        ServerTiming timing = (ServerTiming) attributes.getAttribute(ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (timing != null) {
+            timing.add(name, startNanos);
+        }
+    }
+
+    void add(String name, long startNanos) {
+        long now = System.nanoTime();
+        if (this.header.length() == 0) {
+            append("req", startNanos - this.start);
+        }
+        append(name, now - startNanos);
+        this.mark = now;
+    }
+
+    String toHeader() {
+        long now = System.nanoTime();
+        if (this.mark != this.start) {
+            append("ser", now - this.mark);
+        }
+        append("total", now - this.start);
+        return this.header.toString();
+    }
+
+    private void append(String name, long nanos) {
+        this.header.append(this.header.length() == 0 ? "" : ", ")
+                .append(name).append(";dur=")
+                .append(String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0));
+    }
+
+}
@@ -0,0 +1,54 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Adds a Server-Timing header with the stages recorded by the controller,
+ * e.g. `req;dur=0.210, repo;dur=0.004, engine;dur=1.802, ser;dur=0.350, total;dur=2.366`
+ * (milliseconds).
+ *
+ * The response body is held back until the handler completes, so that
+ * the header can still be set after serialization. For an async handler,
+ * such as a DeferredResult, that is at the end of the async dispatch: the
+ * first dispatch only starts the handler, and leaves the body alone.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // on an async dispatch, the timing and wrapper of the first dispatch carry on
+        ServerTiming timing = (ServerTiming) request.getAttribute(ServerTiming.ATTRIBUTE);
+        if (timing == null) {
+            timing = new ServerTiming();
+            request.setAttribute(ServerTiming.ATTRIBUTE, timing);
+        }
+        ContentCachingResponseWrapper wrapper = WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
+        if (wrapper == null) {
+            wrapper = new ContentCachingResponseWrapper(response);
+        }
+        try {
+            filterChain.doFilter(request, wrapper);
+        } finally {
+            if (! isAsyncStarted(request)) {
+                wrapper.setHeader(ServerTiming.HEADER, timing.toHeader());
+                wrapper.copyBodyToResponse();
+            }
+        }
+    }
+
+}
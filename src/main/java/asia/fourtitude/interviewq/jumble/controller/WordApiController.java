@@ -1,21 +1,35 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
 
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.ScoredWord;
+import asia.fourtitude.interviewq.jumble.model.WordCountOutput;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -31,11 +45,469 @@ public class WordApiController {
 
     private static final Logger LOG = LoggerFactory.getLogger(WordApiController.class);
 
+    /*
+     * A letter constraint of a search: position, then letter, as in "3a" or "-1s".
+     */
+    private static final Pattern LETTER_AT = Pattern.compile("(-?[1-9][0-9]?)([a-zA-Z])");
+
+    /*
+     * Most phrases in a phrase anagrams response.
+     */
+    static final int MAX_PHRASES = 1000;
+
+    /*
+     * Most words in a best words response.
+     */
+    static final int MAX_BEST_WORDS = 100;
+
     private final JumbleEngine jumbleEngine;
 
+    private final Duration phraseTimeout;
+
     @Autowired(required = true)
-    public WordApiController(JumbleEngine jumbleEngine) {
+    public WordApiController(
+            JumbleEngine jumbleEngine,
+            @Value("${jumble.phrase.timeout:2s}") Duration phraseTimeout) {
         this.jumbleEngine = jumbleEngine;
+        this.phraseTimeout = phraseTimeout;
+    }
+
+    @Operation(
+            summary = "Phrase anagrams",
+            description = "Returns a list of phrases, words which together use exactly the input `letters` (at most 20). " +
+                    "The search stops after `limit` phrases, or after a time budget, with the phrases found so far. " +
+                    "It runs off the request thread, and is cancelled when the client disconnects.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of phrases, words in sorted order.",
+                                                    value = "[\n" +
+                                                            "  \"dim roo try\",\n" +
+                                                            "  \"dirt roomy\",\n" +
+                                                            "  \"dirty moor\",\n" +
+                                                            "  \"dirty room\",\n" +
+                                                            "  \"dormitory\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Too many letters, or invalid limit",
+                            content = @Content) })
+    @GetMapping(value = "/phrases/{letters}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public DeferredResult<ResponseEntity<Collection<String>>> phraseAnagrams(
+            @Parameter(
+                    description = "The letters.",
+                    required = true,
+                    example = "dormitory")
+            @PathVariable String letters,
+            @Parameter(
+                    description = "The minimum length of each word.",
+                    example = "3")
+            @RequestParam(required = false) Integer minLength,
+            @Parameter(
+                    description = "The most phrases to return.",
+                    example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit <= 0 || limit > MAX_PHRASES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid limit=[" + limit + "], expect 1 to " + MAX_PHRASES);
+        }
+        CompletableFuture<List<String>> future;
+        try {
+            future = this.jumbleEngine.phraseAnagrams(letters, minLength, limit, this.phraseTimeout);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("phraseAnagrams: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        /*
+         * The search stops by itself within the time budget; the request
+         * timeout is only a backstop. On a client disconnect, the container
+         * reports an error and the search is cancelled.
+         */
+        DeferredResult<ResponseEntity<Collection<String>>> result =
+                new DeferredResult<>(this.phraseTimeout.plusSeconds(1).toMillis());
+        result.onError(e -> {
+            LOG.debug("phraseAnagrams: cancelled, letters=[{}]", letters);
+            future.cancel(false);
+        });
+        result.onTimeout(() -> future.cancel(false));
+        result.onCompletion(() -> future.cancel(false));
+        future.whenComplete((words, e) -> {
+            if (e == null) {
+                result.setResult(new ResponseEntity<>(words, HttpStatus.OK));
+            } else if (! (e instanceof CancellationException)) {
+                result.setErrorResult(e);
+            }
+        });
+        return result;
+    }
+
+    @Operation(
+            summary = "Best scoring words of a rack",
+            description = "Returns the highest scoring words buildable from the input `rack`, highest first. " +
+                    "A `?` in the rack is a blank tile, which stands for any one letter and scores nothing; " +
+                    "in a URL, `?` is encoded as `%3F`. Letter points are set by `jumble.scoring.letter-values`.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The best words of the `rack`, with their scores.",
+                                                    value = "[\n" +
+                                                            "  { \"word\": \"quartz\", \"score\": 24 },\n" +
+                                                            "  { \"word\": \"quiz\", \"score\": 21 },\n" +
+                                                            "  { \"word\": \"quart\", \"score\": 14 }\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid limit",
+                            content = @Content) })
+    @GetMapping(value = "/best/{rack}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<ScoredWord>> bestWords(
+            @Parameter(
+                    description = "The letters, `?` for a blank tile.",
+                    required = true,
+                    example = "quartz?")
+            @PathVariable String rack,
+            @Parameter(
+                    description = "The minimum length of words.",
+                    example = "3")
+            @RequestParam(required = false) Integer minLength,
+            @Parameter(
+                    description = "The most words to return.",
+                    example = "10")
+            @RequestParam(defaultValue = "10") int limit) {
+        if (limit <= 0 || limit > MAX_BEST_WORDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Invalid limit=[" + limit + "], expect 1 to " + MAX_BEST_WORDS);
+        }
+        long start = System.nanoTime();
+        List<ScoredWord> words = this.jumbleEngine.bestWords(rack, minLength, limit);
+        ServerTiming.record("engine", start);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Words matching a pattern",
+            description = "Returns a list of words matching the input `pattern`, where `?` matches any one letter " +
+                    "and `*` matches any number of letters. In a URL, `?` is encoded as `%3F`.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of words matching the `pattern`.",
+                                                    value = "[\n" +
+                                                            "  \"catalysts\",\n" +
+                                                            "  \"catapults\",\n" +
+                                                            "  \"cataracts\",\n" +
+                                                            "  \"catfights\",\n" +
+                                                            "  \"catsuits\",\n" +
+                                                            "  \"cutlets\",\n" +
+                                                            "  \"cutouts\",\n" +
+                                                            "  \"cutthroats\"\n" +
+                                                            "]") })) })
+    // without `pattern`, /api/word/pattern is an autocomplete of "pattern"
+    @GetMapping(value = "/pattern", params = "pattern", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> matchPattern(
+            @Parameter(
+                    description = "The pattern.",
+                    required = true,
+                    example = "c?t*ts")
+            @RequestParam String pattern) {
+        long start = System.nanoTime();
+        Collection<String> words = this.jumbleEngine.wordsMatchingPattern(pattern);
+        ServerTiming.record("engine", start);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Count words matching a pattern",
+            description = "Returns the number of words /api/word/pattern would list, without listing them.")
+    // without `pattern`, /api/word/count/pattern counts the words of prefix "pattern"
+    @GetMapping(value = "/count/pattern", params = "pattern", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WordCountOutput> countPattern(
+            @Parameter(
+                    description = "The pattern.",
+                    required = true,
+                    example = "c?t*ts")
+            @RequestParam String pattern) {
+        long start = System.nanoTime();
+        int count = this.jumbleEngine.countWordsMatchingPattern(pattern);
+        ServerTiming.record("engine", start);
+        return countOf(count);
+    }
+
+    @Operation(
+            summary = "Words matching a regular expression",
+            description = "Returns a list of words fully matching the input `regex`: letters, `.`, classes such as " +
+                    "`[aeiou]` or `[^xyz]`, groups, `|`, and the quantifiers `*`, `+`, `?` and `{n,m}`. " +
+                    "An expression that is invalid, or that needs too much work, is rejected with 400.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of words matching the `regex`.",
+                                                    value = "[\n" +
+                                                            "  \"cat\",\n" +
+                                                            "  \"catch\",\n" +
+                                                            "  \"cats\",\n" +
+                                                            "  \"cot\",\n" +
+                                                            "  \"cots\",\n" +
+                                                            "  \"cut\",\n" +
+                                                            "  \"cuts\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid regex, or over the work budget",
+                            content = @Content) })
+    // without `regex`, /api/word/regex is an autocomplete of "regex"
+    @GetMapping(value = "/regex", params = "regex", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> matchRegex(
+            @Parameter(
+                    description = "The regular expression.",
+                    required = true,
+                    example = "c[aeiou]t(s|ch)?")
+            @RequestParam String regex) {
+        long start = System.nanoTime();
+        Collection<String> words;
+        try {
+            words = this.jumbleEngine.wordsMatchingRegex(regex);
+        } catch (IllegalArgumentException e) {
+            LOG.debug("matchRegex: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } finally {
+            ServerTiming.record("engine", start);
+        }
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Crossword style search",
+            description = "Returns a list of words of `length`, with the given `letters` at the given positions. " +
+                    "Each of `letters` is a position then a letter: `3a` is 'a' as the 3rd letter, `-1s` is 's' as the last letter. " +
+                    "At least `length` or one of `letters` is required.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of words matching every constraint.",
+                                                    value = "[\n" +
+                                                            "  \"abashed\",\n" +
+                                                            "  \"adapted\",\n" +
+                                                            "  \"adapter\",\n" +
+                                                            "  \"alarmed\"\n" +
+                                                            "]") })),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid letter constraint",
+                            content = @Content) })
+    /*
+     * Mapped only with `length` or `letters` (see searchByLetters), so that
+     * a plain /api/word/search still autocompletes the prefix "search".
+     */
+    @GetMapping(value = "/search", params = "length", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> search(
+            @Parameter(
+                    description = "The length of the words.",
+                    example = "7")
+            @RequestParam(required = false) Integer length,
+            @Parameter(
+                    description = "The letters, by position, comma separated.",
+                    example = "3a,6e")
+            @RequestParam(required = false) List<String> letters) {
+        Map<Integer, Character> letterAt = parseLetters(letters);
+        long start = System.nanoTime();
+        Collection<String> words = this.jumbleEngine.searchWords(length, letterAt);
+        ServerTiming.record("engine", start);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    /*
+     * A request mapping cannot require one of two parameters, so a search
+     * by `letters` only is mapped here.
+     */
+    @Operation(hidden = true)
+    @GetMapping(value = "/search", params = { "!length", "letters" }, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> searchByLetters(
+            @RequestParam List<String> letters) {
+        return search(null, letters);
+    }
+
+    @Operation(
+            summary = "Count crossword style search",
+            description = "Returns the number of words /api/word/search would list, without listing them.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success"),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid letter constraint",
+                            content = @Content) })
+    // without `length` or `letters`, /api/word/count/search counts the words of prefix "search"
+    @GetMapping(value = "/count/search", params = "length", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WordCountOutput> countSearch(
+            @Parameter(
+                    description = "The length of the words.",
+                    example = "7")
+            @RequestParam(required = false) Integer length,
+            @Parameter(
+                    description = "The letters, by position, comma separated.",
+                    example = "3a,6e")
+            @RequestParam(required = false) List<String> letters) {
+        Map<Integer, Character> letterAt = parseLetters(letters);
+        long start = System.nanoTime();
+        int count = this.jumbleEngine.countSearchWords(length, letterAt);
+        ServerTiming.record("engine", start);
+        return countOf(count);
+    }
+
+    @Operation(hidden = true)
+    @GetMapping(value = "/count/search", params = { "!length", "letters" }, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WordCountOutput> countSearchByLetters(
+            @RequestParam List<String> letters) {
+        return countSearch(null, letters);
+    }
+
+    /*
+     * Letters by position, from constraints such as "3a" and "-1s".
+     */
+    private static Map<Integer, Character> parseLetters(List<String> letters) {
+        Map<Integer, Character> letterAt = new HashMap<>();
+        if (letters != null) {
+            for (String letter : letters) {
+                Matcher matcher = LETTER_AT.matcher(StringUtils.trimToEmpty(letter));
+                if (! matcher.matches()) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "Invalid letter=[" + letter + "], expect position then letter, such as 3a or -1s");
+                }
+                letterAt.put(Integer.parseInt(matcher.group(1)), matcher.group(2).charAt(0));
+            }
+        }
+        return letterAt;
+    }
+
+    @Operation(
+            summary = "Sub words",
+            description = "Returns a list of words made of some of the letters of the input `word`, " +
+                    "each letter used at most as many times as in `word`; `word` itself excluded.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of sub words of the `word`.",
+                                                    value = "[\n" +
+                                                            "  \"low\",\n" +
+                                                            "  \"lowly\",\n" +
+                                                            "  \"lye\",\n" +
+                                                            "  \"ole\",\n" +
+                                                            "  \"owe\"\n" +
+                                                            "]") })) })
+    @GetMapping(value = "/subwords/{word}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> subWords(
+            @Parameter(
+                    description = "The word.",
+                    required = true,
+                    example = "yellow")
+            @PathVariable String word,
+            @Parameter(
+                    description = "The minimum length of sub words.",
+                    example = "3")
+            @RequestParam(required = false) Integer minLength) {
+        long start = System.nanoTime();
+        Collection<String> words = this.jumbleEngine.generateSubWords(word, minLength);
+        ServerTiming.record("engine", start);
+        return new ResponseEntity<>(words, HttpStatus.OK);
+    }
+
+    @Operation(
+            summary = "Count sub words",
+            description = "Returns the number of words /api/word/subwords/{word} would list, without listing them.")
+    @GetMapping(value = "/count/subwords/{word}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WordCountOutput> countSubWords(
+            @Parameter(
+                    description = "The word.",
+                    required = true,
+                    example = "yellow")
+            @PathVariable String word,
+            @Parameter(
+                    description = "The minimum length of sub words.",
+                    example = "3")
+            @RequestParam(required = false) Integer minLength) {
+        long start = System.nanoTime();
+        int count = this.jumbleEngine.countSubWords(word, minLength);
+        ServerTiming.record("engine", start);
+        return countOf(count);
+    }
+
+    @Operation(
+            summary = "Solve a jumble",
+            description = "Returns a list of words using exactly the input `letters`, in any order.")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Success",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Success",
+                                                    description = "The list of anagrams of the `letters`.",
+                                                    value = "[\n" +
+                                                            "  \"enlist\",\n" +
+                                                            "  \"inlets\",\n" +
+                                                            "  \"listen\",\n" +
+                                                            "  \"silent\",\n" +
+                                                            "  \"tinsel\"\n" +
+                                                            "]") })) })
+    @GetMapping(value = "/anagrams/{letters}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Collection<String>> anagrams(
+            @Parameter(
+                    description = "The letters.",
+                    required = true,
+                    example = "nestil")
+            @PathVariable String letters) {
+        long start = System.nanoTime();
+        Collection<String> words = this.jumbleEngine.anagrams(letters);
+        ServerTiming.record("engine", start);
+        return new ResponseEntity<>(words, HttpStatus.OK);
     }
 
     @Operation(
@@ -72,8 +544,34 @@ public class WordApiController {
         if (prefix.length() < 3) {
             return new ResponseEntity<>(Collections.emptyList(), HttpStatus.OK);
         }
+        long start = System.nanoTime();
         Collection<String> words = this.jumbleEngine.wordsMatchingPrefix(prefix);
+        ServerTiming.record("engine", start);
         return new ResponseEntity<>(words, HttpStatus.OK);
     }
 
+    @Operation(
+            summary = "Count auto complete based on prefix",
+            description = "Returns the number of words /api/word/{prefix} would list, without listing them.")
+    @GetMapping(value = "/count/{prefix}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WordCountOutput> countAutoComplete(
+            @Parameter(
+                    description = "The prefix.",
+                    required = true,
+                    example = "awe")
+            @PathVariable String prefix) {
+        prefix = StringUtils.trimToEmpty(prefix);
+        if (prefix.length() < 3) {
+            return countOf(0);
+        }
+        long start = System.nanoTime();
+        int count = this.jumbleEngine.countWordsMatchingPrefix(prefix);
+        ServerTiming.record("engine", start);
+        return countOf(count);
+    }
+
+    private static ResponseEntity<WordCountOutput> countOf(int count) {
+        return new ResponseEntity<>(new WordCountOutput(count), HttpStatus.OK);
+    }
+
 }
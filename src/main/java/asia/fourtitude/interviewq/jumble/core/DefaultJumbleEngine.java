@@ -0,0 +1,780 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Engine over a sorted word list, with a hash set for lookups, words
+ * grouped by length, words grouped by sorted letters for anagrams, a
+ * trie for pattern queries, bitmaps of letter positions for searches, and
+ * best scores per trie node for rack scoring.
+ */
+public class DefaultJumbleEngine implements JumbleEngine, JumbleEngineMetrics {
+
+    private static final String WORDS_RESOURCE = "words.txt";
+
+    /*
+     * Timer of the public operations, tagged by method when timed through
+     * a Spring proxy with TimedAspect.
+     */
+    public static final String TIMER = "jumble.engine";
+
+    /*
+     * The internal word list, lower case and sorted, so that prefix
+     * lookups can be answered with binary search.
+     */
+    private final List<String> words;
+
+    private final Set<String> wordSet;
+
+    private final Map<Integer, List<String>> wordsByLength;
+
+    /*
+     * Words by signature, their letters in sorted order: anagrams share
+     * the signature, as in "eilnst" for "enlist", "listen" and "silent".
+     */
+    private final Map<String, List<String>> anagramsBySignature;
+
+    private final WordTrie trie;
+
+    private final PositionIndex positions;
+
+    private final ScoreIndex scores;
+
+    private final long indexBytes;
+
+    /*
+     * Runs the phrase searches, apart from the common pool, so that a
+     * long search does not hold up parallel streams and the word list
+     * loader. Threads are started on first use, and stopped by close().
+     */
+    private final ForkJoinPool solverPool = newSolverPool("jumble-solver-");
+
+    /*
+     * Runs the sub word walks of long seeds. Phrase searches can hold
+     * every solver thread until their deadline, and a sub word request
+     * queued behind them would hold its request thread as long.
+     */
+    private final ForkJoinPool subWordPool = newSolverPool("jumble-subwords-");
+
+    /**
+     * Creates an engine over the internal word list.
+     */
+    public DefaultJumbleEngine() {
+        this(DictionarySource.classpath(WORDS_RESOURCE));
+    }
+
+    /**
+     * Creates an engine over the words of `source`.
+     *
+     * @param source  The word list.
+     */
+    public DefaultJumbleEngine(DictionarySource source) {
+        this(source, LetterValues.SCRABBLE);
+    }
+
+    /**
+     * Creates an engine over the words of `source`, scoring words with
+     * `letterValues`.
+     *
+     * @param source  The word list.
+     * @param letterValues  The points of each letter.
+     */
+    public DefaultJumbleEngine(DictionarySource source, LetterValues letterValues) {
+        this(source.load(), letterValues);
+    }
+
+    /*
+     * Builds the indexes from normalized words, sorted and without duplicates.
+     */
+    private DefaultJumbleEngine(String[] sortedWords, LetterValues letterValues) {
+        DictionaryLoadEvent event = new DictionaryLoadEvent();
+        event.begin();
+        this.words = Collections.unmodifiableList(Arrays.asList(sortedWords));
+        this.wordSet = new HashSet<>(this.words);
+        Map<Integer, List<String>> byLength = new HashMap<>();
+        for (String word : this.words) {
+            byLength.computeIfAbsent(word.length(), key -> new ArrayList<>()).add(word);
+        }
+        this.wordsByLength = byLength;
+        Map<String, List<String>> bySignature = new HashMap<>();
+        for (String word : this.words) {
+            bySignature.computeIfAbsent(signature(word), key -> new ArrayList<>(1)).add(word);
+        }
+        this.anagramsBySignature = bySignature;
+        this.trie = new WordTrie(sortedWords);
+        this.positions = new PositionIndex(sortedWords);
+        this.scores = new ScoreIndex(this.trie, sortedWords, letterValues);
+        this.indexBytes = estimateIndexBytes(this.words) + estimateSignatureBytes(bySignature)
+                + this.trie.bytes() + this.positions.bytes() + this.scores.bytes();
+        if (event.shouldCommit()) {
+            event.words = this.words.size();
+            event.indexBytes = this.indexBytes;
+            event.commit();
+        }
+    }
+
+    /*
+     * Rough heap size of the word list and its indexes, on a 64-bit JVM
+     * with compressed oops and compact strings: per word, the String and
+     * its byte[], a slot in the sorted list and in its length bucket, and
+     * a HashSet node plus its share of the table.
+     */
+    private static long estimateIndexBytes(List<String> words) {
+        long bytes = 0;
+        for (String word : words) {
+            bytes += 24 + ((16 + word.length() + 7) & ~7);
+            bytes += 4 + 4;
+            bytes += 32 + 8;
+        }
+        return bytes;
+    }
+
+    static ForkJoinPool newSolverPool(String namePrefix) {
+        return new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(namePrefix + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+    }
+
+    /*
+     * Per signature: the key String and its byte[], a HashMap node plus
+     * its share of the table, and an ArrayList with its array.
+     */
+    private static long estimateSignatureBytes(Map<String, List<String>> bySignature) {
+        long bytes = 0;
+        for (Map.Entry<String, List<String>> entry : bySignature.entrySet()) {
+            bytes += 24 + ((16 + entry.getKey().length() + 7) & ~7);
+            bytes += 32 + 8;
+            bytes += 24 + ((16 + 4 * entry.getValue().size() + 7) & ~7);
+        }
+        return bytes;
+    }
+
+    /*
+     * Trims and lower cases the input. Returns null when the input is
+     * blank or contains anything other than letters 'a' to 'z'.
+     */
+    static String normalize(String word) {
+        if (word == null) {
+            return null;
+        }
+        String text = word.trim().toLowerCase(Locale.ROOT);
+        if (text.isEmpty()) {
+            return null;
+        }
+        for (int ix = 0; ix < text.length(); ix += 1) {
+            char ch = text.charAt(ix);
+            if (ch < 'a' || ch > 'z') {
+                return null;
+            }
+        }
+        return text;
+    }
+
+    /*
+     * Same as normalize, also allowing `?` for blank tiles.
+     */
+    static String normalizeRack(String rack) {
+        if (rack == null) {
+            return null;
+        }
+        String text = rack.trim().toLowerCase(Locale.ROOT);
+        if (text.isEmpty()) {
+            return null;
+        }
+        for (int ix = 0; ix < text.length(); ix += 1) {
+            char ch = text.charAt(ix);
+            if (ch != '?' && (ch < 'a' || ch > 'z')) {
+                return null;
+            }
+        }
+        return text;
+    }
+
+    private static char toLetter(Character ch) {
+        if (ch == null) {
+            return 0;
+        }
+        char lower = Character.toLowerCase(ch.charValue());
+        return (lower >= 'a' && lower <= 'z') ? lower : 0;
+    }
+
+    static boolean isPalindrome(String word) {
+        for (int ix = 0, jx = word.length() - 1; ix < jx; ix += 1, jx -= 1) {
+            if (word.charAt(ix) != word.charAt(jx)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * The letters of `word` in sorted order.
+     */
+    static String signature(String word) {
+        char[] letters = word.toCharArray();
+        Arrays.sort(letters);
+        return new String(letters);
+    }
+
+    static int[] letterCounts(String word) {
+        int[] counts = new int[26];
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            counts[word.charAt(ix) - 'a'] += 1;
+        }
+        return counts;
+    }
+
+    /*
+     * Returns [from, to) positions of words beginning with `prefix`.
+     */
+    private int[] prefixRange(String prefix) {
+        int from = Collections.binarySearch(this.words, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        // '{' sorts right after 'z', so it bounds every word with this prefix
+        int to = -Collections.binarySearch(this.words, prefix + '{') - 1;
+        return new int[] { from, to };
+    }
+
+    @Override
+    public int getWordCount() {
+        return this.words.size();
+    }
+
+    @Override
+    public long getIndexBytes() {
+        return this.indexBytes;
+    }
+
+    @Override
+    public int getSolverQueuedCount() {
+        return this.solverPool.getQueuedSubmissionCount();
+    }
+
+    @Override
+    public int getSolverActiveCount() {
+        return this.solverPool.getActiveThreadCount();
+    }
+
+    @Override
+    public void close() {
+        /*
+         * Searches in progress are left to finish, phrase searches by their
+         * deadline, so there is no need to wait for them or interrupt them.
+         */
+        this.solverPool.shutdown();
+        this.subWordPool.shutdown();
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public String scramble(String word) {
+        return shuffle(word);
+    }
+
+    /*
+     * A random ordering of the letters of `word`, other than `word` itself
+     * when there is one.
+     */
+    static String shuffle(String word) {
+        if (word == null || word.length() < 2) {
+            return word;
+        }
+        char[] letters = word.toCharArray();
+        boolean allSame = true;
+        for (int ix = 1; ix < letters.length && allSame; ix += 1) {
+            allSame = letters[ix] == letters[0];
+        }
+        if (allSame) {
+            // no other ordering is possible
+            return word;
+        }
+        Random random = ThreadLocalRandom.current();
+        String scramble;
+        do {
+            for (int ix = letters.length - 1; ix > 0; ix -= 1) {
+                int jx = random.nextInt(ix + 1);
+                char ch = letters[ix];
+                letters[ix] = letters[jx];
+                letters[jx] = ch;
+            }
+            scramble = new String(letters);
+        } while (scramble.equals(word));
+        return scramble;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> retrievePalindromeWords() {
+        List<String> palindromes = new ArrayList<>();
+        for (String word : this.words) {
+            if (word.length() > 1 && isPalindrome(word)) {
+                palindromes.add(word);
+            }
+        }
+        return palindromes;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public String pickOneRandomWord(Integer length) {
+        List<String> candidates;
+        if (length == null) {
+            candidates = this.words;
+        } else {
+            candidates = this.wordsByLength.get(length);
+        }
+        if (candidates == null || candidates.isEmpty()) {
+            return null;
+        }
+        return candidates.get(ThreadLocalRandom.current().nextInt(candidates.size()));
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public boolean exists(String word) {
+        String key = normalize(word);
+        if (key == null) {
+            return false;
+        }
+        return this.wordSet.contains(key);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> wordsMatchingPrefix(String prefix) {
+        String key = normalize(prefix);
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        int[] range = prefixRange(key);
+        return new ArrayList<>(this.words.subList(range[0], range[1]));
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public int countWordsMatchingPrefix(String prefix) {
+        String key = normalize(prefix);
+        if (key == null) {
+            return 0;
+        }
+        int[] range = prefixRange(key);
+        return range[1] - range[0];
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> anagrams(String letters) {
+        String key = normalize(letters);
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        List<String> found = this.anagramsBySignature.get(signature(key));
+        if (found == null) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(found);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public CompletableFuture<List<String>> phraseAnagrams(String letters, Integer minLength, int limit, Duration timeout) {
+        String key = phraseLetters(letters, minLength, limit, timeout);
+        if (key == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+        new PhraseAnagramSolver(this.anagramsBySignature, key, minLength == null ? 3 : minLength, limit,
+                System.nanoTime() + timeout.toNanos(), future).solve(this.solverPool);
+        return future;
+    }
+
+    /*
+     * Checks the arguments of phraseAnagrams. Returns the normalized
+     * letters, or null when no phrase can be found.
+     */
+    static String phraseLetters(String letters, Integer minLength, int limit, Duration timeout) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Invalid limit=[" + limit + "], expect positive integer");
+        }
+        if (timeout == null || timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Invalid timeout=[" + timeout + "], expect positive duration");
+        }
+        String key = normalize(letters);
+        if (key == null) {
+            return null;
+        }
+        if (key.length() > PhraseAnagramSolver.MAX_LETTERS) {
+            throw new IllegalArgumentException("Invalid letters=[" + letters + "], expect at most "
+                    + PhraseAnagramSolver.MAX_LETTERS + " letters");
+        }
+        if (minLength != null && minLength <= 0) {
+            return null;
+        }
+        return key;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> wordsMatchingPattern(String pattern) {
+        WildcardPattern compiled = WildcardPattern.compile(pattern);
+        if (compiled == null) {
+            return Collections.emptyList();
+        }
+        List<String> found = new ArrayList<>();
+        compiled.collect(this.trie, found);
+        return found;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public int countWordsMatchingPattern(String pattern) {
+        WildcardPattern compiled = WildcardPattern.compile(pattern);
+        if (compiled == null) {
+            return 0;
+        }
+        return compiled.count(this.trie);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> wordsMatchingRegex(String regex) {
+        List<String> found = new ArrayList<>();
+        RegexAutomaton.compile(regex).visit(this.trie, found::add);
+        return found;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> searchWords(Character startChar, Character endChar, Integer length) {
+        PositionQuery query = PositionQuery.of(startChar, endChar, length);
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        return this.positions.find(query.length, query.positions, query.letters);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public int countSearchWords(Character startChar, Character endChar, Integer length) {
+        PositionQuery query = PositionQuery.of(startChar, endChar, length);
+        if (query == null) {
+            return 0;
+        }
+        return this.positions.count(query.length, query.positions, query.letters);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> searchWords(Integer length, Map<Integer, Character> letters) {
+        PositionQuery query = PositionQuery.of(length, letters);
+        if (query == null) {
+            return Collections.emptyList();
+        }
+        return this.positions.find(query.length, query.positions, query.letters);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public int countSearchWords(Integer length, Map<Integer, Character> letters) {
+        PositionQuery query = PositionQuery.of(length, letters);
+        if (query == null) {
+            return 0;
+        }
+        return this.positions.count(query.length, query.positions, query.letters);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> suggestWords(String word, int maxDistance, int limit) {
+        if (maxDistance < 1 || maxDistance > 2) {
+            throw new IllegalArgumentException("Invalid maxDistance=[" + maxDistance + "], expect 1 or 2");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Invalid limit=[" + limit + "], expect zero or positive integer");
+        }
+        String key = normalize(word);
+        if (key == null || limit == 0) {
+            return Collections.emptyList();
+        }
+        return new LevenshteinAutomaton(key, maxDistance).find(this.trie, limit);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> generateSubWords(String word, Integer minLength) {
+        String seed = normalize(word);
+        if (seed == null) {
+            return Collections.emptyList();
+        }
+        if (minLength == null) {
+            minLength = 3;
+        } else if (minLength <= 0) {
+            return Collections.emptyList();
+        }
+        if (seed.length() < minLength) {
+            return Collections.emptyList();
+        }
+
+        /*
+         * When the event is disabled, begin() and shouldCommit() are cheap
+         * checks, and the JIT can drop the allocation.
+         */
+        SubWordsEvent event = new SubWordsEvent();
+        event.begin();
+        List<String> subWords = findSubWords(seed, minLength);
+        if (event.shouldCommit()) {
+            event.word = seed;
+            event.wordLength = seed.length();
+            event.minLength = minLength;
+            event.count = subWords.size();
+            event.commit();
+        }
+        return subWords;
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public int countSubWords(String word, Integer minLength) {
+        String seed = normalize(word);
+        if (seed == null) {
+            return 0;
+        }
+        if (minLength == null) {
+            minLength = 3;
+        } else if (minLength <= 0) {
+            return 0;
+        }
+        if (seed.length() < minLength) {
+            return 0;
+        }
+        SubWordFinder finder = new SubWordFinder(this.trie, seed, minLength);
+        if (seed.length() >= SubWordFinder.PARALLEL_LENGTH) {
+            return finder.count(this.subWordPool);
+        }
+        return finder.count();
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public Collection<String> generateSubWordsWithBlanks(String rack, Integer minLength) {
+        String seed = normalizeRack(rack);
+        if (seed == null) {
+            return Collections.emptyList();
+        }
+        if (minLength == null) {
+            minLength = 3;
+        } else if (minLength <= 0) {
+            return Collections.emptyList();
+        }
+        if (seed.length() < minLength) {
+            return Collections.emptyList();
+        }
+        return findSubWords(seed, minLength);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public List<ScoredWord> bestWords(String rack, Integer minLength, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Invalid limit=[" + limit + "], expect zero or positive integer");
+        }
+        String seed = normalizeRack(rack);
+        if (seed == null || limit == 0) {
+            return Collections.emptyList();
+        }
+        if (minLength == null) {
+            minLength = 3;
+        } else if (minLength <= 0) {
+            return Collections.emptyList();
+        }
+        return this.scores.best(seed, minLength, limit);
+    }
+
+    /*
+     * Long seeds are split across the sub word pool, so that the calling
+     * request thread is held for less time.
+     */
+    private List<String> findSubWords(String seed, int minLength) {
+        SubWordFinder finder = new SubWordFinder(this.trie, seed, minLength);
+        if (seed.length() >= SubWordFinder.PARALLEL_LENGTH) {
+            return finder.find(this.subWordPool);
+        }
+        return finder.find();
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public GameState createGameState(Integer length, Integer minLength) {
+        return createGameState(length, minLength, 0);
+    }
+
+    @Override
+    @Timed(value = TIMER, histogram = true)
+    public GameState createGameState(Integer length, Integer minLength, Integer blanks) {
+        return newGameState(this, length, minLength, blanks);
+    }
+
+    /*
+     * A game over a random word of `engine`, as JumbleEngine#createGameState
+     * describes.
+     */
+    static GameState newGameState(JumbleEngine engine, Integer length, Integer minLength, Integer blanks) {
+        Objects.requireNonNull(length, "length must not be null");
+        if (minLength == null) {
+            minLength = 3;
+        } else if (minLength <= 0) {
+            throw new IllegalArgumentException("Invalid minLength=[" + minLength + "], expect positive integer");
+        }
+        if (length < 3) {
+            throw new IllegalArgumentException("Invalid length=[" + length + "], expect greater than or equals 3");
+        }
+        if (minLength > length) {
+            throw new IllegalArgumentException("Expect minLength=[" + minLength + "] greater than length=[" + length + "]");
+        }
+        if (blanks == null) {
+            blanks = 0;
+        } else if (blanks < 0 || blanks >= length) {
+            throw new IllegalArgumentException("Invalid blanks=[" + blanks + "], expect 0 to " + (length - 1));
+        }
+        String original = engine.pickOneRandomWord(length);
+        if (original == null) {
+            throw new IllegalArgumentException("Cannot find valid word to create game state");
+        }
+        String scramble = engine.scramble(original);
+        Collection<String> words;
+        if (blanks == 0) {
+            words = engine.generateSubWords(original, minLength);
+        } else {
+            scramble = withBlanks(scramble, blanks);
+            words = engine.generateSubWordsWithBlanks(scramble, minLength);
+        }
+        Map<String, Boolean> subWords = new TreeMap<>();
+        for (String subWord : words) {
+            subWords.put(subWord, Boolean.FALSE);
+        }
+        // as without blanks, the original word is not one to guess
+        subWords.remove(original);
+        return new GameState(original, scramble, subWords);
+    }
+
+    /*
+     * Replaces `blanks` letters, at random positions, with `?`.
+     */
+    private static String withBlanks(String scramble, int blanks) {
+        char[] letters = scramble.toCharArray();
+        Random random = ThreadLocalRandom.current();
+        while (blanks > 0) {
+            int ix = random.nextInt(letters.length);
+            if (letters[ix] != '?') {
+                letters[ix] = '?';
+                blanks -= 1;
+            }
+        }
+        return new String(letters);
+    }
+
+    /*
+     * Constraints of a search, as PositionIndex takes them.
+     */
+    static final class PositionQuery {
+
+        final int length;
+
+        final int[] positions;
+
+        final char[] letters;
+
+        private PositionQuery(int length, int[] positions, char[] letters) {
+            this.length = length;
+            this.positions = positions;
+            this.letters = letters;
+        }
+
+        /*
+         * Returns null when there is no valid constraint.
+         */
+        static PositionQuery of(Character startChar, Character endChar, Integer length) {
+            char start = toLetter(startChar);
+            char end = toLetter(endChar);
+            int len = (length != null && length > 0) ? length : 0;
+            if (start == 0 && end == 0 && len == 0) {
+                return null;
+            }
+            int count = (start != 0 ? 1 : 0) + (end != 0 ? 1 : 0);
+            int[] positions = new int[count];
+            char[] letters = new char[count];
+            count = 0;
+            if (start != 0) {
+                positions[count] = 1;
+                letters[count++] = start;
+            }
+            if (end != 0) {
+                positions[count] = -1;
+                letters[count++] = end;
+            }
+            return new PositionQuery(len, positions, letters);
+        }
+
+        /*
+         * Returns null when any constraint is invalid, or there is none.
+         */
+        static PositionQuery of(Integer length, Map<Integer, Character> letters) {
+            int len = 0;
+            if (length != null) {
+                if (length <= 0) {
+                    return null;
+                }
+                len = length;
+            }
+            int count = letters == null ? 0 : letters.size();
+            if (len == 0 && count == 0) {
+                return null;
+            }
+            int[] positions = new int[count];
+            char[] chars = new char[count];
+            if (count > 0) {
+                count = 0;
+                for (Map.Entry<Integer, Character> entry : letters.entrySet()) {
+                    Integer pos = entry.getKey();
+                    char letter = toLetter(entry.getValue());
+                    if (pos == null || pos == 0 || letter == 0) {
+                        return null;
+                    }
+                    positions[count] = pos;
+                    chars[count++] = letter;
+                }
+            }
+            return new PositionQuery(len, positions, chars);
+        }
+
+        /*
+         * Whether `word` meets every constraint, for a scan of the words.
+         */
+        boolean matches(String word) {
+            if (this.length > 0 && word.length() != this.length) {
+                return false;
+            }
+            for (int ix = 0; ix < this.positions.length; ix += 1) {
+                int pos = this.positions[ix];
+                int at = pos > 0 ? pos - 1 : word.length() + pos;
+                if (at < 0 || at >= word.length() || word.charAt(at) != this.letters[ix]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+    }
+
+}
@@ -0,0 +1,28 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * JFR event for building the word list indexes of a JumbleEngine.
+ */
+@Name("asia.fourtitude.jumble.DictionaryLoad")
+@Label("Dictionary Load")
+@Category({ "Jumble", "Engine" })
+@Description("Normalizes, sorts and indexes a word list")
+@StackTrace(false)
+class DictionaryLoadEvent extends Event {
+
+    @Label("Words")
+    int words;
+
+    @Label("Index Size")
+    @DataAmount
+    long indexBytes;
+
+}
@@ -0,0 +1,87 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Where an engine gets its word list from.
+ *
+ * Word lists are one word per line, UTF-8. A word list whose name ends in
+ * ".gz" is gzip-compressed. Words are normalized (trimmed, lower cased),
+ * and words with anything other than letters 'a' to 'z' are dropped.
+ */
+@FunctionalInterface
+public interface DictionarySource {
+
+    String CLASSPATH_PREFIX = "classpath:";
+
+    String FILE_PREFIX = "file:";
+
+    /**
+     * Loads the word list.
+     *
+     * @return  The normalized words, sorted and without duplicates.
+     */
+    String[] load();
+
+    /**
+     * @param resource  The classpath resource. When missing, the same
+     *                  resource with ".gz" appended is tried.
+     * @return  The source.
+     */
+    static DictionarySource classpath(String resource) {
+        return () -> WordListLoader.loadResource(resource);
+    }
+
+    /**
+     * @param path  The word list file. The file is memory-mapped and parsed
+     *              in parallel, unless it is gzip-compressed.
+     * @return  The source.
+     */
+    static DictionarySource file(Path path) {
+        return () -> WordListLoader.loadFile(path);
+    }
+
+    /**
+     * @param words  The words, held in memory.
+     * @return  The source.
+     */
+    static DictionarySource of(Collection<String> words) {
+        return () -> {
+            Set<String> unique = new TreeSet<>();
+            for (String line : words) {
+                String word = DefaultJumbleEngine.normalize(line);
+                if (word != null) {
+                    unique.add(word);
+                }
+            }
+            return unique.toArray(new String[0]);
+        };
+    }
+
+    /**
+     * Resolves a configured location, such as "classpath:words.txt",
+     * "file:/data/words.txt.gz" or a plain file path.
+     *
+     * @param location  The location.
+     * @return  The source.
+     * @throws IllegalArgumentException  When `location` is blank.
+     */
+    static DictionarySource fromLocation(String location) {
+        if (location == null || location.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid dictionary location=[" + location + "]");
+        }
+        String text = location.trim();
+        if (text.startsWith(CLASSPATH_PREFIX)) {
+            return classpath(text.substring(CLASSPATH_PREFIX.length()));
+        }
+        if (text.startsWith(FILE_PREFIX)) {
+            text = text.substring(FILE_PREFIX.length());
+        }
+        return file(Paths.get(text));
+    }
+
+}
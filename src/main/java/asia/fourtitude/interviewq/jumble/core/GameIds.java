@@ -0,0 +1,93 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Compact game identifiers: a random 64-bit value, shown to clients as
+ * short base62 text (at most 11 characters, instead of 36 for a UUID).
+ *
+ * The value 0 is never generated, and is returned by {@link #decode(CharSequence)}
+ * for any text that is not a valid identifier.
+ */
+public final class GameIds {
+
+    public static final long INVALID = 0L;
+
+    public static final int MAX_LENGTH = 11;
+
+    private static final char[] DIGITS =
+            "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    private static final byte[] VALUES = new byte[128];
+
+    static {
+        for (int ix = 0; ix < VALUES.length; ix += 1) {
+            VALUES[ix] = -1;
+        }
+        for (int ix = 0; ix < DIGITS.length; ix += 1) {
+            VALUES[DIGITS[ix]] = (byte) ix;
+        }
+    }
+
+    private GameIds() {
+    }
+
+    public static long next() {
+        long id;
+        do {
+            id = ThreadLocalRandom.current().nextLong();
+        } while (id == INVALID);
+        return id;
+    }
+
+    /**
+     * Encodes `id` (treated as unsigned) into base62 text.
+     *
+     * @param id  The identifier.
+     * @return  The base62 text.
+     */
+    public static String encode(long id) {
+        char[] buf = new char[MAX_LENGTH];
+        int pos = buf.length;
+        long value = id;
+        do {
+            buf[--pos] = DIGITS[(int) Long.remainderUnsigned(value, 62)];
+            value = Long.divideUnsigned(value, 62);
+        } while (value != 0);
+        return new String(buf, pos, buf.length - pos);
+    }
+
+    /**
+     * Decodes base62 text produced by {@link #encode(long)}.
+     * Never throws; malformed or overflowing text gives {@link #INVALID}, as
+     * does text with leading zero digits, so that each identifier has
+     * exactly one text (the one that re-encodes to itself).
+     *
+     * @param text  The base62 text.
+     * @return  The identifier, or {@link #INVALID}.
+     */
+    public static long decode(CharSequence text) {
+        if (text == null || text.length() == 0 || text.length() > MAX_LENGTH) {
+            return INVALID;
+        }
+        if (text.charAt(0) == DIGITS[0]) {
+            // encode never writes a leading zero; "0" itself is INVALID
+            return INVALID;
+        }
+        long value = 0;
+        for (int ix = 0; ix < text.length(); ix += 1) {
+            char ch = text.charAt(ix);
+            int digit = ch < VALUES.length ? VALUES[ch] : -1;
+            if (digit < 0) {
+                return INVALID;
+            }
+            // value * 62 + digit must stay within unsigned 64 bits
+            if (Long.compareUnsigned(value, Long.divideUnsigned(-1L - digit, 62)) > 0) {
+                return INVALID;
+            }
+            value = value * 62 + digit;
+        }
+        return value;
+    }
+
+}
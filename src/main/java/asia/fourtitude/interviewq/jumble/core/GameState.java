@@ -1,24 +1,113 @@
 package asia.fourtitude.interviewq.jumble.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReference;
 
 public /* record */ class GameState {
 
+    /**
+     * Outcome of a guess.
+     */
+    public enum Guess {
+
+        /** Not one of the sub words. */
+        INCORRECT,
+
+        /** One of the sub words, guessed now or before. */
+        CORRECT,
+
+        /** One of the sub words, and the guess that left none to guess. */
+        COMPLETED;
+
+        public boolean isCorrect() {
+            return this != INCORRECT;
+        }
+
+    }
+
     private final String original;
 
-    private String scramble;
+    private volatile String scramble;
 
-    private final Map<String, Boolean> subWords;
+    /*
+     * Sub words in sorted order. The position of a word is its bit
+     * in `guessed`.
+     */
+    private final String[] words;
+
+    /*
+     * Guessed flags, one bit per sub word. The array is never modified; a
+     * guess replaces it with an updated copy by CAS, so that concurrent
+     * guesses on the same game never lose an update, readers always see
+     * one consistent snapshot, and exactly one guess sees the game go from
+     * words left to none left. Guesses on different games never contend.
+     */
+    private final AtomicReference<long[]> guessed;
+
+    /*
+     * Letter counts of `original`, 'a' to 'z'. Any correct guess must
+     * fit within these counts.
+     */
+    private final byte[] letterCounts;
+
+    /*
+     * Blank tiles, `?` in the scramble, each standing for any one letter.
+     * A guess may go over the letter counts by this many letters.
+     */
+    private final int blanks;
 
     public GameState(String original, String scramble, Map<String, Boolean> subWords) {
         this.original = original;
+        this.letterCounts = countLetters(original);
+        this.blanks = countBlanks(scramble);
         this.scramble = scramble;
-        this.subWords = subWords;
+        this.words = new TreeSet<>(subWords.keySet()).toArray(new String[0]);
+        long[] bits = new long[(this.words.length + 63) >>> 6];
+        for (int ix = 0; ix < this.words.length; ix += 1) {
+            if (subWords.get(this.words[ix]) == Boolean.TRUE) {
+                bits[ix >>> 6] |= 1L << ix;
+            }
+        }
+        this.guessed = new AtomicReference<>(bits);
+    }
+
+    /*
+     * Restores a game state from sorted sub words and the guessed bitset
+     * produced by getGuessedBits().
+     */
+    GameState(String original, String scramble, String[] sortedWords, long[] guessedBits) {
+        this.original = original;
+        this.letterCounts = countLetters(original);
+        this.blanks = countBlanks(scramble);
+        this.scramble = scramble;
+        this.words = sortedWords;
+        this.guessed = new AtomicReference<>(Arrays.copyOf(guessedBits, (this.words.length + 63) >>> 6));
+    }
+
+    private static byte[] countLetters(String word) {
+        byte[] counts = new byte[26];
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            int letter = word.charAt(ix) - 'a';
+            if (letter >= 0 && letter < 26) {
+                counts[letter] += 1;
+            }
+        }
+        return counts;
+    }
+
+    private static int countBlanks(String scramble) {
+        int blanks = 0;
+        for (int ix = 0; scramble != null && ix < scramble.length(); ix += 1) {
+            blanks += scramble.charAt(ix) == '?' ? 1 : 0;
+        }
+        return blanks;
     }
 
     public String getOriginal() {
@@ -33,8 +122,35 @@ public /* record */ class GameState {
         this.scramble = scramble;
     }
 
+    /**
+     * Returns a snapshot of sub words, and whether each has been guessed.
+     * Later guesses are not reflected in the returned map.
+     *
+     * @return  The sorted map of sub word to guessed flag.
+     */
     public Map<String, Boolean> getSubWords() {
-        return subWords;
+        long[] bits = this.guessed.get();
+        Map<String, Boolean> subWords = new TreeMap<>();
+        for (int ix = 0; ix < this.words.length; ix += 1) {
+            subWords.put(this.words[ix], isGuessed(bits, ix));
+        }
+        return Collections.unmodifiableMap(subWords);
+    }
+
+    public int getTotalWords() {
+        return this.words.length;
+    }
+
+    public int getRemainingWords() {
+        return remaining(this.guessed.get());
+    }
+
+    private int remaining(long[] bits) {
+        int count = 0;
+        for (long slot : bits) {
+            count += Long.bitCount(slot);
+        }
+        return this.words.length - count;
     }
 
     public String getScrambleAsDisplay() {
@@ -46,10 +162,11 @@ public /* record */ class GameState {
     }
 
     public List<String> getGuessedWords() {
+        long[] bits = this.guessed.get();
         Map<Integer, Set<String>> guesseds = new TreeMap<>();
-        for (Map.Entry<String, Boolean> entry : this.subWords.entrySet()) {
-            if (entry.getValue() == Boolean.TRUE) {
-                String word = entry.getKey();
+        for (int ix = 0; ix < this.words.length; ix += 1) {
+            if (isGuessed(bits, ix)) {
+                String word = this.words[ix];
                 Integer len = word.length();
                 Set<String> words = guesseds.get(len);
                 if (words == null) {
@@ -68,15 +185,132 @@ public /* record */ class GameState {
         return words;
     }
 
-    public boolean updateGuessWord(String word) {
-        if (word == null) {
+    /**
+     * Checks whether `word` can be spelled with the letters of the
+     * original word, each letter used at most as often as it appears,
+     * plus one other letter per blank tile of the scramble.
+     * A word failing this check can never be a correct guess.
+     *
+     * @param word  The guessed word, lower case.
+     * @return  true if `word` fits within the letters of the original word.
+     */
+    public boolean isMadeOfOriginalLetters(String word) {
+        if (word == null || word.isEmpty() || word.length() > this.original.length()) {
             return false;
         }
-        if (this.subWords.containsKey(word)) {
-            this.subWords.put(word, Boolean.TRUE);
-            return true;
+        int[] used = new int[26];
+        int over = 0;
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            int letter = word.charAt(ix) - 'a';
+            if (letter < 0 || letter >= 26) {
+                return false;
+            }
+            if (++used[letter] > this.letterCounts[letter] && ++over > this.blanks) {
+                return false;
+            }
         }
-        return false;
+        return true;
+    }
+
+    /**
+     * Marks `word` as guessed. Safe to call concurrently.
+     *
+     * @param word  The guessed word.
+     * @return  true if `word` is one of the sub words.
+     */
+    public boolean updateGuessWord(String word) {
+        return guess(word).isCorrect();
+    }
+
+    /**
+     * Marks `word` as guessed, as {@link #updateGuessWord(String)} does,
+     * and tells whether this guess is the one that completed the game.
+     * Of concurrent guesses, only one is ever {@link Guess#COMPLETED}.
+     *
+     * @param word  The guessed word.
+     * @return  The outcome of the guess.
+     */
+    public Guess guess(String word) {
+        int pos = position(word);
+        if (pos < 0) {
+            return Guess.INCORRECT;
+        }
+        return markGuessed(new int[] { pos }, 1) ? Guess.COMPLETED : Guess.CORRECT;
+    }
+
+    /**
+     * Marks the sub words among `words` as guessed, all at once: a
+     * concurrent guess or read sees either none or all of them.
+     *
+     * @param words  The guessed words.
+     * @return  The outcome of each word, in order. When the batch completed
+     *          the game, its last correct word is {@link Guess#COMPLETED}.
+     */
+    public Guess[] guessAll(List<String> words) {
+        Guess[] guesses = new Guess[words.size()];
+        int[] positions = new int[words.size()];
+        int count = 0;
+        int last = -1;
+        for (int ix = 0; ix < guesses.length; ix += 1) {
+            int pos = position(words.get(ix));
+            if (pos < 0) {
+                guesses[ix] = Guess.INCORRECT;
+            } else {
+                guesses[ix] = Guess.CORRECT;
+                positions[count++] = pos;
+                last = ix;
+            }
+        }
+        if (count > 0 && markGuessed(positions, count)) {
+            guesses[last] = Guess.COMPLETED;
+        }
+        return guesses;
+    }
+
+    /*
+     * Returns the position of `word` in the sub words, or -1 when it is not one.
+     */
+    private int position(String word) {
+        if (! isMadeOfOriginalLetters(word)) {
+            return -1;
+        }
+        int pos = Arrays.binarySearch(this.words, word);
+        return pos < 0 ? -1 : pos;
+    }
+
+    /**
+     * Returns a snapshot of the guessed flags. Bit `n` is set when the
+     * `n`-th sub word, in sorted order, has been guessed.
+     *
+     * @return  The guessed bitset, one long per 64 sub words.
+     */
+    public long[] getGuessedBits() {
+        return this.guessed.get().clone();
+    }
+
+    private static boolean isGuessed(long[] bits, int pos) {
+        return (bits[pos >>> 6] & (1L << pos)) != 0;
+    }
+
+    /*
+     * Sets the bits of positions[0, count) in one CAS. Returns true when
+     * this call left no word to guess, and some were left before it.
+     */
+    private boolean markGuessed(int[] positions, int count) {
+        long[] prev;
+        long[] next;
+        do {
+            prev = this.guessed.get();
+            next = prev.clone();
+            for (int ix = 0; ix < count; ix += 1) {
+                next[positions[ix] >>> 6] |= 1L << positions[ix];
+            }
+            if (Arrays.equals(prev, next)) {
+                // all guessed before
+                return false;
+            }
+        } while (! this.guessed.compareAndSet(prev, next));
+        return remaining(next) == 0;
     }
 
     @Override
@@ -88,9 +322,7 @@ public /* record */ class GameState {
         if (scramble != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("scramble=[").append(scramble).append(']');
         }
-        if (subWords != null) {
-            sb.append(sb.length() == 0 ? "" : ", ").append("subWords.size=[").append(subWords.size()).append(']');
-        }
+        sb.append(sb.length() == 0 ? "" : ", ").append("subWords.size=[").append(words.length).append(']');
         return sb.toString();
     }
 
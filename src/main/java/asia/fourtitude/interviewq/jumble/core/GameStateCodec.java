@@ -0,0 +1,153 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Compact binary form of {@link GameState}, for HTTP session storage and
+ * replication.
+ *
+ * Layout: version (1 byte), original length (1 byte), original letters,
+ * scramble letters (same length as original), sub word count (2 bytes),
+ * sub words bit packed at 5 bits per letter with a 5-bit length prefix,
+ * then the guessed bitset (1 bit per sub word).
+ *
+ * The sub words are written out instead of being regenerated on read,
+ * so reading needs no engine, and a session moved between instances
+ * with different word lists still reads back the same game.
+ */
+public final class GameStateCodec {
+
+    private static final byte VERSION = 1;
+
+    /*
+     * Longest sub word the 5-bit length prefix can hold.
+     */
+    static final int MAX_WORD_LENGTH = 31;
+
+    private GameStateCodec() {
+    }
+
+    /**
+     * @param state  The game state.
+     * @param out  The output.
+     * @throws IOException  When writing fails, or the state does not fit
+     *                      the layout: an original word over 255 letters,
+     *                      a sub word over 31 letters, or over 65535 sub
+     *                      words. Nothing is written then.
+     */
+    public static void write(GameState state, DataOutput out) throws IOException {
+        String original = state.getOriginal();
+        String scramble = state.getScramble();
+        String[] words = state.getSubWords().keySet().toArray(new String[0]);
+        if (original.length() > 0xff) {
+            throw new IOException("Invalid original length=[" + original.length() + "], expect at most 255");
+        }
+        if (words.length > 0xffff) {
+            throw new IOException("Invalid sub word count=[" + words.length + "], expect at most 65535");
+        }
+        for (String word : words) {
+            if (word.length() > MAX_WORD_LENGTH) {
+                throw new IOException("Invalid sub word=[" + word + "], expect at most " + MAX_WORD_LENGTH + " letters");
+            }
+        }
+        out.writeByte(VERSION);
+        out.writeByte(original.length());
+        out.write(original.getBytes(StandardCharsets.US_ASCII));
+        out.write(scramble.getBytes(StandardCharsets.US_ASCII));
+
+        out.writeShort(words.length);
+        int numBits = 0;
+        for (String word : words) {
+            numBits += 5 * (word.length() + 1);
+        }
+        byte[] packed = new byte[(numBits + 7) / 8];
+        int pos = 0;
+        for (String word : words) {
+            pos = putBits(packed, pos, word.length());
+            for (int ix = 0; ix < word.length(); ix += 1) {
+                pos = putBits(packed, pos, word.charAt(ix) - 'a');
+            }
+        }
+        out.write(packed);
+
+        long[] bits = state.getGuessedBits();
+        for (int ix = 0; ix < (words.length + 7) / 8; ix += 1) {
+            out.writeByte((int) (bits[ix >>> 3] >>> ((ix & 7) * 8)));
+        }
+    }
+
+    public static GameState read(DataInput in) throws IOException {
+        if (in.readByte() != VERSION) {
+            throw new InvalidObjectException("Unknown game state version");
+        }
+        int length = in.readUnsignedByte();
+        byte[] letters = new byte[length];
+        in.readFully(letters);
+        String original = new String(letters, StandardCharsets.US_ASCII);
+        in.readFully(letters);
+        String scramble = new String(letters, StandardCharsets.US_ASCII);
+
+        int count = in.readUnsignedShort();
+        String[] words = new String[count];
+        PackedReader reader = new PackedReader(in);
+        char[] buf = new char[MAX_WORD_LENGTH];
+        for (int wx = 0; wx < count; wx += 1) {
+            int len = reader.next();
+            for (int ix = 0; ix < len; ix += 1) {
+                buf[ix] = (char) ('a' + reader.next());
+            }
+            words[wx] = new String(buf, 0, len);
+        }
+
+        long[] bits = new long[(count + 63) >>> 6];
+        for (int ix = 0; ix < (count + 7) / 8; ix += 1) {
+            bits[ix >>> 3] |= (in.readUnsignedByte() & 0xffL) << ((ix & 7) * 8);
+        }
+        return new GameState(original, scramble, words, bits);
+    }
+
+    private static int putBits(byte[] packed, int pos, int value) {
+        for (int bx = 4; bx >= 0; bx -= 1, pos += 1) {
+            if ((value & (1 << bx)) != 0) {
+                packed[pos >>> 3] |= 0x80 >>> (pos & 7);
+            }
+        }
+        return pos;
+    }
+
+    /*
+     * Reads 5-bit values, pulling bytes from the input only as needed, so
+     * that the stream is left right after the last packed byte.
+     */
+    private static final class PackedReader {
+
+        private final DataInput in;
+
+        private int current;
+
+        private int remaining;
+
+        PackedReader(DataInput in) {
+            this.in = in;
+        }
+
+        int next() throws IOException {
+            int value = 0;
+            for (int bx = 0; bx < 5; bx += 1) {
+                if (this.remaining == 0) {
+                    this.current = this.in.readUnsignedByte();
+                    this.remaining = 8;
+                }
+                this.remaining -= 1;
+                value = (value << 1) | ((this.current >>> this.remaining) & 1);
+            }
+            return value;
+        }
+
+    }
+
+}
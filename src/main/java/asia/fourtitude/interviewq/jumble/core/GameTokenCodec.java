@@ -0,0 +1,231 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Encodes a game state into a compact, HMAC signed token, so that the
+ * web game can keep the state on the client instead of in a server
+ * session.
+ *
+ * The token carries only the puzzle (original word) and the guessed
+ * bitset. Sub words are regenerated from the engine on decode, and
+ * their sorted order gives the bit positions. The sub words of recent
+ * puzzles are cached, so that a guess does not regenerate them.
+ *
+ * A token expires `maxAge` after it was issued; each move issues a new
+ * one, so a game lasts as long as its moves are less than `maxAge` apart,
+ * and a captured token cannot be replayed after that.
+ *
+ * Token layout, before base64url: version (1 byte), issue time (4 bytes,
+ * unsigned epoch seconds), original length (1 byte), original letters,
+ * minimum sub word length (1 byte), sub word count (2 bytes), guessed
+ * bitset (1 bit per sub word); followed by "." and a truncated HMAC-SHA256.
+ */
+public class GameTokenCodec {
+
+    private static final byte VERSION = 2;
+
+    public static final Duration DEFAULT_MAX_AGE = Duration.ofHours(24);
+
+    /*
+     * Puzzles whose sub words are kept; the least recently used goes first.
+     */
+    private static final int CACHE_SIZE = 1024;
+
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private static final int MAC_LENGTH = 16;
+
+    private final SecretKeySpec key;
+
+    private final JumbleEngine engine;
+
+    private final long maxAgeSeconds;
+
+    private final Clock clock;
+
+    /*
+     * Sorted sub words by minimum length and original, as "3:planet".
+     * GameState shares the arrays, and never writes to them.
+     */
+    private final Map<String, String[]> subWordsCache = Collections.synchronizedMap(
+            new LinkedHashMap<String, String[]>(CACHE_SIZE * 4 / 3 + 1, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, String[]> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+
+            });
+
+    /**
+     * @param secret  The signing secret. When null or empty, a random
+     *                secret is used, and tokens only verify on this instance.
+     * @param engine  The engine used to regenerate sub words.
+     */
+    public GameTokenCodec(String secret, JumbleEngine engine) {
+        this(secret, DEFAULT_MAX_AGE, engine);
+    }
+
+    /**
+     * @param secret  The signing secret. When null or empty, a random
+     *                secret is used, and tokens only verify on this instance.
+     * @param maxAge  How long a token stays valid after it is issued.
+     * @param engine  The engine used to regenerate sub words.
+     */
+    public GameTokenCodec(String secret, Duration maxAge, JumbleEngine engine) {
+        this(secret, maxAge, engine, Clock.systemUTC());
+    }
+
+    GameTokenCodec(String secret, Duration maxAge, JumbleEngine engine, Clock clock) {
+        if (maxAge == null || maxAge.isNegative() || maxAge.isZero()) {
+            throw new IllegalArgumentException("Invalid maxAge=[" + maxAge + "], expect positive duration");
+        }
+        byte[] keyBytes;
+        if (secret == null || secret.isEmpty()) {
+            keyBytes = new byte[32];
+            new SecureRandom().nextBytes(keyBytes);
+        } else {
+            keyBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.engine = engine;
+        this.maxAgeSeconds = maxAge.getSeconds();
+        this.clock = clock;
+    }
+
+    private byte[] sign(byte[] payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(this.key);
+            byte[] full = mac.doFinal(payload);
+            byte[] truncated = new byte[MAC_LENGTH];
+            System.arraycopy(full, 0, truncated, 0, MAC_LENGTH);
+            return truncated;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to sign game token", e);
+        }
+    }
+
+    public String encode(GameState state) {
+        byte[] original = state.getOriginal().getBytes(StandardCharsets.US_ASCII);
+        int count = state.getTotalWords();
+        long[] bits = state.getGuessedBits();
+        ByteBuffer buf = ByteBuffer.allocate(1 + 4 + 1 + original.length + 1 + 2 + (count + 7) / 8);
+        buf.put(VERSION);
+        buf.putInt((int) this.clock.instant().getEpochSecond());
+        buf.put((byte) original.length);
+        buf.put(original);
+        buf.put((byte) minLength(state));
+        buf.putShort((short) count);
+        for (int ix = 0; ix < (count + 7) / 8; ix += 1) {
+            buf.put((byte) (bits[ix >>> 3] >>> ((ix & 7) * 8)));
+        }
+        byte[] payload = buf.array();
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString(payload) + '.' + encoder.encodeToString(sign(payload));
+    }
+
+    /**
+     * Verifies and decodes `token`.
+     *
+     * @param token  The token from {@link #encode(GameState)}.
+     * @return  The game state, or null if the token is malformed, was
+     *          not signed with this secret, has expired, or does not match
+     *          the word list.
+     */
+    public GameState decode(String token) {
+        if (token == null) {
+            return null;
+        }
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return null;
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            Base64.Decoder decoder = Base64.getUrlDecoder();
+            payload = decoder.decode(token.substring(0, dot));
+            signature = decoder.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (! MessageDigest.isEqual(sign(payload), signature)) {
+            return null;
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(payload);
+        if (buf.remaining() < 6 || buf.get() != VERSION) {
+            return null;
+        }
+        long issuedAt = buf.getInt() & 0xffffffffL;
+        if (this.clock.instant().getEpochSecond() - issuedAt > this.maxAgeSeconds) {
+            return null;
+        }
+        int length = buf.get();
+        if (length <= 0 || buf.remaining() < length + 3) {
+            return null;
+        }
+        byte[] letters = new byte[length];
+        buf.get(letters);
+        String original = new String(letters, StandardCharsets.US_ASCII);
+        int minLength = buf.get();
+        int count = buf.getShort() & 0xffff;
+        if (buf.remaining() != (count + 7) / 8) {
+            return null;
+        }
+        long[] bits = new long[(count + 63) >>> 6];
+        for (int ix = 0; buf.hasRemaining(); ix += 1) {
+            bits[ix >>> 3] |= (buf.get() & 0xffL) << ((ix & 7) * 8);
+        }
+
+        String[] words = subWords(original, minLength);
+        if (words.length != count) {
+            // word list changed since the token was issued
+            return null;
+        }
+        return new GameState(original, this.engine.scramble(original), words, bits);
+    }
+
+    private String[] subWords(String original, int minLength) {
+        String cacheKey = minLength + ":" + original;
+        String[] words = this.subWordsCache.get(cacheKey);
+        if (words == null) {
+            Collection<String> subWords = this.engine.generateSubWords(original, minLength);
+            words = subWords.toArray(new String[0]);
+            this.subWordsCache.put(cacheKey, words);
+        }
+        return words;
+    }
+
+    /*
+     * The game's minimum length is not kept in GameState. The length of
+     * the shortest sub word selects the same sub words, since every
+     * longer word of the original's letters is also a sub word.
+     */
+    private static int minLength(GameState state) {
+        int minLength = state.getOriginal().length();
+        for (String word : state.getSubWords().keySet()) {
+            minLength = Math.min(minLength, word.length());
+        }
+        return minLength;
+    }
+
+}
@@ -1,9 +1,65 @@
 package asia.fourtitude.interviewq.jumble.core;
 
-import java.io.*;
-import java.util.*;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
-public class JumbleEngine {
+/**
+ * Word game engine over a word list/dictionary.
+ *
+ * Implementations are picked by name with {@link #create(String, DictionarySource)},
+ * so that a deployment can switch engines by configuration.
+ */
+public interface JumbleEngine extends AutoCloseable {
+
+    String DEFAULT = "default";
+
+    String NAIVE = "naive";
+
+    /**
+     * Creates an engine.
+     *
+     * @param type  The engine type: {@link #DEFAULT}, or {@link #NAIVE}.
+     * @param source  The word list.
+     * @return  The engine, with its word list loaded.
+     * @throws IllegalArgumentException  When `type` is unknown.
+     */
+    static JumbleEngine create(String type, DictionarySource source) {
+        return create(type, source, LetterValues.SCRABBLE);
+    }
+
+    /**
+     * Creates an engine, scoring words with `letterValues`.
+     *
+     * @param type  The engine type: {@link #DEFAULT}, or {@link #NAIVE}.
+     * @param source  The word list.
+     * @param letterValues  The points of each letter.
+     * @return  The engine, with its word list loaded.
+     * @throws IllegalArgumentException  When `type` is unknown.
+     */
+    static JumbleEngine create(String type, DictionarySource source, LetterValues letterValues) {
+        if (DEFAULT.equals(type)) {
+            return new DefaultJumbleEngine(source, letterValues);
+        }
+        if (NAIVE.equals(type)) {
+            return new NaiveJumbleEngine(source, letterValues);
+        }
+        throw new IllegalArgumentException("Unknown engine type=[" + type + "]");
+    }
+
+    /**
+     * @return  The number of words in the word list.
+     */
+    int getWordCount();
+
+    /**
+     * Stops accepting searches and lets the ones in progress run out, then
+     * stops the engine's threads, if it has any. Does not throw.
+     */
+    @Override
+    void close();
 
     /**
      * From the input `word`, produces/generates a copy which has the same
@@ -18,13 +74,7 @@ public class JumbleEngine {
      * @param word  The input word to scramble the letters.
      * @return  The scrambled output/letters.
      */
-    public String scramble(String word) {
-        /*
-         * Refer to the method's Javadoc (above) and implement accordingly.
-         * Must pass the corresponding unit tests.
-         */
-        throw new UnsupportedOperationException("to be implemented");
-    }
+    String scramble(String word);
 
     /**
      * Retrieves the palindrome words from the internal
@@ -43,13 +93,7 @@ public class JumbleEngine {
      * @return  The list of palindrome words found in system/engine.
      * @see https://www.google.com/search?q=palindrome+meaning
      */
-    public Collection<String> retrievePalindromeWords() {
-        /*
-         * Refer to the method's Javadoc (above) and implement accordingly.
-         * Must pass the corresponding unit tests.
-         */
-        throw new UnsupportedOperationException("to be implemented");
-    }
+    Collection<String> retrievePalindromeWords();
 
     /**
      * Picks one word randomly from internal word list.
@@ -64,13 +108,7 @@ public class JumbleEngine {
      * @return  One of the word (randomly) from word list.
      *          Or null if none matching.
      */
-    public String pickOneRandomWord(Integer length) {
-        /*
-         * Refer to the method's Javadoc (above) and implement accordingly.
-         * Must pass the corresponding unit tests.
-         */
-        throw new UnsupportedOperationException("to be implemented");
-    }
+    String pickOneRandomWord(Integer length);
 
     /**
      * Checks if the `word` exists in internal word list.
@@ -84,13 +122,7 @@ public class JumbleEngine {
      * @param word  The input word to check.
      * @return  true if `word` exists in internal word list.
      */
-    public boolean exists(String word) {
-        /*
-         * Refer to the method's Javadoc (above) and implement accordingly.
-         * Must pass the corresponding unit tests.
-         */
-        throw new UnsupportedOperationException("to be implemented");
-    }
+    boolean exists(String word);
 
     /**
      * Finds all the words from internal word list which begins with the
@@ -108,13 +140,108 @@ public class JumbleEngine {
      * @param prefix  The prefix to match.
      * @return  The list of words matching the prefix.
      */
-    public Collection<String> wordsMatchingPrefix(String prefix) {
-        /*
-         * Refer to the method's Javadoc (above) and implement accordingly.
-         * Must pass the corresponding unit tests.
-         */
-        throw new UnsupportedOperationException("to be implemented");
-    }
+    Collection<String> wordsMatchingPrefix(String prefix);
+
+    /**
+     * Counts the words {@link #wordsMatchingPrefix(String)} would find,
+     * without listing them.
+     *
+     * @param prefix  The prefix to match.
+     * @return  The number of words matching the prefix.
+     */
+    int countWordsMatchingPrefix(String prefix);
+
+    /**
+     * Finds all the words from internal word list using exactly the input
+     * `letters`, each letter as many times as given, in any order: solves
+     * the jumble. The input itself is included when it is a word.
+     * Matching is case insensitive.
+     *
+     * Example: "tinsel" finds "enlist", "inlets", "listen", "silent" and
+     * "tinsel".
+     *
+     * Invalid `letters` (null, empty string, blank string, non letter) will
+     * return empty list.
+     *
+     * @param letters  The letters to use.
+     * @return  The sorted list of words made of exactly the letters.
+     */
+    Collection<String> anagrams(String letters);
+
+    /**
+     * Finds phrases of words from internal word list which together use
+     * exactly the input `letters`: multi-word anagrams. Each combination
+     * of words is found once, in any order of its words.
+     * Matching is case insensitive.
+     *
+     * Example: "dormitory" finds "dirt roomy", "dirty moor", "dirty room",
+     * ... and "dormitory" itself.
+     *
+     * The search runs in parallel, in the background. It stops after
+     * `limit` phrases, or after `timeout`, with the phrases found so far;
+     * which ones then depends on thread timing. Cancelling the returned
+     * future stops the search.
+     *
+     * Invalid `letters` (null, empty string, blank string, non letter) or
+     * `minLength` (zero or negative) will return empty list.
+     *
+     * @param letters  The letters to use, at most 20.
+     * @param minLength  The minimum length (inclusive) of each word.
+     *                   Expects positive integer.
+     *                   Default is 3.
+     * @param limit  The most phrases to find.
+     * @param timeout  The time budget of the search.
+     * @return  The future sorted list of phrases, words separated by a
+     *          space and in sorted order.
+     * @throws IllegalArgumentException  When `letters` has more than 20
+     *                                   letters, `limit` is not positive
+     *                                   or `timeout` not positive.
+     */
+    CompletableFuture<List<String>> phraseAnagrams(String letters, Integer minLength, int limit, Duration timeout);
+
+    /**
+     * Finds all the words from internal word list matching the input
+     * `pattern`, where `?` matches any one letter and `*` matches any
+     * number of letters, including none.
+     * Matching is case insensitive.
+     *
+     * Example: "c?t*s" matches "cats", "cuts" and "cutlets".
+     *
+     * Invalid `pattern` (null, blank, anything other than letters, `?`
+     * and `*`, longer than 63) will return empty list.
+     *
+     * @param pattern  The pattern to match.
+     * @return  The sorted list of words matching the pattern.
+     */
+    Collection<String> wordsMatchingPattern(String pattern);
+
+    /**
+     * Counts the words {@link #wordsMatchingPattern(String)} would find,
+     * without listing them.
+     *
+     * @param pattern  The pattern to match.
+     * @return  The number of words matching the pattern.
+     */
+    int countWordsMatchingPattern(String pattern);
+
+    /**
+     * Finds all the words from internal word list fully matching the input
+     * regular expression `regex`, over letters only: letters, `.`, classes
+     * (`[aeiou]`, `[^xyz]`, `[a-m]`), groups, `|`, and the quantifiers `*`,
+     * `+`, `?` and `{n,m}`.
+     * Matching is case insensitive.
+     *
+     * Example: "c[aeiou]t(s|ch)?" matches "cat", "cats", "catch" and "cut".
+     *
+     * The work of a search is bounded, so that an expression which would
+     * explore too many states is rejected instead of running long.
+     *
+     * @param regex  The regular expression to match.
+     * @return  The sorted list of words matching the expression.
+     * @throws IllegalArgumentException  When `regex` is blank, invalid, or
+     *                                   exceeds the work budget.
+     */
+    Collection<String> wordsMatchingRegex(String regex);
 
     /**
      * Finds all the words from internal word list that is matching
@@ -140,13 +267,69 @@ public class JumbleEngine {
      * @param length     The length of the word to match.
      * @return  The list of words matching the searching criteria.
      */
-    public Collection<String> searchWords(Character startChar, Character endChar, Integer length) {
-        /*
-         * Refer to the method's Javadoc (above) and implement accordingly.
-         * Must pass the corresponding unit tests.
-         */
-        throw new UnsupportedOperationException("to be implemented");
-    }
+    Collection<String> searchWords(Character startChar, Character endChar, Integer length);
+
+    /**
+     * Counts the words {@link #searchWords(Character, Character, Integer)}
+     * would find, without listing them.
+     *
+     * @param startChar  The first character of the word to search for.
+     * @param endChar    The last character of the word to match with.
+     * @param length     The length of the word to match.
+     * @return  The number of words matching the searching criteria.
+     */
+    int countSearchWords(Character startChar, Character endChar, Integer length);
+
+    /**
+     * Finds all the words from internal word list with the given letters
+     * at the given positions, crossword style.
+     *
+     * Example: `length` 7 and `letters` {3: 'a', 6: 'e'} finds "abashed",
+     * "adapted", "adapter", "alarmed", ...
+     *
+     * Positions count from 1 for the first letter, or from -1 for the last
+     * letter. Letters are 'a' to 'z', case insensitive.
+     *
+     * Must have `length` or at least one letter. Invalid `length` (zero or
+     * negative), position (null, zero) or letter will return empty list.
+     *
+     * @param length  The length of the word, or null for any length.
+     * @param letters  The letter at each position.
+     * @return  The sorted list of words matching every constraint.
+     */
+    Collection<String> searchWords(Integer length, Map<Integer, Character> letters);
+
+    /**
+     * Counts the words {@link #searchWords(Integer, Map)} would find,
+     * without listing them.
+     *
+     * @param length  The length of the word, or null for any length.
+     * @param letters  The letter at each position.
+     * @return  The number of words matching every constraint.
+     */
+    int countSearchWords(Integer length, Map<Integer, Character> letters);
+
+    /**
+     * Suggests words from internal word list close to the input `word`,
+     * for a "did you mean" on a word that is not found: the words within
+     * `maxDistance` edits, an edit being to insert, delete or replace one
+     * letter. The word itself is not suggested.
+     * Matching is case insensitive.
+     *
+     * Example: "yelow" suggests "below", "yellow", "yeow" (1 edit), then
+     * "aglow", "allow", "bellow", ... (2 edits).
+     *
+     * Invalid `word` (null, empty string, blank string, non letter) will
+     * return empty list.
+     *
+     * @param word  The input word.
+     * @param maxDistance  The most edits, 1 or 2.
+     * @param limit  The most words to return.
+     * @return  The list of words, nearest first, then in sorted order.
+     * @throws IllegalArgumentException  When `maxDistance` is not 1 or 2,
+     *                                   or `limit` is negative.
+     */
+    Collection<String> suggestWords(String word, int maxDistance, int limit);
 
     /**
      * Generates all possible combinations of smaller/sub words using the
@@ -173,13 +356,64 @@ public class JumbleEngine {
      *                   Default is 3.
      * @return  The list of sub words constructed from input `word`.
      */
-    public Collection<String> generateSubWords(String word, Integer minLength) {
-        /*
-         * Refer to the method's Javadoc (above) and implement accordingly.
-         * Must pass the corresponding unit tests.
-         */
-        throw new UnsupportedOperationException("to be implemented");
-    }
+    Collection<String> generateSubWords(String word, Integer minLength);
+
+    /**
+     * Counts the sub words {@link #generateSubWords(String, Integer)} would
+     * generate, without listing them.
+     *
+     * Example: From "yellow" and `minLength` = 3, the count is 13.
+     *
+     * @param word       The input word to use as base/seed.
+     * @param minLength  The minimum length (inclusive) of sub words.
+     *                   Expects positive integer.
+     *                   Default is 3.
+     * @return  The number of sub words constructed from input `word`.
+     */
+    int countSubWords(String word, Integer minLength);
+
+    /**
+     * Same as {@link #generateSubWords(String, Integer)}, where a `?` in
+     * the input `rack` is a blank tile, which stands for any one letter,
+     * as in Scrabble. Each word is listed once, however many ways the
+     * blanks can spell it.
+     *
+     * Example: From "ca?" and `minLength` = 3, the output sub words:
+     *     ace, act, arc, cab, cad, cam, can, cap, car, cat, caw, mac, sac, vac
+     *
+     * Invalid `rack` (null, empty string, blank string, anything other
+     * than letters and `?`) will return empty list.
+     *
+     * @param rack       The input letters and blanks to use as base/seed.
+     * @param minLength  The minimum length (inclusive) of sub words.
+     *                   Expects positive integer.
+     *                   Default is 3.
+     * @return  The sorted list of sub words constructed from input `rack`.
+     */
+    Collection<String> generateSubWordsWithBlanks(String rack, Integer minLength);
+
+    /**
+     * Finds the highest scoring words buildable from the input `rack`, as
+     * in {@link #generateSubWordsWithBlanks(String, Integer)}. A word
+     * scores the points of its letters, as configured for the engine; a
+     * letter played by a blank `?` scores nothing.
+     *
+     * Example: From "quartz?" with Scrabble letter values, the best word
+     * is "quartz" with 24 points.
+     *
+     * Invalid `rack` (null, empty string, blank string, anything other
+     * than letters and `?`) or `minLength` (zero or negative) will return
+     * empty list.
+     *
+     * @param rack       The input letters and blanks.
+     * @param minLength  The minimum length (inclusive) of words.
+     *                   Expects positive integer.
+     *                   Default is 3.
+     * @param limit      The most words to return.
+     * @return  The words, highest score first, then in sorted order.
+     * @throws IllegalArgumentException  When `limit` is negative.
+     */
+    List<ScoredWord> bestWords(String rack, Integer minLength, int limit);
 
     /**
      * Creates a game state with word to guess, scrambled letters, and
@@ -195,29 +429,24 @@ public class JumbleEngine {
      *                   Default is 3.
      * @return  The game state.
      */
-    public GameState createGameState(Integer length, Integer minLength) {
-        Objects.requireNonNull(length, "length must not be null");
-        if (minLength == null) {
-            minLength = 3;
-        } else if (minLength <= 0) {
-            throw new IllegalArgumentException("Invalid minLength=[" + minLength + "], expect positive integer");
-        }
-        if (length < 3) {
-            throw new IllegalArgumentException("Invalid length=[" + length + "], expect greater than or equals 3");
-        }
-        if (minLength > length) {
-            throw new IllegalArgumentException("Expect minLength=[" + minLength + "] greater than length=[" + length + "]");
-        }
-        String original = this.pickOneRandomWord(length);
-        if (original == null) {
-            throw new IllegalArgumentException("Cannot find valid word to create game state");
-        }
-        String scramble = this.scramble(original);
-        Map<String, Boolean> subWords = new TreeMap<>();
-        for (String subWord : this.generateSubWords(original, minLength)) {
-            subWords.put(subWord, Boolean.FALSE);
-        }
-        return new GameState(original, scramble, subWords);
-    }
+    GameState createGameState(Integer length, Integer minLength);
+
+    /**
+     * Same as {@link #createGameState(Integer, Integer)}, with `blanks`
+     * letters of the scramble replaced by `?` blank tiles. The words to
+     * guess are those of the letters and blanks left, so a blank may
+     * stand for a letter the original word does not have.
+     *
+     * @param length     The length of selected word.
+     *                   Expects >= 3.
+     * @param minLength  The minimum length (inclusive) of sub words.
+     *                   Expects positive integer.
+     *                   Default is 3.
+     * @param blanks     The number of blank tiles.
+     *                   Expects 0 to `length` - 1.
+     *                   Default is 0.
+     * @return  The game state.
+     */
+    GameState createGameState(Integer length, Integer minLength, Integer blanks);
 
 }
@@ -0,0 +1,25 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Gauges of an engine's indexes and solver threads, for engines that have
+ * them. Published next to the {@link JumbleEngine} timers.
+ */
+public interface JumbleEngineMetrics {
+
+    /**
+     * @return  An estimate of the heap used by the word list and its
+     *          indexes, in bytes.
+     */
+    long getIndexBytes();
+
+    /**
+     * @return  The number of phrase searches waiting for a solver thread.
+     */
+    int getSolverQueuedCount();
+
+    /**
+     * @return  The number of solver threads running a phrase search.
+     */
+    int getSolverActiveCount();
+
+}
@@ -0,0 +1,91 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+
+/**
+ * Points of each letter 'a' to 'z', for scoring words. A blank tile
+ * scores nothing, whichever letter it stands for.
+ */
+public final class LetterValues {
+
+    /*
+     * The english Scrabble values.
+     */
+    public static final LetterValues SCRABBLE = new LetterValues(new int[] {
+            1, 3, 3, 2, 1, 4, 2, 4, 1, 8, 5, 1, 3, 1, 1, 3, 10, 1, 1, 1, 1, 4, 4, 8, 4, 10 });
+
+    private final int[] values;
+
+    private LetterValues(int[] values) {
+        this.values = values;
+    }
+
+    /**
+     * Parses the values of 'a' to 'z', in order, comma separated, such as
+     * "1,3,3,2,1,4,...".
+     *
+     * @param text  The 26 values, each zero or positive.
+     * @return  The letter values.
+     * @throws IllegalArgumentException  When `text` is not 26 values, or a
+     *                                   value is not a zero or positive integer.
+     */
+    public static LetterValues parse(String text) {
+        String[] items = text == null ? new String[0] : text.split(",");
+        if (items.length != 26) {
+            throw new IllegalArgumentException("Invalid letter values=[" + text + "], expect 26 values, for 'a' to 'z'");
+        }
+        int[] values = new int[26];
+        for (int ix = 0; ix < 26; ix += 1) {
+            try {
+                values[ix] = Integer.parseInt(items[ix].trim());
+            } catch (NumberFormatException e) {
+                values[ix] = -1;
+            }
+            if (values[ix] < 0 || values[ix] > 1000) {
+                throw new IllegalArgumentException("Invalid letter value=[" + items[ix].trim() + "] of '"
+                        + (char) ('a' + ix) + "', expect 0 to 1000");
+            }
+        }
+        return new LetterValues(values);
+    }
+
+    /**
+     * @param letter  The letter, 'a' to 'z'.
+     * @return  The points of `letter`.
+     */
+    public int value(char letter) {
+        return this.values[letter - 'a'];
+    }
+
+    /**
+     * @param word  The word, normalized.
+     * @return  The sum of the points of its letters.
+     */
+    public int score(String word) {
+        int score = 0;
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            score += this.values[word.charAt(ix) - 'a'];
+        }
+        return score;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof LetterValues && Arrays.equals(this.values, ((LetterValues) obj).values);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int value : this.values) {
+            sb.append(sb.length() == 0 ? "" : ",").append(value);
+        }
+        return sb.toString();
+    }
+
+}
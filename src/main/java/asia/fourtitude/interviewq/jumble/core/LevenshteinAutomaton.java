@@ -0,0 +1,142 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Levenshtein automaton of a word: accepts the words within `maxDistance`
+ * edits (insert, delete or replace one letter) of it, run against the trie.
+ *
+ * A state is a row of the edit distance table, the distance from each
+ * prefix of the word to the trie prefix read so far, capped at
+ * maxDistance + 1. A letter moves to the next row. A subtree is skipped
+ * as soon as every entry of the row is over `maxDistance`, so a walk
+ * visits only the trie prefixes near the word, not the whole word list.
+ */
+final class LevenshteinAutomaton {
+
+    private final String word;
+
+    private final int maxDistance;
+
+    LevenshteinAutomaton(String word, int maxDistance) {
+        this.word = word;
+        this.maxDistance = maxDistance;
+    }
+
+    int[] start() {
+        int[] row = new int[this.word.length() + 1];
+        for (int ix = 0; ix < row.length; ix += 1) {
+            row[ix] = Math.min(ix, this.maxDistance + 1);
+        }
+        return row;
+    }
+
+    int[] step(int[] row, char letter) {
+        int[] next = new int[row.length];
+        next[0] = Math.min(row[0] + 1, this.maxDistance + 1);
+        for (int ix = 1; ix < row.length; ix += 1) {
+            int replace = row[ix - 1] + (this.word.charAt(ix - 1) == letter ? 0 : 1);
+            int distance = Math.min(replace, Math.min(row[ix] + 1, next[ix - 1] + 1));
+            next[ix] = Math.min(distance, this.maxDistance + 1);
+        }
+        return next;
+    }
+
+    /*
+     * Whether more letters may still lead to an accepted word.
+     */
+    boolean canMatch(int[] row) {
+        for (int distance : row) {
+            if (distance <= this.maxDistance) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    int distance(int[] row) {
+        return row[row.length - 1];
+    }
+
+    /**
+     * Finds the words of `trie` within `maxDistance` of the word, the word
+     * itself excluded.
+     *
+     * @param trie  The trie of the word list.
+     * @param limit  The most words to return.
+     * @return  The words, nearest first, then in sorted order.
+     */
+    List<String> find(WordTrie trie, int limit) {
+        List<List<String>> byDistance = newByDistance();
+        find(trie, WordTrie.ROOT, 0, start(), byDistance);
+        return nearest(byDistance, limit);
+    }
+
+    /**
+     * Same as {@link #find(WordTrie, int)}, scanning `words` instead of
+     * walking a trie.
+     *
+     * @param words  The words, normalized and sorted.
+     * @param limit  The most words to return.
+     * @return  The words, nearest first, then in sorted order.
+     */
+    List<String> find(String[] words, int limit) {
+        List<List<String>> byDistance = newByDistance();
+        for (String candidate : words) {
+            if (Math.abs(candidate.length() - this.word.length()) > this.maxDistance) {
+                continue;
+            }
+            int[] row = start();
+            for (int ix = 0; ix < candidate.length() && canMatch(row); ix += 1) {
+                row = step(row, candidate.charAt(ix));
+            }
+            int distance = distance(row);
+            if (distance <= this.maxDistance) {
+                byDistance.get(distance).add(candidate);
+            }
+        }
+        return nearest(byDistance, limit);
+    }
+
+    private List<List<String>> newByDistance() {
+        List<List<String>> byDistance = new ArrayList<>();
+        for (int distance = 0; distance <= this.maxDistance; distance += 1) {
+            byDistance.add(new ArrayList<>());
+        }
+        return byDistance;
+    }
+
+    /*
+     * The first `limit` words by distance, distance 0 (the word itself) left out.
+     */
+    private List<String> nearest(List<List<String>> byDistance, int limit) {
+        List<String> found = new ArrayList<>();
+        for (int distance = 1; distance <= this.maxDistance && found.size() < limit; distance += 1) {
+            List<String> words = byDistance.get(distance);
+            found.addAll(words.subList(0, Math.min(words.size(), limit - found.size())));
+        }
+        return found;
+    }
+
+    private void find(WordTrie trie, int node, int depth, int[] row, List<List<String>> byDistance) {
+        int distance = distance(row);
+        if (distance <= this.maxDistance) {
+            String found = trie.word(node, depth);
+            if (found != null) {
+                byDistance.get(distance).add(found);
+            }
+        }
+        // words below are too short to come within reach
+        if (trie.maxLength(node) + this.maxDistance < this.word.length()) {
+            return;
+        }
+        for (int child = trie.childStart(node); child < trie.childEnd(node); child += 1) {
+            int[] next = step(row, trie.label(child));
+            if (canMatch(next)) {
+                find(trie, child, depth + 1, next, byDistance);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,190 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+/**
+ * Thread-safe map keyed by primitive `long`, without boxing the keys.
+ *
+ * Keys are spread over independently locked segments. Each segment is an
+ * open-addressing table with linear probing, so a lookup touches two
+ * arrays and no per-entry objects. Key 0 is reserved as the empty marker.
+ *
+ * @param <V>  The value type.
+ */
+public class LongKeyMap<V> {
+
+    private static final int SEGMENTS = 64;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Segment[] segments;
+
+    public LongKeyMap() {
+        this.segments = new Segment[SEGMENTS];
+        for (int ix = 0; ix < SEGMENTS; ix += 1) {
+            this.segments[ix] = new Segment();
+        }
+    }
+
+    private static long mix(long key) {
+        // from MurmurHash3 fmix64
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private Segment segmentFor(long hash) {
+        return this.segments[(int) (hash >>> 58) & (SEGMENTS - 1)];
+    }
+
+    private static void checkKey(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("key must not be 0");
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        if (key == 0) {
+            return null;
+        }
+        long hash = mix(key);
+        return (V) segmentFor(hash).get(key, hash);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(long key, V value) {
+        checkKey(key);
+        long hash = mix(key);
+        return (V) segmentFor(hash).put(key, hash, value, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(long key, V value) {
+        checkKey(key);
+        long hash = mix(key);
+        return (V) segmentFor(hash).put(key, hash, value, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        if (key == 0) {
+            return null;
+        }
+        long hash = mix(key);
+        return (V) segmentFor(hash).remove(key, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : this.segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    private static final class Segment {
+
+        private long[] keys = new long[INITIAL_CAPACITY];
+
+        private Object[] values = new Object[INITIAL_CAPACITY];
+
+        private int size;
+
+        synchronized Object get(long key, long hash) {
+            int mask = this.keys.length - 1;
+            for (int pos = (int) hash & mask; this.keys[pos] != 0; pos = (pos + 1) & mask) {
+                if (this.keys[pos] == key) {
+                    return this.values[pos];
+                }
+            }
+            return null;
+        }
+
+        synchronized Object put(long key, long hash, Object value, boolean onlyIfAbsent) {
+            int mask = this.keys.length - 1;
+            int pos = (int) hash & mask;
+            for (; this.keys[pos] != 0; pos = (pos + 1) & mask) {
+                if (this.keys[pos] == key) {
+                    Object prev = this.values[pos];
+                    if (! onlyIfAbsent) {
+                        this.values[pos] = value;
+                    }
+                    return prev;
+                }
+            }
+            this.keys[pos] = key;
+            this.values[pos] = value;
+            this.size += 1;
+            if (this.size * 2 > this.keys.length) {
+                resize();
+            }
+            return null;
+        }
+
+        synchronized Object remove(long key, long hash) {
+            int mask = this.keys.length - 1;
+            int pos = (int) hash & mask;
+            for (; this.keys[pos] != 0; pos = (pos + 1) & mask) {
+                if (this.keys[pos] == key) {
+                    Object prev = this.values[pos];
+                    shiftBack(pos);
+                    this.size -= 1;
+                    return prev;
+                }
+            }
+            return null;
+        }
+
+        synchronized int size() {
+            return this.size;
+        }
+
+        /*
+         * Backward-shift deletion: moves later entries of the probe run
+         * into the hole, so no tombstones are needed.
+         */
+        private void shiftBack(int hole) {
+            int mask = this.keys.length - 1;
+            int pos = hole;
+            while (true) {
+                pos = (pos + 1) & mask;
+                long key = this.keys[pos];
+                if (key == 0) {
+                    break;
+                }
+                int home = (int) mix(key) & mask;
+                // move when `home` is not cyclically within (hole, pos]
+                if (((pos - home) & mask) >= ((pos - hole) & mask)) {
+                    this.keys[hole] = key;
+                    this.values[hole] = this.values[pos];
+                    hole = pos;
+                }
+            }
+            this.keys[hole] = 0;
+            this.values[hole] = null;
+        }
+
+        private void resize() {
+            long[] oldKeys = this.keys;
+            Object[] oldValues = this.values;
+            this.keys = new long[oldKeys.length * 2];
+            this.values = new Object[oldValues.length * 2];
+            int mask = this.keys.length - 1;
+            for (int ix = 0; ix < oldKeys.length; ix += 1) {
+                long key = oldKeys[ix];
+                if (key != 0) {
+                    int pos = (int) mix(key) & mask;
+                    while (this.keys[pos] != 0) {
+                        pos = (pos + 1) & mask;
+                    }
+                    this.keys[pos] = key;
+                    this.values[pos] = oldValues[ix];
+                }
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,440 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+import io.micrometer.core.annotation.Timed;
+
+/**
+ * Engine over the sorted word list alone, without indexes: exact and
+ * prefix lookups are binary searches, every other query scans the words.
+ *
+ * Uses the least memory and the most time per query. It is the baseline
+ * to compare other engines against, side by side in the same deployment
+ * metrics, selected with `jumble.engine.type=naive`.
+ */
+public class NaiveJumbleEngine implements JumbleEngine, JumbleEngineMetrics {
+
+    private final String[] words;
+
+    private final LetterValues letterValues;
+
+    private final long indexBytes;
+
+    /*
+     * Runs the phrase searches, as in DefaultJumbleEngine.
+     */
+    private final ForkJoinPool solverPool = DefaultJumbleEngine.newSolverPool("jumble-naive-solver-");
+
+    /**
+     * Creates an engine over the words of `source`, scoring words with
+     * `letterValues`.
+     *
+     * @param source  The word list.
+     * @param letterValues  The points of each letter.
+     */
+    public NaiveJumbleEngine(DictionarySource source, LetterValues letterValues) {
+        DictionaryLoadEvent event = new DictionaryLoadEvent();
+        event.begin();
+        this.words = source.load();
+        this.letterValues = letterValues;
+        // per word, the String and its byte[], and a slot in the array
+        long bytes = 16 + 4L * this.words.length;
+        for (String word : this.words) {
+            bytes += 24 + ((16 + word.length() + 7) & ~7);
+        }
+        this.indexBytes = bytes;
+        if (event.shouldCommit()) {
+            event.words = this.words.length;
+            event.indexBytes = this.indexBytes;
+            event.commit();
+        }
+    }
+
+    /*
+     * Whether `word` is made of the letters of `counts`, a run out letter
+     * taking one of the `blanks`.
+     */
+    private static boolean isMadeOf(String word, int[] counts, int blanks) {
+        int[] left = counts.clone();
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            int letter = word.charAt(ix) - 'a';
+            if (left[letter] > 0) {
+                left[letter] -= 1;
+            } else if (blanks > 0) {
+                blanks -= 1;
+            } else {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * Words made of the letters of a normalized seed, `?` for a blank; as
+     * SubWordFinder finds them when the seed itself is excluded, and as
+     * ScoreIndex walks them when it is not.
+     */
+    private List<String> findSubWords(String seed, int minLength, boolean withSeed) {
+        int[] counts = new int[26];
+        int blanks = 0;
+        for (int ix = 0; ix < seed.length(); ix += 1) {
+            char ch = seed.charAt(ix);
+            if (ch == '?') {
+                blanks += 1;
+            } else {
+                counts[ch - 'a'] += 1;
+            }
+        }
+        List<String> found = new ArrayList<>();
+        for (String word : this.words) {
+            if (word.length() >= minLength && word.length() <= seed.length()
+                    && (withSeed || ! word.equals(seed)) && isMadeOf(word, counts, blanks)) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    /*
+     * Same as DefaultJumbleEngine#prefixRange.
+     */
+    private int[] prefixRange(String prefix) {
+        int from = Arrays.binarySearch(this.words, prefix);
+        if (from < 0) {
+            from = -from - 1;
+        }
+        int to = -Arrays.binarySearch(this.words, prefix + '{') - 1;
+        return new int[] { from, to };
+    }
+
+    @Override
+    public int getWordCount() {
+        return this.words.length;
+    }
+
+    @Override
+    public long getIndexBytes() {
+        return this.indexBytes;
+    }
+
+    @Override
+    public int getSolverQueuedCount() {
+        return this.solverPool.getQueuedSubmissionCount();
+    }
+
+    @Override
+    public int getSolverActiveCount() {
+        return this.solverPool.getActiveThreadCount();
+    }
+
+    @Override
+    public void close() {
+        this.solverPool.shutdown();
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public String scramble(String word) {
+        return DefaultJumbleEngine.shuffle(word);
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> retrievePalindromeWords() {
+        List<String> palindromes = new ArrayList<>();
+        for (String word : this.words) {
+            if (word.length() > 1 && DefaultJumbleEngine.isPalindrome(word)) {
+                palindromes.add(word);
+            }
+        }
+        return palindromes;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public String pickOneRandomWord(Integer length) {
+        if (length == null) {
+            return this.words.length == 0 ? null : this.words[ThreadLocalRandom.current().nextInt(this.words.length)];
+        }
+        int count = 0;
+        for (String word : this.words) {
+            count += word.length() == length ? 1 : 0;
+        }
+        if (count == 0) {
+            return null;
+        }
+        int pick = ThreadLocalRandom.current().nextInt(count);
+        for (String word : this.words) {
+            if (word.length() == length && pick-- == 0) {
+                return word;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public boolean exists(String word) {
+        String key = DefaultJumbleEngine.normalize(word);
+        return key != null && Arrays.binarySearch(this.words, key) >= 0;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> wordsMatchingPrefix(String prefix) {
+        String key = DefaultJumbleEngine.normalize(prefix);
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        int[] range = prefixRange(key);
+        return new ArrayList<>(Arrays.asList(this.words).subList(range[0], range[1]));
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public int countWordsMatchingPrefix(String prefix) {
+        String key = DefaultJumbleEngine.normalize(prefix);
+        if (key == null) {
+            return 0;
+        }
+        int[] range = prefixRange(key);
+        return range[1] - range[0];
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> anagrams(String letters) {
+        String key = DefaultJumbleEngine.normalize(letters);
+        if (key == null) {
+            return Collections.emptyList();
+        }
+        String signature = DefaultJumbleEngine.signature(key);
+        List<String> found = new ArrayList<>();
+        for (String word : this.words) {
+            if (word.length() == key.length() && DefaultJumbleEngine.signature(word).equals(signature)) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public CompletableFuture<List<String>> phraseAnagrams(String letters, Integer minLength, int limit, Duration timeout) {
+        String key = DefaultJumbleEngine.phraseLetters(letters, minLength, limit, timeout);
+        if (key == null) {
+            return CompletableFuture.completedFuture(new ArrayList<>());
+        }
+        // the words that fit the letters, grouped by signature for the solver
+        int[] counts = DefaultJumbleEngine.letterCounts(key);
+        Map<String, List<String>> bySignature = new HashMap<>();
+        for (String word : this.words) {
+            if (word.length() <= key.length() && isMadeOf(word, counts, 0)) {
+                bySignature.computeIfAbsent(DefaultJumbleEngine.signature(word), sig -> new ArrayList<>(1)).add(word);
+            }
+        }
+        CompletableFuture<List<String>> future = new CompletableFuture<>();
+        new PhraseAnagramSolver(bySignature, key, minLength == null ? 3 : minLength, limit,
+                System.nanoTime() + timeout.toNanos(), future).solve(this.solverPool);
+        return future;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> wordsMatchingPattern(String pattern) {
+        WildcardPattern compiled = WildcardPattern.compile(pattern);
+        if (compiled == null) {
+            return Collections.emptyList();
+        }
+        List<String> found = new ArrayList<>();
+        for (String word : this.words) {
+            if (compiled.matches(word)) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public int countWordsMatchingPattern(String pattern) {
+        return wordsMatchingPattern(pattern).size();
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> wordsMatchingRegex(String regex) {
+        List<String> found = new ArrayList<>();
+        RegexAutomaton.compile(regex).visit(this.words, found::add);
+        return found;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> searchWords(Character startChar, Character endChar, Integer length) {
+        return find(DefaultJumbleEngine.PositionQuery.of(startChar, endChar, length));
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public int countSearchWords(Character startChar, Character endChar, Integer length) {
+        return find(DefaultJumbleEngine.PositionQuery.of(startChar, endChar, length)).size();
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> searchWords(Integer length, Map<Integer, Character> letters) {
+        return find(DefaultJumbleEngine.PositionQuery.of(length, letters));
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public int countSearchWords(Integer length, Map<Integer, Character> letters) {
+        return find(DefaultJumbleEngine.PositionQuery.of(length, letters)).size();
+    }
+
+    private List<String> find(DefaultJumbleEngine.PositionQuery query) {
+        List<String> found = new ArrayList<>();
+        if (query == null) {
+            return found;
+        }
+        for (String word : this.words) {
+            if (query.matches(word)) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> suggestWords(String word, int maxDistance, int limit) {
+        if (maxDistance < 1 || maxDistance > 2) {
+            throw new IllegalArgumentException("Invalid maxDistance=[" + maxDistance + "], expect 1 or 2");
+        }
+        if (limit < 0) {
+            throw new IllegalArgumentException("Invalid limit=[" + limit + "], expect zero or positive integer");
+        }
+        String key = DefaultJumbleEngine.normalize(word);
+        if (key == null || limit == 0) {
+            return Collections.emptyList();
+        }
+        return new LevenshteinAutomaton(key, maxDistance).find(this.words, limit);
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> generateSubWords(String word, Integer minLength) {
+        String seed = DefaultJumbleEngine.normalize(word);
+        if (seed == null) {
+            return Collections.emptyList();
+        }
+        if (minLength == null) {
+            minLength = 3;
+        } else if (minLength <= 0) {
+            return Collections.emptyList();
+        }
+        if (seed.length() < minLength) {
+            return Collections.emptyList();
+        }
+        SubWordsEvent event = new SubWordsEvent();
+        event.begin();
+        List<String> subWords = findSubWords(seed, minLength, false);
+        if (event.shouldCommit()) {
+            event.word = seed;
+            event.wordLength = seed.length();
+            event.minLength = minLength;
+            event.count = subWords.size();
+            event.commit();
+        }
+        return subWords;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public int countSubWords(String word, Integer minLength) {
+        return generateSubWords(word, minLength).size();
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public Collection<String> generateSubWordsWithBlanks(String rack, Integer minLength) {
+        String seed = DefaultJumbleEngine.normalizeRack(rack);
+        if (seed == null) {
+            return Collections.emptyList();
+        }
+        if (minLength == null) {
+            minLength = 3;
+        } else if (minLength <= 0) {
+            return Collections.emptyList();
+        }
+        if (seed.length() < minLength) {
+            return Collections.emptyList();
+        }
+        return findSubWords(seed, minLength, false);
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public List<ScoredWord> bestWords(String rack, Integer minLength, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Invalid limit=[" + limit + "], expect zero or positive integer");
+        }
+        String seed = DefaultJumbleEngine.normalizeRack(rack);
+        if (seed == null || limit == 0) {
+            return Collections.emptyList();
+        }
+        if (minLength == null) {
+            minLength = 3;
+        } else if (minLength <= 0) {
+            return Collections.emptyList();
+        }
+        List<ScoredWord> scored = new ArrayList<>();
+        for (String word : findSubWords(seed, minLength, true)) {
+            scored.add(new ScoredWord(word, score(word, seed)));
+        }
+        scored.sort(ScoreIndex.BEST_FIRST);
+        return new ArrayList<>(scored.subList(0, Math.min(limit, scored.size())));
+    }
+
+    /*
+     * The points of `word` played from `rack`, the letters played by blanks
+     * scoring none; as in ScoreIndex, a blank plays a letter only once the
+     * rack has run out of it.
+     */
+    private int score(String word, String rack) {
+        int[] counts = new int[26];
+        for (int ix = 0; ix < rack.length(); ix += 1) {
+            char ch = rack.charAt(ix);
+            if (ch != '?') {
+                counts[ch - 'a'] += 1;
+            }
+        }
+        int score = 0;
+        for (int ix = 0; ix < word.length(); ix += 1) {
+            char ch = word.charAt(ix);
+            if (counts[ch - 'a'] > 0) {
+                counts[ch - 'a'] -= 1;
+                score += this.letterValues.value(ch);
+            }
+        }
+        return score;
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public GameState createGameState(Integer length, Integer minLength) {
+        return createGameState(length, minLength, 0);
+    }
+
+    @Override
+    @Timed(value = DefaultJumbleEngine.TIMER, histogram = true)
+    public GameState createGameState(Integer length, Integer minLength, Integer blanks) {
+        return DefaultJumbleEngine.newGameState(this, length, minLength, blanks);
+    }
+
+}
@@ -0,0 +1,325 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Phrase anagrams: combinations of words which together use exactly the
+ * given letters, as in "dirty room" for "dormitory".
+ *
+ * The search runs over signatures (sorted letters, see
+ * DefaultJumbleEngine#signature) rather than words, so anagram words are
+ * explored once and only expanded when a phrase is complete. Signatures
+ * are picked in candidate order, repeats allowed, so each combination is
+ * found once and not once per permutation. At every step the candidates
+ * are narrowed to those fitting the remaining letter counts, and a branch
+ * is dropped when the narrowed candidates no longer cover every remaining
+ * letter.
+ *
+ * Each choice of first word is a fork/join task. The search stops at the
+ * phrase limit, at the deadline, or when the result future is cancelled;
+ * the phrases found so far are the result.
+ */
+final class PhraseAnagramSolver {
+
+    /*
+     * Beyond this, the number of combinations explodes even with pruning.
+     */
+    static final int MAX_LETTERS = 20;
+
+    /*
+     * How many search steps between deadline checks.
+     */
+    private static final int CHECK_INTERVAL = 1 << 10;
+
+    private final Map<String, List<String>> anagramsBySignature;
+
+    private final String letters;
+
+    private final int minLength;
+
+    private final int limit;
+
+    private final long deadline;
+
+    private final CompletableFuture<List<String>> future;
+
+    /*
+     * Candidate signatures, longest first, with their letter counts and
+     * the mask of letters they use.
+     */
+    private String[] signatures;
+
+    private byte[][] counts;
+
+    private int[] masks;
+
+    private final ConcurrentLinkedQueue<String> found = new ConcurrentLinkedQueue<>();
+
+    private final AtomicInteger reserved = new AtomicInteger();
+
+    private volatile boolean stopped;
+
+    /**
+     * @param anagramsBySignature  The words of the word list by signature.
+     * @param letters  The letters, normalized.
+     * @param minLength  The minimum length of each word.
+     * @param limit  The most phrases to find.
+     * @param deadline  When to stop, in System.nanoTime().
+     * @param future  Completed with the sorted phrases; cancelling it
+     *                stops the search.
+     */
+    PhraseAnagramSolver(Map<String, List<String>> anagramsBySignature,
+            String letters, int minLength, int limit, long deadline,
+            CompletableFuture<List<String>> future) {
+        this.anagramsBySignature = anagramsBySignature;
+        this.letters = letters;
+        this.minLength = minLength;
+        this.limit = limit;
+        this.deadline = deadline;
+        this.future = future;
+    }
+
+    /**
+     * Starts the search on `pool`, and returns at once.
+     *
+     * @param pool  The pool to run the search on.
+     */
+    void solve(ForkJoinPool pool) {
+        pool.execute(new RootTask(this));
+    }
+
+    private void candidates(int[] letterCounts) {
+        List<String> fitting = new ArrayList<>();
+        for (String signature : this.anagramsBySignature.keySet()) {
+            if (signature.length() >= this.minLength && signature.length() <= this.letters.length()
+                    && fits(DefaultJumbleEngine.letterCounts(signature), letterCounts)) {
+                fitting.add(signature);
+            }
+        }
+        // longer words leave fewer letters, so their subtrees are small
+        fitting.sort(Comparator.comparingInt(String::length).reversed().thenComparing(Comparator.naturalOrder()));
+        this.signatures = fitting.toArray(new String[0]);
+        this.counts = new byte[this.signatures.length][26];
+        this.masks = new int[this.signatures.length];
+        for (int ix = 0; ix < this.signatures.length; ix += 1) {
+            String signature = this.signatures[ix];
+            for (int jx = 0; jx < signature.length(); jx += 1) {
+                int letter = signature.charAt(jx) - 'a';
+                this.counts[ix][letter] += 1;
+                this.masks[ix] |= 1 << letter;
+            }
+        }
+    }
+
+    private static boolean fits(int[] counts, int[] remaining) {
+        for (int letter = 0; letter < 26; letter += 1) {
+            if (counts[letter] > remaining[letter]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean fits(int candidate, int[] remaining) {
+        byte[] need = this.counts[candidate];
+        for (int letter = 0; letter < 26; letter += 1) {
+            if (need[letter] > remaining[letter]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mask(int[] remaining) {
+        int mask = 0;
+        for (int letter = 0; letter < 26; letter += 1) {
+            if (remaining[letter] > 0) {
+                mask |= 1 << letter;
+            }
+        }
+        return mask;
+    }
+
+    private void take(int candidate, int[] remaining, int sign) {
+        byte[] need = this.counts[candidate];
+        for (int letter = 0; letter < 26; letter += 1) {
+            remaining[letter] -= sign * need[letter];
+        }
+    }
+
+    private boolean isStopped() {
+        if (! this.stopped && (this.future.isDone() || System.nanoTime() - this.deadline > 0)) {
+            this.stopped = true;
+        }
+        return this.stopped;
+    }
+
+    /*
+     * Depth first search of one first-word choice, on one thread.
+     */
+    private final class Search {
+
+        private final int[] remaining;
+
+        private final int[] path = new int[MAX_LETTERS];
+
+        private final int[] wordIndexes = new int[MAX_LETTERS];
+
+        private final String[] words = new String[MAX_LETTERS];
+
+        private int steps;
+
+        Search(int[] remaining) {
+            this.remaining = remaining;
+        }
+
+        /*
+         * Extends the phrase at `depth` with candidates[from, to), each
+         * fitting the remaining letters; `left` letters remain.
+         */
+        void search(int depth, int left, int[] candidates, int from, int to) {
+            if (left == 0) {
+                expand(depth, 0);
+                return;
+            }
+            if ((this.steps++ & (CHECK_INTERVAL - 1)) == 0 ? isStopped() : stopped) {
+                return;
+            }
+            int[] next = new int[to - from];
+            int count = 0;
+            int cover = 0;
+            for (int ix = from; ix < to; ix += 1) {
+                int candidate = candidates[ix];
+                if (signatures[candidate].length() <= left && fits(candidate, this.remaining)) {
+                    next[count++] = candidate;
+                    cover |= masks[candidate];
+                }
+            }
+            // some remaining letter is in no candidate
+            int needed = mask(this.remaining);
+            if ((cover & needed) != needed) {
+                return;
+            }
+            for (int ix = 0; ix < count && ! stopped; ix += 1) {
+                visit(depth, left, next, ix, count);
+            }
+        }
+
+        void visit(int depth, int left, int[] candidates, int ix, int to) {
+            int candidate = candidates[ix];
+            take(candidate, this.remaining, 1);
+            this.path[depth] = candidate;
+            // from `ix`, not `ix + 1`: a word may repeat
+            search(depth + 1, left - signatures[candidate].length(), candidates, ix, to);
+            take(candidate, this.remaining, -1);
+        }
+
+        /*
+         * Emits every phrase of the signatures in path[0, depth), picking
+         * the word of each. A repeated signature picks its words in order,
+         * so "tar tar" and "rat tar" come out once, not "tar rat" again.
+         */
+        void expand(int depth, int ix) {
+            if (stopped) {
+                return;
+            }
+            if (ix == depth) {
+                emit(depth);
+                return;
+            }
+            List<String> group = anagramsBySignature.get(signatures[this.path[ix]]);
+            int first = (ix > 0 && this.path[ix] == this.path[ix - 1]) ? this.wordIndexes[ix - 1] : 0;
+            for (int wx = first; wx < group.size(); wx += 1) {
+                this.wordIndexes[ix] = wx;
+                this.words[ix] = group.get(wx);
+                expand(depth, ix + 1);
+            }
+        }
+
+        void emit(int depth) {
+            if (reserved.incrementAndGet() > limit) {
+                stopped = true;
+                return;
+            }
+            String[] phrase = Arrays.copyOf(this.words, depth);
+            Arrays.sort(phrase);
+            found.add(String.join(" ", phrase));
+        }
+
+    }
+
+    private static final class RootTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient PhraseAnagramSolver solver;
+
+        RootTask(PhraseAnagramSolver solver) {
+            this.solver = solver;
+        }
+
+        @Override
+        protected void compute() {
+            try {
+                int[] letterCounts = DefaultJumbleEngine.letterCounts(this.solver.letters);
+                this.solver.candidates(letterCounts);
+                int[] all = new int[this.solver.signatures.length];
+                for (int ix = 0; ix < all.length; ix += 1) {
+                    all[ix] = ix;
+                }
+                List<FirstWordTask> tasks = new ArrayList<>(all.length);
+                for (int ix = 0; ix < all.length; ix += 1) {
+                    tasks.add(new FirstWordTask(this.solver, letterCounts, all, ix));
+                }
+                invokeAll(tasks);
+                List<String> phrases = new ArrayList<>(this.solver.found);
+                Collections.sort(phrases);
+                this.solver.future.complete(phrases);
+            } catch (RuntimeException | Error e) {
+                this.solver.future.completeExceptionally(e);
+            }
+        }
+
+    }
+
+    private static final class FirstWordTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient PhraseAnagramSolver solver;
+
+        private final int[] letterCounts;
+
+        private final int[] candidates;
+
+        private final int first;
+
+        FirstWordTask(PhraseAnagramSolver solver, int[] letterCounts, int[] candidates, int first) {
+            this.solver = solver;
+            this.letterCounts = letterCounts;
+            this.candidates = candidates;
+            this.first = first;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.solver.isStopped()) {
+                return;
+            }
+            Search search = this.solver.new Search(this.letterCounts.clone());
+            search.visit(0, this.solver.letters.length(), this.candidates, this.first, this.candidates.length);
+        }
+
+    }
+
+}
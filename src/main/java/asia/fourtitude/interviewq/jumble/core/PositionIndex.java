@@ -0,0 +1,176 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.roaringbitmap.RoaringBitmap;
+
+/**
+ * Inverted index of letter positions, for crossword style queries such
+ * as "length 7, 3rd letter 'a', 6th letter 'e'".
+ *
+ * Holds a compressed (Roaring) bitmap of word positions in the sorted
+ * word list per word length, per (position, letter) counting from the
+ * first letter, and per (position, letter) counting from the last letter.
+ * A query intersects the bitmaps of its constraints, smallest first, and
+ * the bits of the result come out in word order, so results are sorted.
+ */
+final class PositionIndex {
+
+    private final String[] words;
+
+    private final RoaringBitmap[] byLength;
+
+    /*
+     * [position - 1][letter - 'a'], position 1 being the first letter.
+     */
+    private final RoaringBitmap[][] fromStart;
+
+    /*
+     * [position - 1][letter - 'a'], position 1 being the last letter.
+     */
+    private final RoaringBitmap[][] fromEnd;
+
+    PositionIndex(String[] sortedWords) {
+        this.words = sortedWords;
+        int maxLength = 0;
+        for (String word : sortedWords) {
+            maxLength = Math.max(maxLength, word.length());
+        }
+        this.byLength = new RoaringBitmap[maxLength + 1];
+        this.fromStart = new RoaringBitmap[maxLength][26];
+        this.fromEnd = new RoaringBitmap[maxLength][26];
+        for (int ix = 0; ix < sortedWords.length; ix += 1) {
+            // ids are added in increasing order, which appends to the bitmaps
+            String word = sortedWords[ix];
+            int length = word.length();
+            bitmap(this.byLength, length).add(ix);
+            for (int pos = 0; pos < length; pos += 1) {
+                bitmap(this.fromStart[pos], word.charAt(pos) - 'a').add(ix);
+                bitmap(this.fromEnd[pos], word.charAt(length - 1 - pos) - 'a').add(ix);
+            }
+        }
+        runOptimize(this.byLength);
+        for (int pos = 0; pos < maxLength; pos += 1) {
+            runOptimize(this.fromStart[pos]);
+            runOptimize(this.fromEnd[pos]);
+        }
+    }
+
+    private static RoaringBitmap bitmap(RoaringBitmap[] bitmaps, int ix) {
+        if (bitmaps[ix] == null) {
+            bitmaps[ix] = new RoaringBitmap();
+        }
+        return bitmaps[ix];
+    }
+
+    private static void runOptimize(RoaringBitmap[] bitmaps) {
+        for (RoaringBitmap bitmap : bitmaps) {
+            if (bitmap != null) {
+                bitmap.runOptimize();
+            }
+        }
+    }
+
+    long bytes() {
+        long bytes = sizeOf(this.byLength);
+        for (int pos = 0; pos < this.fromStart.length; pos += 1) {
+            bytes += sizeOf(this.fromStart[pos]) + sizeOf(this.fromEnd[pos]);
+        }
+        return bytes;
+    }
+
+    private static long sizeOf(RoaringBitmap[] bitmaps) {
+        long bytes = 16 + 4L * bitmaps.length;
+        for (RoaringBitmap bitmap : bitmaps) {
+            if (bitmap != null) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Finds the words matching every constraint.
+     *
+     * @param length  The word length, or 0 for any length.
+     * @param positions  Letter positions: 1 for the first letter, 2 for the
+     *                   second, ..., -1 for the last letter, -2 for the one
+     *                   before it, ... Never 0.
+     * @param letters  The letter, 'a' to 'z', at each of `positions`.
+     * @return  The sorted words.
+     */
+    List<String> find(int length, int[] positions, char[] letters) {
+        List<RoaringBitmap> bitmaps = bitmaps(length, positions, letters);
+        if (bitmaps == null) {
+            return new ArrayList<>();
+        }
+        if (bitmaps.isEmpty()) {
+            return new ArrayList<>(Arrays.asList(this.words));
+        }
+        RoaringBitmap result = bitmaps.get(0);
+        for (int ix = 1; ix < bitmaps.size() && ! result.isEmpty(); ix += 1) {
+            result = RoaringBitmap.and(result, bitmaps.get(ix));
+        }
+        List<String> found = new ArrayList<>(result.getCardinality());
+        result.forEach((int id) -> found.add(this.words[id]));
+        return found;
+    }
+
+    /**
+     * Counts the words matching every constraint, as {@link #find} with
+     * the same arguments would find, without listing them.
+     *
+     * @param length  The word length, or 0 for any length.
+     * @param positions  Letter positions, as in {@link #find}.
+     * @param letters  The letter, 'a' to 'z', at each of `positions`.
+     * @return  The number of words.
+     */
+    int count(int length, int[] positions, char[] letters) {
+        List<RoaringBitmap> bitmaps = bitmaps(length, positions, letters);
+        if (bitmaps == null) {
+            return 0;
+        }
+        if (bitmaps.isEmpty()) {
+            return this.words.length;
+        }
+        int last = bitmaps.size() - 1;
+        RoaringBitmap result = bitmaps.get(0);
+        for (int ix = 1; ix < last && ! result.isEmpty(); ix += 1) {
+            result = RoaringBitmap.and(result, bitmaps.get(ix));
+        }
+        // the last intersection is only counted, not built
+        return last == 0 ? result.getCardinality() : RoaringBitmap.andCardinality(result, bitmaps.get(last));
+    }
+
+    /*
+     * The bitmaps of the constraints, smallest first, so intermediate
+     * results stay small; or null when a constraint matches no word.
+     */
+    private List<RoaringBitmap> bitmaps(int length, int[] positions, char[] letters) {
+        List<RoaringBitmap> bitmaps = new ArrayList<>(positions.length + 1);
+        if (length > 0) {
+            if (length >= this.byLength.length || this.byLength[length] == null) {
+                return null;
+            }
+            bitmaps.add(this.byLength[length]);
+        }
+        for (int ix = 0; ix < positions.length; ix += 1) {
+            int pos = Math.abs(positions[ix]);
+            if (pos > this.fromStart.length) {
+                return null;
+            }
+            RoaringBitmap[] byLetter = positions[ix] > 0 ? this.fromStart[pos - 1] : this.fromEnd[pos - 1];
+            RoaringBitmap bitmap = byLetter[letters[ix] - 'a'];
+            if (bitmap == null) {
+                return null;
+            }
+            bitmaps.add(bitmap);
+        }
+        bitmaps.sort(Comparator.comparingInt(RoaringBitmap::getCardinality));
+        return bitmaps;
+    }
+
+}
@@ -0,0 +1,556 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Regular expression over letters 'a' to 'z', matched against whole words
+ * by intersecting its automaton with the trie.
+ *
+ * Supported syntax: letters, `.`, classes such as `[aeiou]`, `[a-m]` and
+ * `[^xyz]`, groups `(...)`, alternation `|`, and the quantifiers `*`, `+`,
+ * `?`, `{n}`, `{n,}` and `{n,m}`. A leading `^` and trailing `$` are
+ * allowed, and ignored, as the whole word is always matched. Matching is
+ * case insensitive.
+ *
+ * The expression is compiled to an NFA (Thompson construction). DFA states,
+ * sets of NFA states, are built lazily during a depth first walk of the
+ * trie, so only the prefixes that can still match are explored, and words
+ * come out in sorted order. Each walk has a work budget: DFA states, and
+ * steps (trie edges followed plus NFA states visited while building DFA
+ * states). When a budget runs out, the walk stops with an
+ * IllegalArgumentException, so that a pathological expression cannot hold
+ * a request thread.
+ */
+final class RegexAutomaton {
+
+    static final int MAX_REGEX_LENGTH = 256;
+
+    static final int MAX_NFA_STATES = 2_000;
+
+    static final int MAX_DFA_STATES = 5_000;
+
+    static final int MAX_STEPS = 2_000_000;
+
+    private static final int ALL_LETTERS = (1 << 26) - 1;
+
+    private static final int UNKNOWN = -2;
+
+    private static final int DEAD = -1;
+
+    private final String regex;
+
+    /*
+     * NFA, in parallel arrays: a state with a letter mask moves to out1 on
+     * those letters; a state without (mask 0) moves to out1 and out2 on no
+     * letter. -1 is no state.
+     */
+    private final int[] masks;
+
+    private final int[] out1;
+
+    private final int[] out2;
+
+    private final int start;
+
+    private final int accept;
+
+    private final int maxStates;
+
+    private final int maxSteps;
+
+    /*
+     * Lazily built DFA, reset at the start of each walk.
+     */
+    private final Map<BitSet, Integer> dfaIds = new HashMap<>();
+
+    private final List<BitSet> dfaStates = new ArrayList<>();
+
+    private final List<int[]> dfaMoves = new ArrayList<>();
+
+    private int steps;
+
+    private RegexAutomaton(String regex, Nfa nfa, int maxStates, int maxSteps) {
+        this.regex = regex;
+        this.masks = Arrays.copyOf(nfa.masks, nfa.size);
+        this.out1 = Arrays.copyOf(nfa.out1, nfa.size);
+        this.out2 = Arrays.copyOf(nfa.out2, nfa.size);
+        this.start = nfa.start;
+        this.accept = nfa.accept;
+        this.maxStates = maxStates;
+        this.maxSteps = maxSteps;
+    }
+
+    /**
+     * @param regex  The regular expression.
+     * @return  The automaton, with the default budgets.
+     * @throws IllegalArgumentException  When `regex` is blank, invalid, or too large.
+     */
+    static RegexAutomaton compile(String regex) {
+        return compile(regex, MAX_DFA_STATES, MAX_STEPS);
+    }
+
+    static RegexAutomaton compile(String regex, int maxStates, int maxSteps) {
+        if (regex == null || regex.trim().isEmpty()) {
+            throw new IllegalArgumentException("Invalid regex=[" + regex + "], expect non blank");
+        }
+        String text = regex.trim().toLowerCase(Locale.ROOT);
+        if (text.length() > MAX_REGEX_LENGTH) {
+            throw new IllegalArgumentException("Invalid regex=[" + regex + "], expect at most "
+                    + MAX_REGEX_LENGTH + " characters");
+        }
+        Node root = new Parser(regex, text).parse();
+        Nfa nfa = new Nfa(regex);
+        int[] frag = nfa.build(root);
+        nfa.start = frag[0];
+        nfa.accept = frag[1];
+        return new RegexAutomaton(regex, nfa, maxStates, maxSteps);
+    }
+
+    /**
+     * Walks `trie`, passing each matching word to `consumer`, in sorted order.
+     *
+     * @param trie  The trie of the word list.
+     * @param consumer  Receives the words.
+     * @throws IllegalArgumentException  When the walk runs out of budget.
+     */
+    void visit(WordTrie trie, Consumer<String> consumer) {
+        this.dfaIds.clear();
+        this.dfaStates.clear();
+        this.dfaMoves.clear();
+        this.steps = 0;
+        BitSet initial = new BitSet(this.masks.length);
+        addClosure(initial, this.start);
+        visit(trie, WordTrie.ROOT, 0, dfaState(initial), consumer);
+    }
+
+    /**
+     * Scans `words`, passing each matching word to `consumer`, in the
+     * order of `words`. The DFA is shared by the words, so only building
+     * it spends the work budget: a scan is bounded by the word list.
+     *
+     * @param words  The words, normalized.
+     * @param consumer  Receives the words.
+     * @throws IllegalArgumentException  When the DFA runs out of budget.
+     */
+    void visit(String[] words, Consumer<String> consumer) {
+        this.dfaIds.clear();
+        this.dfaStates.clear();
+        this.dfaMoves.clear();
+        this.steps = 0;
+        BitSet initial = new BitSet(this.masks.length);
+        addClosure(initial, this.start);
+        int first = dfaState(initial);
+        for (String word : words) {
+            int state = first;
+            for (int ix = 0; ix < word.length() && state != DEAD; ix += 1) {
+                state = move(state, word.charAt(ix) - 'a');
+            }
+            if (state != DEAD && this.dfaStates.get(state).get(this.accept)) {
+                consumer.accept(word);
+            }
+        }
+    }
+
+    private void visit(WordTrie trie, int node, int depth, int state, Consumer<String> consumer) {
+        if (this.dfaStates.get(state).get(this.accept)) {
+            String word = trie.word(node, depth);
+            if (word != null) {
+                consumer.accept(word);
+            }
+        }
+        for (int child = trie.childStart(node); child < trie.childEnd(node); child += 1) {
+            spend(1);
+            int next = move(state, trie.label(child) - 'a');
+            if (next != DEAD) {
+                visit(trie, child, depth + 1, next, consumer);
+            }
+        }
+    }
+
+    private void spend(int work) {
+        this.steps += work;
+        if (this.steps > this.maxSteps) {
+            throw new IllegalArgumentException("Regex=[" + this.regex + "] exceeds the work budget of "
+                    + this.maxSteps + " steps");
+        }
+    }
+
+    private int move(int state, int letter) {
+        int[] moves = this.dfaMoves.get(state);
+        if (moves[letter] != UNKNOWN) {
+            return moves[letter];
+        }
+        BitSet from = this.dfaStates.get(state);
+        BitSet to = new BitSet(this.masks.length);
+        spend(from.cardinality());
+        for (int nx = from.nextSetBit(0); nx >= 0; nx = from.nextSetBit(nx + 1)) {
+            if ((this.masks[nx] & (1 << letter)) != 0) {
+                addClosure(to, this.out1[nx]);
+            }
+        }
+        int next = to.isEmpty() ? DEAD : dfaState(to);
+        moves[letter] = next;
+        return next;
+    }
+
+    private int dfaState(BitSet nfaStates) {
+        Integer id = this.dfaIds.get(nfaStates);
+        if (id != null) {
+            return id;
+        }
+        if (this.dfaStates.size() >= this.maxStates) {
+            throw new IllegalArgumentException("Regex=[" + this.regex + "] exceeds the work budget of "
+                    + this.maxStates + " automaton states");
+        }
+        int[] moves = new int[26];
+        Arrays.fill(moves, UNKNOWN);
+        this.dfaIds.put(nfaStates, this.dfaStates.size());
+        this.dfaStates.add(nfaStates);
+        this.dfaMoves.add(moves);
+        return this.dfaStates.size() - 1;
+    }
+
+    /*
+     * Adds `state` and the states reachable from it on no letter.
+     */
+    private void addClosure(BitSet states, int state) {
+        if (state < 0 || states.get(state)) {
+            return;
+        }
+        states.set(state);
+        spend(1);
+        if (this.masks[state] == 0) {
+            addClosure(states, this.out1[state]);
+            addClosure(states, this.out2[state]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return this.regex;
+    }
+
+    /*
+     * Syntax tree: a letter set (mask), a sequence, alternatives, or a repeat.
+     */
+    private static final class Node {
+
+        static final int LETTERS = 0;
+
+        static final int SEQUENCE = 1;
+
+        static final int ALTERNATIVES = 2;
+
+        static final int REPEAT = 3;
+
+        final int type;
+
+        final int mask;
+
+        final List<Node> children;
+
+        final int min;
+
+        /*
+         * -1 for no upper bound.
+         */
+        final int max;
+
+        Node(int type, int mask, List<Node> children, int min, int max) {
+            this.type = type;
+            this.mask = mask;
+            this.children = children;
+            this.min = min;
+            this.max = max;
+        }
+
+    }
+
+    /*
+     * Recursive descent: alternatives of sequences of quantified atoms.
+     */
+    private static final class Parser {
+
+        private final String regex;
+
+        private final String text;
+
+        private int pos;
+
+        private int end;
+
+        Parser(String regex, String text) {
+            this.regex = regex;
+            this.text = text;
+            this.pos = text.startsWith("^") ? 1 : 0;
+            this.end = text.length();
+            if (this.end > this.pos && text.charAt(this.end - 1) == '$') {
+                this.end -= 1;
+            }
+        }
+
+        Node parse() {
+            Node node = parseAlternatives();
+            if (this.pos < this.end) {
+                throw error("unexpected '" + this.text.charAt(this.pos) + "'");
+            }
+            return node;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Invalid regex=[" + this.regex + "], " + message
+                    + " at position " + this.pos);
+        }
+
+        private boolean peek(char ch) {
+            return this.pos < this.end && this.text.charAt(this.pos) == ch;
+        }
+
+        private Node parseAlternatives() {
+            List<Node> alternatives = new ArrayList<>();
+            alternatives.add(parseSequence());
+            while (peek('|')) {
+                this.pos += 1;
+                alternatives.add(parseSequence());
+            }
+            return alternatives.size() == 1 ? alternatives.get(0)
+                    : new Node(Node.ALTERNATIVES, 0, alternatives, 0, 0);
+        }
+
+        private Node parseSequence() {
+            List<Node> items = new ArrayList<>();
+            while (this.pos < this.end && ! peek('|') && ! peek(')')) {
+                items.add(parseQuantified(parseAtom()));
+            }
+            return items.size() == 1 ? items.get(0) : new Node(Node.SEQUENCE, 0, items, 0, 0);
+        }
+
+        private Node parseAtom() {
+            char ch = this.text.charAt(this.pos);
+            if (ch >= 'a' && ch <= 'z') {
+                this.pos += 1;
+                return letters(1 << (ch - 'a'));
+            }
+            if (ch == '.') {
+                this.pos += 1;
+                return letters(ALL_LETTERS);
+            }
+            if (ch == '[') {
+                return letters(parseClass());
+            }
+            if (ch == '(') {
+                this.pos += 1;
+                if (this.text.startsWith("?:", this.pos)) {
+                    this.pos += 2;
+                }
+                Node node = parseAlternatives();
+                if (! peek(')')) {
+                    throw error("expect ')'");
+                }
+                this.pos += 1;
+                return node;
+            }
+            throw error("unexpected '" + ch + "'");
+        }
+
+        private int parseClass() {
+            this.pos += 1;
+            boolean negate = peek('^');
+            if (negate) {
+                this.pos += 1;
+            }
+            int mask = 0;
+            while (! peek(']')) {
+                char from = letter();
+                char to = from;
+                if (peek('-')) {
+                    this.pos += 1;
+                    to = letter();
+                    if (to < from) {
+                        throw error("invalid range");
+                    }
+                }
+                for (char ch = from; ch <= to; ch += 1) {
+                    mask |= 1 << (ch - 'a');
+                }
+            }
+            this.pos += 1;
+            return negate ? ALL_LETTERS & ~mask : mask;
+        }
+
+        private char letter() {
+            if (this.pos >= this.end) {
+                throw error("expect ']'");
+            }
+            char ch = this.text.charAt(this.pos);
+            if (ch < 'a' || ch > 'z') {
+                throw error("expect letter");
+            }
+            this.pos += 1;
+            return ch;
+        }
+
+        private Node parseQuantified(Node atom) {
+            Node node = atom;
+            while (this.pos < this.end) {
+                char ch = this.text.charAt(this.pos);
+                if (ch == '*') {
+                    node = repeat(node, 0, -1);
+                } else if (ch == '+') {
+                    node = repeat(node, 1, -1);
+                } else if (ch == '?') {
+                    node = repeat(node, 0, 1);
+                } else if (ch == '{') {
+                    this.pos += 1;
+                    int min = number();
+                    int max = min;
+                    if (peek(',')) {
+                        this.pos += 1;
+                        max = peek('}') ? -1 : number();
+                    }
+                    if (! peek('}') || (max >= 0 && max < min)) {
+                        throw error("invalid repeat");
+                    }
+                    node = repeat(node, min, max);
+                } else {
+                    break;
+                }
+                this.pos += 1;
+            }
+            return node;
+        }
+
+        private int number() {
+            int from = this.pos;
+            while (this.pos < this.end && Character.isDigit(this.text.charAt(this.pos)) && this.pos - from < 3) {
+                this.pos += 1;
+            }
+            if (from == this.pos) {
+                throw error("expect number");
+            }
+            return Integer.parseInt(this.text.substring(from, this.pos));
+        }
+
+        private static Node letters(int mask) {
+            return new Node(Node.LETTERS, mask, null, 0, 0);
+        }
+
+        private static Node repeat(Node node, int min, int max) {
+            List<Node> children = new ArrayList<>(1);
+            children.add(node);
+            return new Node(Node.REPEAT, 0, children, min, max);
+        }
+
+    }
+
+    /*
+     * Thompson construction. A fragment is {start, end}, where end is a
+     * state without letters whose out1/out2 are patched by the caller.
+     */
+    private static final class Nfa {
+
+        private final String regex;
+
+        int[] masks = new int[64];
+
+        int[] out1 = new int[64];
+
+        int[] out2 = new int[64];
+
+        int size;
+
+        int start;
+
+        int accept;
+
+        Nfa(String regex) {
+            this.regex = regex;
+        }
+
+        private int add(int mask, int next) {
+            if (this.size >= MAX_NFA_STATES) {
+                throw new IllegalArgumentException("Invalid regex=[" + this.regex + "], expect at most "
+                        + MAX_NFA_STATES + " automaton states");
+            }
+            if (this.size == this.masks.length) {
+                this.masks = Arrays.copyOf(this.masks, this.size * 2);
+                this.out1 = Arrays.copyOf(this.out1, this.size * 2);
+                this.out2 = Arrays.copyOf(this.out2, this.size * 2);
+            }
+            this.masks[this.size] = mask;
+            this.out1[this.size] = next;
+            this.out2[this.size] = -1;
+            this.size += 1;
+            return this.size - 1;
+        }
+
+        int[] build(Node node) {
+            if (node.type == Node.LETTERS) {
+                int end = add(0, -1);
+                if (node.mask == 0) {
+                    // an empty class, such as [^a-z], matches nothing
+                    return new int[] { add(0, -1), end };
+                }
+                return new int[] { add(node.mask, end), end };
+            }
+            if (node.type == Node.SEQUENCE) {
+                int end = add(0, -1);
+                int start = end;
+                // built back to front, so each fragment links to the next
+                for (int ix = node.children.size() - 1; ix >= 0; ix -= 1) {
+                    int[] frag = build(node.children.get(ix));
+                    this.out1[frag[1]] = start;
+                    start = frag[0];
+                }
+                return new int[] { start, end };
+            }
+            if (node.type == Node.ALTERNATIVES) {
+                int end = add(0, -1);
+                int start = -1;
+                for (Node child : node.children) {
+                    int[] frag = build(child);
+                    this.out1[frag[1]] = end;
+                    int split = add(0, frag[0]);
+                    this.out2[split] = start;
+                    start = split;
+                }
+                return new int[] { start, end };
+            }
+            Node child = node.children.get(0);
+            int end = add(0, -1);
+            int start = end;
+            if (node.max < 0) {
+                // child loops: end of child back to its start, or out
+                int[] frag = build(child);
+                this.out1[frag[1]] = frag[0];
+                this.out2[frag[1]] = end;
+                start = add(0, frag[0]);
+                this.out2[start] = end;
+            } else {
+                // optional copies, each skipping the rest
+                for (int ix = node.min; ix < node.max; ix += 1) {
+                    int[] frag = build(child);
+                    this.out1[frag[1]] = start;
+                    int split = add(0, frag[0]);
+                    this.out2[split] = end;
+                    start = split;
+                }
+            }
+            for (int ix = 0; ix < node.min; ix += 1) {
+                int[] frag = build(child);
+                this.out1[frag[1]] = start;
+                start = frag[0];
+            }
+            return new int[] { start, end };
+        }
+
+    }
+
+}
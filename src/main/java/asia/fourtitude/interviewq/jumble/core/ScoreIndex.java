@@ -0,0 +1,130 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Best scoring words of a rack, by branch and bound over the trie.
+ *
+ * At build time, each trie node gets the best score of any word below
+ * it. A rack walk is the sub word walk of SubWordFinder, blanks included,
+ * keeping the best `limit` words so far. A subtree is skipped when its best
+ * score, less the points of letters played by blanks so far, cannot beat
+ * the worst word kept. So only a small part of the sub words is visited,
+ * and none is collected just to be sorted away.
+ */
+final class ScoreIndex {
+
+    /*
+     * Better first: higher score, then word order.
+     */
+    static final Comparator<ScoredWord> BEST_FIRST = Comparator.comparingInt(ScoredWord::getScore).reversed()
+            .thenComparing(ScoredWord::getWord);
+
+    private final WordTrie trie;
+
+    private final LetterValues values;
+
+    /*
+     * Best score of the words below each node, the node's own word included.
+     */
+    private final int[] maxScore;
+
+    ScoreIndex(WordTrie trie, String[] sortedWords, LetterValues values) {
+        this.trie = trie;
+        this.values = values;
+        int[] maxScore = new int[trie.size()];
+        // children come after their parent, so a reverse pass sees them first
+        for (int node = trie.size() - 1; node >= 0; node -= 1) {
+            int best = 0;
+            int first = trie.childStart(node);
+            int end = trie.childEnd(node);
+            if (trie.wordFrom(node) < trie.wordTo(node)
+                    && (first == end || trie.wordFrom(first) != trie.wordFrom(node))) {
+                // the node's word sorts first, before any child's words
+                best = values.score(sortedWords[trie.wordFrom(node)]);
+            }
+            for (int child = first; child < end; child += 1) {
+                best = Math.max(best, maxScore[child]);
+            }
+            maxScore[node] = best;
+        }
+        this.maxScore = maxScore;
+    }
+
+    long bytes() {
+        return 16 + 4L * this.maxScore.length;
+    }
+
+    LetterValues values() {
+        return this.values;
+    }
+
+    /**
+     * @param rack  The letters, `?` for a blank tile, normalized.
+     * @param minLength  The minimum length of words.
+     * @param limit  The most words to return.
+     * @return  The best words buildable from the rack, best first.
+     */
+    List<ScoredWord> best(String rack, int minLength, int limit) {
+        int[] counts = new int[26];
+        int blanks = 0;
+        for (int ix = 0; ix < rack.length(); ix += 1) {
+            char ch = rack.charAt(ix);
+            if (ch == '?') {
+                blanks += 1;
+            } else {
+                counts[ch - 'a'] += 1;
+            }
+        }
+        // worst kept word at the head
+        PriorityQueue<ScoredWord> kept = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        collect(WordTrie.ROOT, 0, counts, blanks, 0, minLength, limit, kept);
+        List<ScoredWord> best = new ArrayList<>(kept);
+        Collections.sort(best, BEST_FIRST);
+        return best;
+    }
+
+    /*
+     * `penalty` is the points of the letters played by blanks so far,
+     * which the word does not score.
+     */
+    private void collect(int node, int depth, int[] counts, int blanks, int penalty,
+            int minLength, int limit, PriorityQueue<ScoredWord> kept) {
+        if (depth >= minLength) {
+            String word = this.trie.word(node, depth);
+            if (word != null) {
+                ScoredWord scored = new ScoredWord(word, this.values.score(word) - penalty);
+                if (kept.size() < limit) {
+                    kept.add(scored);
+                } else if (BEST_FIRST.compare(scored, kept.peek()) < 0) {
+                    kept.poll();
+                    kept.add(scored);
+                }
+            }
+        }
+        for (int child = this.trie.childStart(node); child < this.trie.childEnd(node); child += 1) {
+            /*
+             * The walk is in word order, so a later word of the same score
+             * as the worst kept one loses to it: an equal bound is skipped too.
+             */
+            if (kept.size() == limit && this.maxScore[child] - penalty <= kept.peek().getScore()) {
+                continue;
+            }
+            char label = this.trie.label(child);
+            int letter = label - 'a';
+            if (counts[letter] > 0) {
+                counts[letter] -= 1;
+                collect(child, depth + 1, counts, blanks, penalty, minLength, limit, kept);
+                counts[letter] += 1;
+            } else if (blanks > 0) {
+                collect(child, depth + 1, counts, blanks - 1, penalty + this.values.value(label),
+                        minLength, limit, kept);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Objects;
+
+/**
+ * A word and its score.
+ */
+public final class ScoredWord {
+
+    private final String word;
+
+    private final int score;
+
+    public ScoredWord(String word, int score) {
+        this.word = word;
+        this.score = score;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (! (obj instanceof ScoredWord)) {
+            return false;
+        }
+        ScoredWord other = (ScoredWord) obj;
+        return this.score == other.score && this.word.equals(other.word);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.word, this.score);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (word != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("word=[").append(word).append(']');
+        }
+        sb.append(sb.length() == 0 ? "" : ", ").append("score=[").append(score).append(']');
+        return sb.toString();
+    }
+
+}
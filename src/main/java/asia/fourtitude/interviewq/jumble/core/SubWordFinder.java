@@ -0,0 +1,202 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Sub words of a seed: the words made of some of its letters, each letter
+ * used at most as many times as in the seed. A `?` in the seed is a blank
+ * tile, which stands for any one letter.
+ *
+ * Walks the trie, taking a letter from the remaining counts for each edge,
+ * so only the prefixes buildable from the seed are visited. When the
+ * letter has run out, a blank is taken instead, while any is left. Taking
+ * the letter first never loses a word, since a blank kept can stand for
+ * anything later, so each word is reached once, without trying each blank
+ * as each of the 26 letters. The walk is in letter order, so words come
+ * out sorted.
+ *
+ * Long seeds reach a large part of the trie, so the walk is split by first
+ * letter, one fork/join task per first letter the seed can spell. The
+ * results of the tasks, each sorted, are joined in letter order.
+ *
+ * Counting is the same walk, with no list built.
+ */
+final class SubWordFinder {
+
+    /*
+     * From this seed length, the walk is split into parallel tasks. Below,
+     * a walk takes a few tens of microseconds, too little to split.
+     */
+    static final int PARALLEL_LENGTH = 10;
+
+    private final WordTrie trie;
+
+    private final String seed;
+
+    private final int minLength;
+
+    private final int blanks;
+
+    SubWordFinder(WordTrie trie, String seed, int minLength) {
+        this.trie = trie;
+        this.seed = seed;
+        this.minLength = minLength;
+        int blanks = 0;
+        for (int ix = 0; ix < seed.length(); ix += 1) {
+            blanks += seed.charAt(ix) == '?' ? 1 : 0;
+        }
+        this.blanks = blanks;
+    }
+
+    /*
+     * Letter counts of the seed, blanks left out.
+     */
+    private int[] seedCounts() {
+        int[] counts = new int[26];
+        for (int ix = 0; ix < this.seed.length(); ix += 1) {
+            int letter = this.seed.charAt(ix) - 'a';
+            if (letter >= 0 && letter < 26) {
+                counts[letter] += 1;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return  The sorted sub words, the seed itself excluded.
+     */
+    List<String> find() {
+        List<String> found = new ArrayList<>();
+        walk(WordTrie.ROOT, 0, seedCounts(), this.blanks, found);
+        return found;
+    }
+
+    /**
+     * Same as {@link #find()}, one task per first letter on `pool`.
+     *
+     * @param pool  The pool to run the tasks on.
+     * @return  The sorted sub words, the seed itself excluded.
+     */
+    List<String> find(ForkJoinPool pool) {
+        List<String> found = new ArrayList<>();
+        pool.invoke(new RootTask(this, found));
+        return found;
+    }
+
+    /**
+     * @return  The number of sub words {@link #find()} would list.
+     */
+    int count() {
+        return walk(WordTrie.ROOT, 0, seedCounts(), this.blanks, null);
+    }
+
+    /**
+     * Same as {@link #count()}, one task per first letter on `pool`.
+     *
+     * @param pool  The pool to run the tasks on.
+     * @return  The number of sub words {@link #find()} would list.
+     */
+    int count(ForkJoinPool pool) {
+        return pool.invoke(new RootTask(this, null));
+    }
+
+    /*
+     * Adds the sub words below `node` to `found`, unless null, and
+     * returns their number.
+     */
+    private int walk(int node, int depth, int[] counts, int blanks, List<String> found) {
+        int count = 0;
+        if (depth >= this.minLength) {
+            String word = this.trie.word(node, depth);
+            if (word != null && ! word.equals(this.seed)) {
+                count = 1;
+                if (found != null) {
+                    found.add(word);
+                }
+            }
+        }
+        for (int child = this.trie.childStart(node); child < this.trie.childEnd(node); child += 1) {
+            int letter = this.trie.label(child) - 'a';
+            if (counts[letter] > 0) {
+                counts[letter] -= 1;
+                count += walk(child, depth + 1, counts, blanks, found);
+                counts[letter] += 1;
+            } else if (blanks > 0) {
+                count += walk(child, depth + 1, counts, blanks - 1, found);
+            }
+        }
+        return count;
+    }
+
+    private static final class RootTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient SubWordFinder finder;
+
+        private final transient List<String> found;
+
+        RootTask(SubWordFinder finder, List<String> found) {
+            this.finder = finder;
+            this.found = found;
+        }
+
+        @Override
+        protected Integer compute() {
+            WordTrie trie = this.finder.trie;
+            int[] counts = this.finder.seedCounts();
+            List<FirstLetterTask> tasks = new ArrayList<>();
+            for (int child = trie.childStart(WordTrie.ROOT); child < trie.childEnd(WordTrie.ROOT); child += 1) {
+                if (counts[trie.label(child) - 'a'] > 0 || this.finder.blanks > 0) {
+                    tasks.add(new FirstLetterTask(this.finder, counts, child, this.found != null));
+                }
+            }
+            invokeAll(tasks);
+            // tasks are in letter order, and words of each are sorted
+            int count = 0;
+            for (FirstLetterTask task : tasks) {
+                count += task.join();
+                if (this.found != null) {
+                    this.found.addAll(task.found);
+                }
+            }
+            return count;
+        }
+
+    }
+
+    private static final class FirstLetterTask extends RecursiveTask<Integer> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient SubWordFinder finder;
+
+        private final int[] counts;
+
+        private final int child;
+
+        private final transient List<String> found;
+
+        FirstLetterTask(SubWordFinder finder, int[] seedCounts, int child, boolean listing) {
+            this.finder = finder;
+            this.counts = seedCounts.clone();
+            this.child = child;
+            this.found = listing ? new ArrayList<>() : null;
+        }
+
+        @Override
+        protected Integer compute() {
+            int letter = this.finder.trie.label(this.child) - 'a';
+            if (this.counts[letter] > 0) {
+                this.counts[letter] -= 1;
+                return this.finder.walk(this.child, 1, this.counts, this.finder.blanks, this.found);
+            }
+            return this.finder.walk(this.child, 1, this.counts, this.finder.blanks - 1, this.found);
+        }
+
+    }
+
+}
@@ -0,0 +1,32 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * JFR event for JumbleEngine#generateSubWords.
+ */
+@Name("asia.fourtitude.jumble.SubWords")
+@Label("Generate Sub Words")
+@Category({ "Jumble", "Engine" })
+@Description("Generates the sub words of a seed word")
+@StackTrace(false)
+class SubWordsEvent extends Event {
+
+    @Label("Word")
+    String word;
+
+    @Label("Word Length")
+    int wordLength;
+
+    @Label("Min Length")
+    int minLength;
+
+    @Label("Sub Words")
+    int count;
+
+}
@@ -0,0 +1,198 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Word pattern with wildcards: `?` matches one letter, `*` matches any
+ * number of letters, including none. Other characters are letters 'a' to
+ * 'z', matched as they are.
+ *
+ * The pattern runs as an NFA over the trie. The NFA states still alive
+ * after a prefix are bits of a long, state i meaning "matched up to
+ * pattern position i". Subtrees are skipped as soon as no state is alive,
+ * or when their words are too short for the letters still required.
+ *
+ * Counting stops at any node where a final `*` is alive, since every word
+ * below then matches: the node's word range gives their number.
+ */
+final class WildcardPattern {
+
+    /*
+     * One NFA state per position, plus the accepting state, must fit a long.
+     */
+    static final int MAX_LENGTH = 63;
+
+    private final String pattern;
+
+    /*
+     * States that move on the letter, by letter: a literal of that letter, or `?`.
+     */
+    private final long[] letterStates = new long[26];
+
+    /*
+     * States at a `*`, which stay on any letter.
+     */
+    private final long starStates;
+
+    private final long acceptState;
+
+    /*
+     * The state at a final `*`, or 0 when the pattern ends with a letter or `?`.
+     */
+    private final long finalStarState;
+
+    /*
+     * Letters still required from each state, `*` counting none.
+     */
+    private final int[] minRemaining;
+
+    private WildcardPattern(String pattern) {
+        this.pattern = pattern;
+        long stars = 0;
+        for (int ix = 0; ix < pattern.length(); ix += 1) {
+            char ch = pattern.charAt(ix);
+            if (ch == '*') {
+                stars |= 1L << ix;
+            } else if (ch == '?') {
+                for (int letter = 0; letter < 26; letter += 1) {
+                    this.letterStates[letter] |= 1L << ix;
+                }
+            } else {
+                this.letterStates[ch - 'a'] |= 1L << ix;
+            }
+        }
+        this.starStates = stars;
+        this.acceptState = 1L << pattern.length();
+        this.finalStarState = stars & (1L << (pattern.length() - 1));
+        this.minRemaining = new int[pattern.length() + 1];
+        for (int ix = pattern.length() - 1; ix >= 0; ix -= 1) {
+            this.minRemaining[ix] = this.minRemaining[ix + 1] + (pattern.charAt(ix) == '*' ? 0 : 1);
+        }
+    }
+
+    /**
+     * Trims and lower cases the pattern, and folds runs of `*` into one.
+     *
+     * @param pattern  The pattern.
+     * @return  The compiled pattern, or null when `pattern` is blank, has
+     *          characters other than letters, `?` and `*`, or is longer than
+     *          {@link #MAX_LENGTH}.
+     */
+    static WildcardPattern compile(String pattern) {
+        if (pattern == null) {
+            return null;
+        }
+        String text = pattern.trim().toLowerCase(Locale.ROOT);
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int ix = 0; ix < text.length(); ix += 1) {
+            char ch = text.charAt(ix);
+            if (ch == '*') {
+                if (sb.length() > 0 && sb.charAt(sb.length() - 1) == '*') {
+                    continue;
+                }
+            } else if (ch != '?' && (ch < 'a' || ch > 'z')) {
+                return null;
+            }
+            sb.append(ch);
+        }
+        if (sb.length() == 0 || sb.length() > MAX_LENGTH) {
+            return null;
+        }
+        return new WildcardPattern(sb.toString());
+    }
+
+    /*
+     * Adds the states reachable by skipping a `*`. Runs of `*` are folded,
+     * so one step is enough.
+     */
+    private long closure(long states) {
+        return states | ((states & this.starStates) << 1);
+    }
+
+    private long step(long states, char letter) {
+        return closure(((states & this.letterStates[letter - 'a']) << 1) | (states & this.starStates));
+    }
+
+    /**
+     * Adds the words matching the pattern to `found`, in sorted order.
+     *
+     * @param trie  The trie of the word list.
+     * @param found  The output.
+     */
+    void collect(WordTrie trie, List<String> found) {
+        collect(trie, WordTrie.ROOT, 0, closure(1L), found);
+    }
+
+    private void collect(WordTrie trie, int node, int depth, long states, List<String> found) {
+        if ((states & this.acceptState) != 0) {
+            String word = trie.word(node, depth);
+            if (word != null) {
+                found.add(word);
+            }
+        }
+        // the highest live state needs the fewest letters
+        int highest = 63 - Long.numberOfLeadingZeros(states);
+        if (depth + Math.max(1, this.minRemaining[highest]) > trie.maxLength(node)) {
+            return;
+        }
+        for (int child = trie.childStart(node); child < trie.childEnd(node); child += 1) {
+            long next = step(states, trie.label(child));
+            if (next != 0) {
+                collect(trie, child, depth + 1, next, found);
+            }
+        }
+    }
+
+    /**
+     * Counts the words matching the pattern, without listing them.
+     *
+     * @param trie  The trie of the word list.
+     * @return  The number of words {@link #collect} would add.
+     */
+    int count(WordTrie trie) {
+        return count(trie, WordTrie.ROOT, 0, closure(1L));
+    }
+
+    private int count(WordTrie trie, int node, int depth, long states) {
+        if ((states & this.finalStarState) != 0) {
+            return trie.wordTo(node) - trie.wordFrom(node);
+        }
+        int count = 0;
+        if ((states & this.acceptState) != 0 && trie.word(node, depth) != null) {
+            count = 1;
+        }
+        int highest = 63 - Long.numberOfLeadingZeros(states);
+        if (depth + Math.max(1, this.minRemaining[highest]) > trie.maxLength(node)) {
+            return count;
+        }
+        for (int child = trie.childStart(node); child < trie.childEnd(node); child += 1) {
+            long next = step(states, trie.label(child));
+            if (next != 0) {
+                count += count(trie, child, depth + 1, next);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Matches one word, for engines that scan the word list instead of
+     * walking a trie.
+     *
+     * @param word  The word, normalized.
+     * @return  Whether the whole word matches the pattern.
+     */
+    boolean matches(String word) {
+        long states = closure(1L);
+        for (int ix = 0; ix < word.length() && states != 0; ix += 1) {
+            states = step(states, word.charAt(ix));
+        }
+        return (states & this.acceptState) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return this.pattern;
+    }
+
+}
@@ -0,0 +1,305 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Loads a word list, one word per line, into a sorted array of unique
+ * normalized words.
+ *
+ * Files are memory-mapped. The bytes are split at newline boundaries
+ * into chunks, each chunk is parsed and normalized on a ForkJoinPool,
+ * and sorted chunks are merged pairwise up the task tree.
+ *
+ * Word lists ending in ".gz" are gzip-compressed. They are decompressed
+ * as a stream, and each chunk of whole lines is handed to a parse task
+ * as soon as it is decompressed, so parsing overlaps decompression.
+ */
+final class WordListLoader {
+
+    static final int CHUNK_SIZE = 64 * 1024;
+
+    private WordListLoader() {
+    }
+
+    /*
+     * Loads a classpath resource. Resources in a jar cannot be mapped,
+     * so their bytes are read into memory first, then parsed the same way.
+     */
+    static String[] loadResource(String resource) {
+        ClassLoader classLoader = WordListLoader.class.getClassLoader();
+        URL url = classLoader.getResource(resource);
+        if (url == null && ! isGzip(resource)) {
+            // a build may ship the word list compressed only
+            resource = resource + ".gz";
+            url = classLoader.getResource(resource);
+        }
+        if (url == null) {
+            throw new IllegalStateException("Word list resource=[" + resource + "] not found");
+        }
+        if (isGzip(resource)) {
+            try (InputStream is = url.openStream()) {
+                return loadGzip(is);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read word list resource=[" + resource + "]", e);
+            }
+        }
+        if ("file".equals(url.getProtocol())) {
+            try {
+                return loadFile(Paths.get(url.toURI()));
+            } catch (URISyntaxException e) {
+                // fall back to reading the stream
+            }
+        }
+        try (InputStream is = url.openStream()) {
+            return parse(ByteBuffer.wrap(readAll(is)), CHUNK_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read word list resource=[" + resource + "]", e);
+        }
+    }
+
+    static String[] loadFile(Path path) {
+        if (isGzip(path.toString())) {
+            try (InputStream is = Files.newInputStream(path)) {
+                return loadGzip(is);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read word list file=[" + path + "]", e);
+            }
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Word list file=[" + path + "] is larger than 2GB");
+            }
+            ByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return parse(buf, CHUNK_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read word list file=[" + path + "]", e);
+        }
+    }
+
+    private static boolean isGzip(String name) {
+        return name.endsWith(".gz");
+    }
+
+    /*
+     * Decompresses `is` chunk by chunk. Bytes after the last newline of a
+     * chunk are carried over to the next one.
+     */
+    static String[] loadGzip(InputStream is) throws IOException {
+        return parseStream(new GZIPInputStream(is, CHUNK_SIZE), CHUNK_SIZE);
+    }
+
+    static String[] parseStream(InputStream in, int chunkSize) throws IOException {
+        List<ForkJoinTask<String[]>> tasks = new ArrayList<>();
+        byte[] buf = new byte[chunkSize];
+        int length = 0;
+        int read;
+        while ((read = in.read(buf, length, buf.length - length)) >= 0) {
+            length += read;
+            if (length < buf.length) {
+                continue;
+            }
+            int end = length;
+            while (end > 0 && buf[end - 1] != '\n') {
+                end -= 1;
+            }
+            if (end == 0) {
+                // a line longer than the buffer
+                buf = Arrays.copyOf(buf, buf.length * 2);
+                continue;
+            }
+            tasks.add(submit(Arrays.copyOf(buf, end), chunkSize));
+            System.arraycopy(buf, end, buf, 0, length - end);
+            length -= end;
+        }
+        if (length > 0) {
+            tasks.add(submit(Arrays.copyOf(buf, length), chunkSize));
+        }
+
+        List<String[]> sorted = new ArrayList<>(tasks.size());
+        for (ForkJoinTask<String[]> task : tasks) {
+            sorted.add(task.join());
+        }
+        if (sorted.isEmpty()) {
+            return new String[0];
+        }
+        while (sorted.size() > 1) {
+            List<String[]> merged = new ArrayList<>((sorted.size() + 1) / 2);
+            for (int ix = 0; ix < sorted.size(); ix += 2) {
+                merged.add(ix + 1 < sorted.size() ? merge(sorted.get(ix), sorted.get(ix + 1)) : sorted.get(ix));
+            }
+            sorted = merged;
+        }
+        return sorted.get(0);
+    }
+
+    private static ForkJoinTask<String[]> submit(byte[] bytes, int chunkSize) {
+        return ForkJoinPool.commonPool().submit(new ParseTask(ByteBuffer.wrap(bytes), 0, bytes.length, chunkSize));
+    }
+
+    static byte[] readAll(InputStream is) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[CHUNK_SIZE];
+        int read;
+        while ((read = is.read(chunk)) > 0) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    /*
+     * Parses UTF-8 lines from `buf`, in chunks of about `chunkSize` bytes.
+     * Only absolute gets are used, so tasks share the buffer safely.
+     */
+    static String[] parse(ByteBuffer buf, int chunkSize) {
+        return ForkJoinPool.commonPool().invoke(new ParseTask(buf, 0, buf.limit(), chunkSize));
+    }
+
+    /*
+     * Same result as DefaultJumbleEngine#normalize, for the line at [from, to).
+     * ASCII lines, nearly all of them, are handled on the bytes.
+     */
+    static String normalizeLine(ByteBuffer buf, int from, int to) {
+        while (from < to && (buf.get(from) & 0xff) <= ' ') {
+            from += 1;
+        }
+        while (to > from && (buf.get(to - 1) & 0xff) <= ' ') {
+            to -= 1;
+        }
+        if (from == to) {
+            return null;
+        }
+        char[] letters = new char[to - from];
+        for (int ix = from; ix < to; ix += 1) {
+            int ch = buf.get(ix);
+            if (ch >= 'A' && ch <= 'Z') {
+                ch += 'a' - 'A';
+            } else if (ch < 'a' || ch > 'z') {
+                if (ch < 0) {
+                    byte[] bytes = new byte[to - from];
+                    for (int jx = 0; jx < bytes.length; jx += 1) {
+                        bytes[jx] = buf.get(from + jx);
+                    }
+                    return DefaultJumbleEngine.normalize(new String(bytes, StandardCharsets.UTF_8));
+                }
+                return null;
+            }
+            letters[ix - from] = (char) ch;
+        }
+        return new String(letters);
+    }
+
+    /*
+     * Merges two sorted arrays of unique words, dropping duplicates.
+     */
+    static String[] merge(String[] left, String[] right) {
+        String[] merged = new String[left.length + right.length];
+        int lx = 0;
+        int rx = 0;
+        int mx = 0;
+        while (lx < left.length && rx < right.length) {
+            int cmp = left[lx].compareTo(right[rx]);
+            if (cmp < 0) {
+                merged[mx++] = left[lx++];
+            } else if (cmp > 0) {
+                merged[mx++] = right[rx++];
+            } else {
+                merged[mx++] = left[lx++];
+                rx += 1;
+            }
+        }
+        while (lx < left.length) {
+            merged[mx++] = left[lx++];
+        }
+        while (rx < right.length) {
+            merged[mx++] = right[rx++];
+        }
+        return mx == merged.length ? merged : Arrays.copyOf(merged, mx);
+    }
+
+    private static final class ParseTask extends RecursiveTask<String[]> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient ByteBuffer buf;
+
+        private final int from;
+
+        private final int to;
+
+        private final int chunkSize;
+
+        ParseTask(ByteBuffer buf, int from, int to, int chunkSize) {
+            this.buf = buf;
+            this.from = from;
+            this.to = to;
+            this.chunkSize = chunkSize;
+        }
+
+        @Override
+        protected String[] compute() {
+            if (this.to - this.from > this.chunkSize) {
+                // split right after the newline nearest the middle
+                int mid = this.from + (this.to - this.from) / 2;
+                while (mid < this.to && this.buf.get(mid - 1) != '\n') {
+                    mid += 1;
+                }
+                if (mid < this.to) {
+                    ParseTask right = new ParseTask(this.buf, mid, this.to, this.chunkSize);
+                    right.fork();
+                    String[] left = new ParseTask(this.buf, this.from, mid, this.chunkSize).compute();
+                    return merge(left, right.join());
+                }
+            }
+            return parseChunk();
+        }
+
+        private String[] parseChunk() {
+            String[] words = new String[64];
+            int count = 0;
+            int start = this.from;
+            for (int ix = this.from; ix <= this.to; ix += 1) {
+                if (ix == this.to || this.buf.get(ix) == '\n') {
+                    String word = normalizeLine(this.buf, start, ix);
+                    if (word != null) {
+                        if (count == words.length) {
+                            words = Arrays.copyOf(words, count * 2);
+                        }
+                        words[count++] = word;
+                    }
+                    start = ix + 1;
+                }
+            }
+            Arrays.sort(words, 0, count);
+            // drop duplicates within the chunk
+            int unique = 0;
+            for (int ix = 0; ix < count; ix += 1) {
+                if (unique == 0 || ! words[ix].equals(words[unique - 1])) {
+                    words[unique++] = words[ix];
+                }
+            }
+            return Arrays.copyOf(words, unique);
+        }
+
+    }
+
+}
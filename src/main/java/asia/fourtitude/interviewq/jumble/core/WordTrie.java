@@ -0,0 +1,183 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import java.util.Arrays;
+
+/**
+ * Read-only trie over a sorted array of unique words, in flat arrays.
+ *
+ * Nodes are numbered breadth first from the root (node 0), so that the
+ * children of a node are consecutive, in letter order, and end where the
+ * children of the next node begin. Words sharing the prefix of a node are
+ * consecutive in the sorted array too, so each node keeps the range of
+ * its words instead of a word per terminal node. The node of a whole word
+ * is the first of its range, as a word sorts before its extensions.
+ */
+final class WordTrie {
+
+    static final int ROOT = 0;
+
+    private final String[] words;
+
+    /*
+     * Letter on the edge into each node. The root has none.
+     */
+    private final char[] labels;
+
+    /*
+     * Children of node n are [childStart[n], childStart[n + 1]).
+     */
+    private final int[] childStart;
+
+    /*
+     * Words of node n are words[wordFrom[n]] up to, not including, words[wordTo[n]].
+     */
+    private final int[] wordFrom;
+
+    private final int[] wordTo;
+
+    /*
+     * Length of the longest word below each node, for pruning by length.
+     */
+    private final byte[] maxLength;
+
+    WordTrie(String[] sortedWords) {
+        this.words = sortedWords;
+        int capacity = Math.max(16, sortedWords.length * 2);
+        char[] labels = new char[capacity];
+        int[] childStart = new int[capacity + 1];
+        int[] wordFrom = new int[capacity];
+        int[] wordTo = new int[capacity];
+        int[] depths = new int[capacity];
+        wordFrom[ROOT] = 0;
+        wordTo[ROOT] = sortedWords.length;
+        int count = 1;
+        for (int node = 0; node < count; node += 1) {
+            childStart[node] = count;
+            int depth = depths[node];
+            int ix = wordFrom[node];
+            int to = wordTo[node];
+            if (ix < to && sortedWords[ix].length() == depth) {
+                // the word of this node itself
+                ix += 1;
+            }
+            while (ix < to) {
+                char letter = sortedWords[ix].charAt(depth);
+                int from = ix;
+                while (ix < to && sortedWords[ix].charAt(depth) == letter) {
+                    ix += 1;
+                }
+                if (count == labels.length) {
+                    int grown = labels.length * 2;
+                    labels = Arrays.copyOf(labels, grown);
+                    childStart = Arrays.copyOf(childStart, grown + 1);
+                    wordFrom = Arrays.copyOf(wordFrom, grown);
+                    wordTo = Arrays.copyOf(wordTo, grown);
+                    depths = Arrays.copyOf(depths, grown);
+                }
+                labels[count] = letter;
+                wordFrom[count] = from;
+                wordTo[count] = ix;
+                depths[count] = depth + 1;
+                count += 1;
+            }
+        }
+        childStart[count] = count;
+
+        byte[] maxLength = new byte[count];
+        // children come after their parent, so a reverse pass sees them first
+        for (int node = count - 1; node >= 0; node -= 1) {
+            int longest = wordFrom[node] < wordTo[node] ? depths[node] : 0;
+            for (int child = childStart[node]; child < childStart[node + 1]; child += 1) {
+                longest = Math.max(longest, maxLength[child]);
+            }
+            maxLength[node] = (byte) Math.min(longest, Byte.MAX_VALUE);
+        }
+
+        this.labels = Arrays.copyOf(labels, count);
+        this.childStart = Arrays.copyOf(childStart, count + 1);
+        this.wordFrom = Arrays.copyOf(wordFrom, count);
+        this.wordTo = Arrays.copyOf(wordTo, count);
+        this.maxLength = maxLength;
+    }
+
+    int size() {
+        return this.labels.length;
+    }
+
+    /*
+     * Heap size of the node arrays, the words themselves not included.
+     */
+    long bytes() {
+        long nodes = this.labels.length;
+        return 5 * 16 + nodes * (2 + 4 + 4 + 4 + 1) + 4;
+    }
+
+    char label(int node) {
+        return this.labels[node];
+    }
+
+    int childStart(int node) {
+        return this.childStart[node];
+    }
+
+    int childEnd(int node) {
+        return this.childStart[node + 1];
+    }
+
+    int wordFrom(int node) {
+        return this.wordFrom[node];
+    }
+
+    int wordTo(int node) {
+        return this.wordTo[node];
+    }
+
+    int maxLength(int node) {
+        return this.maxLength[node];
+    }
+
+    /**
+     * @param node  The node.
+     * @param depth  The depth of the node, which is the length of its prefix.
+     * @return  The word ending at the node, or null when the node is only a prefix.
+     */
+    String word(int node, int depth) {
+        String word = this.words[this.wordFrom[node]];
+        return word.length() == depth ? word : null;
+    }
+
+    /**
+     * @param node  The node.
+     * @param letter  The letter, 'a' to 'z'.
+     * @return  The child of `node` on `letter`, or -1 when there is none.
+     */
+    int child(int node, char letter) {
+        int lo = this.childStart[node];
+        int hi = this.childStart[node + 1] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char ch = this.labels[mid];
+            if (ch < letter) {
+                lo = mid + 1;
+            } else if (ch > letter) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param prefix  The prefix, normalized.
+     * @return  The node of `prefix`, or -1 when no word begins with it.
+     */
+    int find(CharSequence prefix) {
+        int node = ROOT;
+        for (int ix = 0; ix < prefix.length() && node >= 0; ix += 1) {
+            node = child(node, prefix.charAt(ix));
+        }
+        return node;
+    }
+
+}
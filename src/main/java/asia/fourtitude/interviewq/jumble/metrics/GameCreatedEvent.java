@@ -0,0 +1,33 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * JFR event for a new game.
+ */
+@Name("asia.fourtitude.jumble.GameCreated")
+@Label("Game Created")
+@Category({ "Jumble", "Game" })
+@Description("A new game board/state")
+@StackTrace(false)
+class GameCreatedEvent extends Event {
+
+    @Label("Game")
+    @Description("Kind of game: api, web or stateless")
+    String game;
+
+    @Label("Game ID")
+    String id;
+
+    @Label("Original Word")
+    String original;
+
+    @Label("Sub Words")
+    int totalWords;
+
+}
@@ -0,0 +1,36 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/*
+ * JFR event for a guessed word.
+ */
+@Name("asia.fourtitude.jumble.GameGuess")
+@Label("Game Guess")
+@Category({ "Jumble", "Game" })
+@Description("A word guessed in a game")
+@StackTrace(false)
+class GameGuessEvent extends Event {
+
+    @Label("Game")
+    @Description("Kind of game: api, web or stateless")
+    String game;
+
+    @Label("Game ID")
+    String id;
+
+    @Label("Word")
+    String word;
+
+    @Label("Correct")
+    boolean correct;
+
+    @Label("Remaining Words")
+    int remainingWords;
+
+}
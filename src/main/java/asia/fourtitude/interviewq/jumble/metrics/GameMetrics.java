@@ -0,0 +1,109 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.LongKeyMap;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Game lifecycle metrics: games created, guesses by outcome, and the
+ * size of the API game repository. Each game created and each guess is
+ * also a JFR event, recorded when a flight recording enables it.
+ *
+ * Meters are tagged with `game`, one of {@link #API}, {@link #WEB} or
+ * {@link #STATELESS}.
+ */
+public class GameMetrics {
+
+    public static final String API = "api";
+
+    public static final String WEB = "web";
+
+    public static final String STATELESS = "stateless";
+
+    private final MeterRegistry registry;
+
+    /*
+     * API games created and not yet completed. API games are never
+     * removed, so this is the repository size less completed games.
+     */
+    private final AtomicLong activeGames = new AtomicLong();
+
+    public GameMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        Gauge.builder("jumble.games.active", this.activeGames, AtomicLong::get)
+                .description("API games with words left to guess")
+                .register(registry);
+    }
+
+    /**
+     * Publishes the size of the API game repository.
+     *
+     * @param gameBoards  The repository. Held weakly by the gauge.
+     */
+    public void monitorGameStore(LongKeyMap<?> gameBoards) {
+        Gauge.builder("jumble.games.stored", gameBoards, LongKeyMap::size)
+                .description("Game boards held by the API game repository")
+                .register(this.registry);
+    }
+
+    /**
+     * Counts a new game.
+     *
+     * @param game  The kind of game.
+     * @param id  The game ID, or null when the game has none.
+     * @param state  The new game state.
+     */
+    public void gameCreated(String game, String id, GameState state) {
+        GameCreatedEvent event = new GameCreatedEvent();
+        if (event.shouldCommit()) {
+            event.game = game;
+            event.id = id;
+            event.original = state.getOriginal();
+            event.totalWords = state.getTotalWords();
+            event.commit();
+        }
+        Counter.builder("jumble.games.created")
+                .tag("game", game)
+                .register(this.registry)
+                .increment();
+        if (API.equals(game)) {
+            this.activeGames.incrementAndGet();
+        }
+    }
+
+    /**
+     * Counts a guess.
+     *
+     * @param game  The kind of game.
+     * @param id  The game ID, or null when the game has none.
+     * @param state  The game state, after the guess.
+     * @param word  The guessed word.
+     * @param guess  The outcome of the guess, as reported by the game state.
+     */
+    public void guessed(String game, String id, GameState state, String word, GameState.Guess guess) {
+        boolean correct = guess.isCorrect();
+        GameGuessEvent event = new GameGuessEvent();
+        if (event.shouldCommit()) {
+            event.game = game;
+            event.id = id;
+            event.word = word;
+            event.correct = correct;
+            event.remainingWords = state.getRemainingWords();
+            event.commit();
+        }
+        Counter.builder("jumble.game.guesses")
+                .tag("game", game)
+                .tag("outcome", correct ? "correct" : "incorrect")
+                .register(this.registry)
+                .increment();
+        // the game state reports completion to one guess only, however they race
+        if (guess == GameState.Guess.COMPLETED && API.equals(game)) {
+            this.activeGames.decrementAndGet();
+        }
+    }
+
+}
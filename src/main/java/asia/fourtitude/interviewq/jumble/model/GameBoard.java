@@ -1,13 +1,40 @@
 package asia.fourtitude.interviewq.jumble.model;
 
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.nio.charset.StandardCharsets;
+
 import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.GameStateCodec;
+
+/*
+ * Kept in HTTP session by GameWebController. Serialized with
+ * GameStateCodec, so that session stores and replication move tens of
+ * bytes per player instead of a TreeMap of boxed Booleans.
+ */
+public class GameBoard implements Externalizable {
+
+    private static final long serialVersionUID = 2L;
+
+    private static final int HAS_STATE = 1;
 
-public class GameBoard {
+    private static final int HAS_WORD = 2;
+
+    private static final int HAS_TOKEN = 4;
 
     private GameState state;
 
     private String word;
 
+    /*
+     * Signed game state, used instead of `state` when playing the stateless
+     * web game; it round-trips through the page as a hidden form field, so
+     * nothing is kept in the session.
+     */
+    private String token;
+
     public GameState getState() {
         return state;
     }
@@ -24,6 +51,57 @@ public class GameBoard {
         this.word = word;
     }
 
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        int flags = (state != null ? HAS_STATE : 0) | (word != null ? HAS_WORD : 0) | (token != null ? HAS_TOKEN : 0);
+        out.writeByte(flags);
+        if (state != null) {
+            GameStateCodec.write(state, out);
+        }
+        if (word != null) {
+            writeText(word, out);
+        }
+        if (token != null) {
+            writeText(token, out);
+        }
+    }
+
+    /*
+     * Word and token come from the user, and may be longer than the 65535
+     * bytes writeUTF allows: written as a length and UTF-8 bytes instead.
+     */
+    private static void writeText(String text, ObjectOutput out) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readText(ObjectInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid text length=[" + length + "], expect zero or positive integer");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        int flags = in.readUnsignedByte();
+        state = (flags & HAS_STATE) != 0 ? GameStateCodec.read(in) : null;
+        word = (flags & HAS_WORD) != 0 ? readText(in) : null;
+        token = (flags & HAS_TOKEN) != 0 ? readText(in) : null;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -33,6 +111,9 @@ public class GameBoard {
         if (word != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("word=[").append(word).append(']');
         }
+        if (token != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("token=[").append(token).append(']');
+        }
         return sb.toString();
     }
 
@@ -0,0 +1,67 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+@JsonInclude(Include.NON_NULL)
+public class GameGuessBatchInput {
+
+    public static final int MAX_WORDS = 100;
+
+    @Schema(
+            title = "ID",
+            description = "Unique identifier of the game state.",
+            example = "4Gz1rPw8XcM",
+            nullable = false,
+            requiredMode = RequiredMode.REQUIRED)
+    @NotNull
+    private String id;
+
+    @ArraySchema(
+            arraySchema = @Schema(
+                    description = "The words to guess, applied in order.",
+                    requiredMode = RequiredMode.REQUIRED),
+            schema = @Schema(example = "answer", minLength = 3, maxLength = 30),
+            maxItems = MAX_WORDS)
+    @NotNull
+    @Size(max = MAX_WORDS)
+    private List<String> words;
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public List<String> getWords() {
+        return words;
+    }
+
+    public void setWords(List<String> words) {
+        this.words = words;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (id != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("id=[").append(id).append(']');
+        }
+        if (words != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("words.size=[").append(words.size()).append(']');
+        }
+        return sb.toString();
+    }
+
+}
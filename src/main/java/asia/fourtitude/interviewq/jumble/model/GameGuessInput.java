@@ -16,7 +16,7 @@ public class GameGuessInput {
     @Schema(
             title = "ID",
             description = "Unique identifier of the game state.",
-            example = "4579256c-326f-4169-9b56-6d1d1a2c11f0",
+            example = "4Gz1rPw8XcM",
             nullable = false,
             requiredMode = RequiredMode.REQUIRED)
     @NotNull
@@ -25,7 +25,7 @@ public class GameGuessOutput {
     @Schema(
             title = "ID",
             description = "Unique identifier of the game state.",
-            example = "4579256c-326f-4169-9b56-6d1d1a2c11f0",
+            example = "4Gz1rPw8XcM",
             requiredMode = RequiredMode.AUTO)
     private String id;
 
@@ -82,6 +82,19 @@ public class GameGuessOutput {
     @JsonProperty(value = "guessed_words")
     private List<String> guessedWords;
 
+    @Schema(
+            description = "The outcome of each word submitted in a batch guess, in submitted order.",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "guess_results")
+    private List<GameGuessWordOutput> guessResults;
+
+    @Schema(
+            description = "Words close to `guess_word`, when it is not in the word list and suggestions are asked for.",
+            example = "[\"yellow\"]",
+            requiredMode = RequiredMode.AUTO)
+    @JsonProperty(value = "suggestions")
+    private List<String> suggestions;
+
     public String getId() {
         return id;
     }
@@ -149,6 +162,22 @@ public class GameGuessOutput {
         this.guessedWords = guessedWords;
     }
 
+    public List<GameGuessWordOutput> getGuessResults() {
+        return guessResults;
+    }
+
+    public void setGuessResults(List<GameGuessWordOutput> guessResults) {
+        this.guessResults = guessResults;
+    }
+
+    public List<String> getSuggestions() {
+        return suggestions;
+    }
+
+    public void setSuggestions(List<String> suggestions) {
+        this.suggestions = suggestions;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -172,6 +201,12 @@ public class GameGuessOutput {
         if (guessedWords != null) {
             sb.append(sb.length() == 0 ? "" : ", ").append("guessedWords.size=[").append(guessedWords.size()).append(']');
         }
+        if (guessResults != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("guessResults.size=[").append(guessResults.size()).append(']');
+        }
+        if (suggestions != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("suggestions=[").append(suggestions).append(']');
+        }
         return sb.toString();
     }
 
@@ -0,0 +1,61 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+@JsonInclude(Include.NON_NULL)
+public class GameGuessWordOutput {
+
+    @Schema(
+            description = "The word used in guessing play.",
+            example = "motto",
+            requiredMode = RequiredMode.AUTO)
+    private String word;
+
+    @Schema(
+            title = "Result",
+            description = "Result message of this word.",
+            example = "AnyOf[\"Guessed correctly.\", \"Guessed incorrectly.\"]",
+            requiredMode = RequiredMode.AUTO)
+    private String result;
+
+    public GameGuessWordOutput() {
+    }
+
+    public GameGuessWordOutput(String word, String result) {
+        this.word = word;
+        this.result = result;
+    }
+
+    public String getWord() {
+        return word;
+    }
+
+    public void setWord(String word) {
+        this.word = word;
+    }
+
+    public String getResult() {
+        return result;
+    }
+
+    public void setResult(String result) {
+        this.result = result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (word != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("word=[").append(word).append(']');
+        }
+        if (result != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("result=[").append(result).append(']');
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,52 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import java.util.Collection;
+
+public class PatternForm {
+
+    private String pattern;
+
+    private boolean regex;
+
+    private Collection<String> words;
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public void setPattern(String pattern) {
+        this.pattern = pattern;
+    }
+
+    public boolean isRegex() {
+        return regex;
+    }
+
+    public void setRegex(boolean regex) {
+        this.regex = regex;
+    }
+
+    public Collection<String> getWords() {
+        return words;
+    }
+
+    public void setWords(Collection<String> words) {
+        this.words = words;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        if (pattern != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("pattern=[").append(pattern).append(']');
+        }
+        if (regex) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("regex=[").append(regex).append(']');
+        }
+        if (words != null) {
+            sb.append(sb.length() == 0 ? "" : ", ").append("words=[").append(words).append(']');
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,34 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.media.Schema.RequiredMode;
+
+public class WordCountOutput {
+
+    @Schema(
+            description = "The number of words matching the query.",
+            example = "13",
+            requiredMode = RequiredMode.REQUIRED)
+    private int count;
+
+    public WordCountOutput() {
+    }
+
+    public WordCountOutput(int count) {
+        this.count = count;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    @Override
+    public String toString() {
+        return "count=[" + count + "]";
+    }
+
+}
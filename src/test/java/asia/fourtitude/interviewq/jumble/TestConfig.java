@@ -3,14 +3,28 @@ package asia.fourtitude.interviewq.jumble;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 
+import asia.fourtitude.interviewq.jumble.core.GameTokenCodec;
+import asia.fourtitude.interviewq.jumble.core.DefaultJumbleEngine;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.metrics.GameMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @TestConfiguration
 public class TestConfig {
 
     @Bean
     public JumbleEngine jumbleEngine() {
-        return new JumbleEngine();
+        return new DefaultJumbleEngine();
+    }
+
+    @Bean
+    public GameTokenCodec gameTokenCodec(JumbleEngine jumbleEngine) {
+        return new GameTokenCodec("test-secret", jumbleEngine);
+    }
+
+    @Bean
+    public GameMetrics gameMetrics() {
+        return new GameMetrics(new SimpleMeterRegistry());
     }
 
 }
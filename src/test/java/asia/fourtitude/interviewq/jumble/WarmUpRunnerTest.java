@@ -0,0 +1,39 @@
+package asia.fourtitude.interviewq.jumble;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+@SpringBootTest(properties = "jumble.warmup.max-duration=2s")
+class WarmUpRunnerTest {
+
+    @Autowired
+    JumbleEngine jumbleEngine;
+
+    @Autowired
+    ApplicationAvailability availability;
+
+    @Test
+    void givenStarted_thenAcceptingTraffic() {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState(), "readinessState");
+    }
+
+    @Test
+    void givenMaxDuration_whenWarmUp_thenStopsInTime() {
+        WarmUpRunner runner = new WarmUpRunner(jumbleEngine, Duration.ofMillis(500));
+        long begin = System.nanoTime();
+        int rounds = runner.warmUp();
+        long elapsedMillis = (System.nanoTime() - begin) / 1_000_000;
+        assertTrue(rounds >= 1, "rounds=" + rounds);
+        assertTrue(elapsedMillis < 5_000, "elapsedMillis=" + elapsedMillis);
+    }
+
+}
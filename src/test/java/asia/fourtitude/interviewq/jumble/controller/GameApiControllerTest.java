@@ -1,17 +1,30 @@
 package asia.fourtitude.interviewq.jumble.controller;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.core.GameIds;
 import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+import asia.fourtitude.interviewq.jumble.model.GameGuessBatchInput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessInput;
+import asia.fourtitude.interviewq.jumble.model.GameGuessOutput;
 
 @WebMvcTest(GameApiController.class)
 @Import(TestConfig.class)
@@ -25,6 +38,42 @@ class GameApiControllerTest {
     @Autowired
     JumbleEngine jumbleEngine;
 
+    private GameGuessOutput createNewGame() throws Exception {
+        MvcResult resu = this.mvc.perform(get("/api/game/new"))
+                .andExpect(status().isOk())
+                .andReturn();
+        return OM.readValue(resu.getResponse().getContentAsString(), GameGuessOutput.class);
+    }
+
+    private GameGuessOutput playGame(GameGuessInput input, int expectStatus) throws Exception {
+        MvcResult resu = this.mvc.perform(post("/api/game/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(OM.writeValueAsString(input)))
+                .andExpect(status().is(expectStatus))
+                .andReturn();
+        return OM.readValue(resu.getResponse().getContentAsString(), GameGuessOutput.class);
+    }
+
+    private GameGuessOutput playGameBatch(GameGuessBatchInput input, int expectStatus) throws Exception {
+        MvcResult resu = this.mvc.perform(post("/api/game/guess/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(OM.writeValueAsString(input)))
+                .andExpect(status().is(expectStatus))
+                .andReturn();
+        return OM.readValue(resu.getResponse().getContentAsString(), GameGuessOutput.class);
+    }
+
+    private static void assertIncorrectGuess(GameGuessOutput game, GameGuessInput input, GameGuessOutput output) {
+        assertEquals("Guessed incorrectly.", output.getResult(), "result");
+        assertEquals(game.getId(), output.getId(), "id");
+        assertEquals(game.getOriginalWord(), output.getOriginalWord(), "originalWord");
+        assertNotNull(output.getScrambleWord(), "scrambleWord");
+        assertEquals(input.getWord(), output.getGuessWord(), "guessWord");
+        assertEquals(game.getTotalWords(), output.getTotalWords(), "totalWords");
+        assertEquals(game.getRemainingWords(), output.getRemainingWords(), "remainingWords");
+        assertTrue(output.getGuessedWords().isEmpty(), "guessedWords.isEmpty");
+    }
+
     /*
      * NOTE: Refer to "RootControllerTest.java", "GameWebControllerTest.java"
      * as reference. Search internet for resource/tutorial/help in implementing
@@ -54,7 +103,28 @@ class GameApiControllerTest {
          * g) `remainingWords` > 0 and same as `totalWords`
          * h) `guessedWords` is empty list
          */
-        assertTrue(false, "to be implemented");
+        GameGuessOutput output = createNewGame();
+        assertEquals("Created new game.", output.getResult(), "result");
+        assertNotNull(output.getId(), "id");
+        assertNotNull(output.getOriginalWord(), "originalWord");
+        assertNotNull(output.getScrambleWord(), "scrambleWord");
+        assertTrue(output.getTotalWords() > 0, "totalWords>0");
+        assertTrue(output.getRemainingWords() > 0, "remainingWords>0");
+        assertEquals(output.getTotalWords(), output.getRemainingWords(), "remainingWords==totalWords");
+        assertTrue(output.getGuessedWords().isEmpty(), "guessedWords.isEmpty");
+    }
+
+    @Test
+    void givenBlanks_whenCreateNewGame_thenBlanksInScramble() throws Exception {
+        MvcResult resu = this.mvc.perform(get("/api/game/new?blanks={blanks}", 2))
+                .andExpect(status().isOk())
+                .andReturn();
+        GameGuessOutput output = OM.readValue(resu.getResponse().getContentAsString(), GameGuessOutput.class);
+        assertEquals(2, output.getScrambleWord().chars().filter(ch -> ch == '?').count(), "scrambleWord");
+        assertTrue(output.getTotalWords() > 0, "totalWords>0");
+
+        this.mvc.perform(get("/api/game/new?blanks={blanks}", 3))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -70,7 +140,14 @@ class GameApiControllerTest {
          * a) HTTP status == 404
          * b) `result` equals "Invalid Game ID."
          */
-        assertTrue(false, "to be implemented");
+        GameGuessInput input = new GameGuessInput();
+        input.setWord("answer");
+        GameGuessOutput output = playGame(input, 404);
+        assertEquals("Invalid Game ID.", output.getResult(), "result");
+
+        input.setId("not-a-game-id");
+        output = playGame(input, 404);
+        assertEquals("Invalid Game ID.", output.getResult(), "result");
     }
 
     @Test
@@ -86,7 +163,11 @@ class GameApiControllerTest {
          * a) HTTP status == 404
          * b) `result` equals "Game board/state not found."
          */
-        assertTrue(false, "to be implemented");
+        GameGuessInput input = new GameGuessInput();
+        input.setId(GameIds.encode(GameIds.next()));
+        input.setWord("answer");
+        GameGuessOutput output = playGame(input, 404);
+        assertEquals("Game board/state not found.", output.getResult(), "result");
     }
 
     @Test
@@ -112,7 +193,12 @@ class GameApiControllerTest {
          * h) `remainingWords` is equals to `remainingWords` of previous game state (no change)
          * i) `guessedWords` is empty list (because this is first attempt)
          */
-        assertTrue(false, "to be implemented");
+        GameGuessOutput game = createNewGame();
+
+        GameGuessInput input = new GameGuessInput();
+        input.setId(game.getId());
+        GameGuessOutput output = playGame(input, 200);
+        assertIncorrectGuess(game, input, output);
     }
 
     @Test
@@ -138,7 +224,34 @@ class GameApiControllerTest {
          * h) `remainingWords` is equals to `remainingWords` of previous game state (no change)
          * i) `guessedWords` is empty list (because this is first attempt)
          */
-        assertTrue(false, "to be implemented");
+        GameGuessOutput game = createNewGame();
+
+        GameGuessInput input = new GameGuessInput();
+        input.setId(game.getId());
+        input.setWord(game.getOriginalWord() + "zz");
+        GameGuessOutput output = playGame(input, 200);
+        assertIncorrectGuess(game, input, output);
+    }
+
+    @Test
+    void givenCreateNewGame_whenSubmitTypoWithSuggest_thenSuggestions() throws Exception {
+        GameGuessOutput game = createNewGame();
+
+        GameGuessInput input = new GameGuessInput();
+        input.setId(game.getId());
+        input.setWord(game.getOriginalWord() + "z");
+        assertNull(playGame(input, 200).getSuggestions(), "suggest=false");
+
+        MvcResult resu = this.mvc.perform(post("/api/game/guess?suggest=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(OM.writeValueAsString(input)))
+                .andExpect(status().isOk())
+                .andReturn();
+        GameGuessOutput output = OM.readValue(resu.getResponse().getContentAsString(), GameGuessOutput.class);
+        assertIncorrectGuess(game, input, output);
+        assertNotNull(output.getSuggestions(), "suggest=true");
+        assertTrue(output.getSuggestions().size() <= GameApiController.MAX_SUGGESTIONS, "suggestions.size");
+        assertTrue(jumbleEngine.suggestWords(input.getWord(), 2, 100).contains(game.getOriginalWord()), "original");
     }
 
     @Test
@@ -165,7 +278,22 @@ class GameApiControllerTest {
          * i) `guessedWords` is not empty list
          * j) `guessWords` contains input `guessWord`
          */
-        assertTrue(false, "to be implemented");
+        GameGuessOutput game = createNewGame();
+        List<String> correctWords = new ArrayList<>(this.jumbleEngine.generateSubWords(game.getOriginalWord(), 3));
+
+        GameGuessInput input = new GameGuessInput();
+        input.setId(game.getId());
+        input.setWord(correctWords.get(0));
+        GameGuessOutput output = playGame(input, 200);
+        assertEquals(game.getTotalWords() == 1 ? "All words guessed." : "Guessed correctly.", output.getResult(), "result");
+        assertEquals(game.getId(), output.getId(), "id");
+        assertEquals(game.getOriginalWord(), output.getOriginalWord(), "originalWord");
+        assertNotNull(output.getScrambleWord(), "scrambleWord");
+        assertEquals(input.getWord(), output.getGuessWord(), "guessWord");
+        assertEquals(game.getTotalWords(), output.getTotalWords(), "totalWords");
+        assertEquals(game.getRemainingWords() - 1, output.getRemainingWords(), "remainingWords");
+        assertFalse(output.getGuessedWords().isEmpty(), "guessedWords.isEmpty");
+        assertTrue(output.getGuessedWords().contains(input.getWord()), "guessedWords.contains");
     }
 
     @Test
@@ -193,7 +321,78 @@ class GameApiControllerTest {
          * i) `guessedWords` is not empty list
          * j) `guessWords` contains input `guessWord`
          */
-        assertTrue(false, "to be implemented");
+        GameGuessOutput game = createNewGame();
+        List<String> correctWords = new ArrayList<>(this.jumbleEngine.generateSubWords(game.getOriginalWord(), 3));
+        assertEquals(game.getTotalWords(), correctWords.size(), "totalWords");
+
+        GameGuessInput input = new GameGuessInput();
+        input.setId(game.getId());
+        for (String word : correctWords.subList(0, correctWords.size() - 1)) {
+            input.setWord(word);
+            playGame(input, 200);
+        }
+
+        input.setWord(correctWords.get(correctWords.size() - 1));
+        GameGuessOutput output = playGame(input, 200);
+        assertEquals("All words guessed.", output.getResult(), "result");
+        assertEquals(game.getId(), output.getId(), "id");
+        assertEquals(game.getOriginalWord(), output.getOriginalWord(), "originalWord");
+        assertNotNull(output.getScrambleWord(), "scrambleWord");
+        assertEquals(input.getWord(), output.getGuessWord(), "guessWord");
+        assertEquals(game.getTotalWords(), output.getTotalWords(), "totalWords");
+        assertEquals(0, output.getRemainingWords(), "remainingWords");
+        assertFalse(output.getGuessedWords().isEmpty(), "guessedWords.isEmpty");
+        assertTrue(output.getGuessedWords().contains(input.getWord()), "guessedWords.contains");
+    }
+
+    @Test
+    void givenMissingRecord_whenPlayGameBatch_thenRecordNotFound() throws Exception {
+        GameGuessBatchInput input = new GameGuessBatchInput();
+        input.setWords(Arrays.asList("answer"));
+        GameGuessOutput output = playGameBatch(input, 404);
+        assertEquals("Invalid Game ID.", output.getResult(), "result");
+
+        input.setId(GameIds.encode(GameIds.next()));
+        output = playGameBatch(input, 404);
+        assertEquals("Game board/state not found.", output.getResult(), "result");
+    }
+
+    @Test
+    void givenCreateNewGame_whenSubmitTooManyWords_thenBadRequest() throws Exception {
+        GameGuessOutput game = createNewGame();
+
+        GameGuessBatchInput input = new GameGuessBatchInput();
+        input.setId(game.getId());
+        input.setWords(Collections.nCopies(GameGuessBatchInput.MAX_WORDS + 1, "answer"));
+        GameGuessOutput output = playGameBatch(input, 400);
+        assertEquals("Too many words.", output.getResult(), "result");
+    }
+
+    @Test
+    void givenCreateNewGame_whenSubmitBatch_thenPerWordResults() throws Exception {
+        GameGuessOutput game = createNewGame();
+        List<String> correctWords = new ArrayList<>(this.jumbleEngine.generateSubWords(game.getOriginalWord(), 3));
+
+        GameGuessBatchInput input = new GameGuessBatchInput();
+        input.setId(game.getId());
+        input.setWords(Arrays.asList(correctWords.get(0), game.getOriginalWord() + "zz", null, correctWords.get(0)));
+        GameGuessOutput output = playGameBatch(input, 200);
+        assertEquals(game.getTotalWords() == 1 ? "All words guessed." : "Guessed correctly.", output.getResult(), "result");
+        assertEquals(game.getId(), output.getId(), "id");
+        assertNull(output.getGuessWord(), "guessWord");
+        assertEquals(game.getRemainingWords() - 1, output.getRemainingWords(), "remainingWords");
+        assertEquals(Arrays.asList(correctWords.get(0)), output.getGuessedWords(), "guessedWords");
+        assertEquals(4, output.getGuessResults().size(), "guessResults.size");
+        assertEquals("Guessed correctly.", output.getGuessResults().get(0).getResult(), "guessResults[0]");
+        assertEquals("Guessed incorrectly.", output.getGuessResults().get(1).getResult(), "guessResults[1]");
+        assertEquals("Guessed incorrectly.", output.getGuessResults().get(2).getResult(), "guessResults[2]");
+        assertEquals("Guessed correctly.", output.getGuessResults().get(3).getResult(), "guessResults[3]");
+
+        input.setWords(correctWords);
+        output = playGameBatch(input, 200);
+        assertEquals("All words guessed.", output.getResult(), "result");
+        assertEquals(0, output.getRemainingWords(), "remainingWords");
+        assertEquals(correctWords.size(), output.getGuessResults().size(), "guessResults.size");
     }
 
 }
@@ -0,0 +1,89 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.model.GameBoard;
+
+@WebMvcTest(GameTokenWebController.class)
+@Import(TestConfig.class)
+class GameTokenWebControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void givenVisitNew_whenSubmitPlay_thenNoSessionAndValidGameState() throws Exception {
+        MvcResult resu = this.mockMvc.perform(get("/game/stateless/new"))
+                .andExpect(view().name("game/board"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("action=\"/game/stateless/play\"")))
+                .andExpect(content().string(containsString("name=\"token\"")))
+                .andReturn();
+        assertNull(resu.getRequest().getSession(false), "session");
+        GameBoard board = (GameBoard) resu.getModelAndView().getModel().get("board");
+        assertNotNull(board.getToken(), "board.token");
+        List<String> correctWords = new ArrayList<>(board.getState().getSubWords().keySet());
+        String token = board.getToken();
+
+        // wrong word, token unchanged
+        resu = this.mockMvc.perform(post("/game/stateless/play")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", token)
+                        .param("word", board.getState().getOriginal() + "zz"))
+                .andExpect(view().name("game/board"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Guessed incorrectly")))
+                .andReturn();
+        board = (GameBoard) resu.getModelAndView().getModel().get("board");
+        assertEquals(token, board.getToken(), "board.token");
+
+        // correct words, each response carries the new token
+        int numCorrect = 0;
+        for (String correctWord : correctWords) {
+            resu = this.mockMvc.perform(post("/game/stateless/play")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param("token", token)
+                            .param("word", correctWord))
+                    .andExpect(view().name("game/board"))
+                    .andExpect(status().isOk())
+                    .andExpect(content().string(not(containsString("Guessed incorrectly"))))
+                    .andReturn();
+            assertNull(resu.getRequest().getSession(false), "session");
+            board = (GameBoard) resu.getModelAndView().getModel().get("board");
+            numCorrect += 1;
+            assertEquals(numCorrect, board.getState().getGuessedWords().size(), "board.state.guessedWords.size");
+            token = board.getToken();
+        }
+        assertTrue(resu.getResponse().getContentAsString().contains("<p>Click <a href=\"/game/stateless/new\">here</a> to start game.</p>"), "all guessed");
+    }
+
+    @Test
+    void givenTamperedToken_whenSubmitPlay_thenEmptyGameState() throws Exception {
+        MvcResult resu = this.mockMvc.perform(post("/game/stateless/play")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("token", "AQZ0aXRhbnMDAB0AAAAA.AAAAAAAAAAAAAAAAAAAAAA")
+                        .param("word", "tin"))
+                .andExpect(view().name("game/board"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("<p>Click <a href=\"/game/stateless/new\">here</a> to start game.</p>")))
+                .andReturn();
+        GameBoard board = (GameBoard) resu.getModelAndView().getModel().get("board");
+        assertNull(board.getState(), "board.state");
+    }
+
+}
@@ -7,6 +7,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -20,6 +22,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.core.GameState;
 import asia.fourtitude.interviewq.jumble.model.GameBoard;
 
 @WebMvcTest(GameWebController.class)
@@ -200,4 +203,27 @@ class GameWebControllerTest {
         assertEquals(numCorrect, board.getState().getGuessedWords().size(), "board.state.guessedWords.size==" + numCorrect);
     }
 
+    @Test
+    void givenBlankedScramble_whenVisitPlay_thenBlanksKept() throws Exception {
+        Map<String, Boolean> subWords = new LinkedHashMap<>();
+        subWords.put("yell", false);
+        subWords.put("yellow", false);
+        GameBoard board = new GameBoard();
+        board.setState(new GameState("yellow", "y?llow", subWords));
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute("board", board);
+
+        MvcResult resu = this.mockMvc.perform(get("/game/play")
+                        .session(session))
+                .andExpect(view().name("game/board"))
+                .andExpect(status().isOk())
+                .andReturn();
+        board = (GameBoard) resu.getModelAndView().getModel().get("board");
+        String scramble = board.getState().getScramble();
+        assertNotEquals("y?llow", scramble, "board.state.scramble");
+        char[] letters = scramble.toCharArray();
+        Arrays.sort(letters);
+        assertEquals("?llowy", new String(letters), "board.state.scramble=" + scramble);
+    }
+
 }
@@ -171,6 +171,61 @@ class RootControllerTest {
                 .andExpect(content().string(containsString(result)));
     }
 
+    @Test
+    void givenValidPattern_whenExecPattern_thenSuccess() throws Exception {
+        String result = "<p>The number of words: <span>3</span></p>";
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", " c?ts "))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(result)))
+                .andExpect(content().string(containsString("cuts")));
+    }
+
+    @Test
+    void givenEmptyPattern_whenExecPattern_thenFailure() throws Exception {
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", ""))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("must not be blank")));
+    }
+
+    @Test
+    void givenInvalidPattern_whenExecPattern_thenFailure() throws Exception {
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", "c.t"))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("must be letters, ? or *, at most 63")));
+    }
+
+    @Test
+    void givenRegex_whenExecPattern_thenSuccess() throws Exception {
+        String result = "<p>The number of words: <span>7</span></p>";
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", "c[aeiou]t(s|ch)?")
+                        .param("regex", "true"))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(result)));
+    }
+
+    @Test
+    void givenInvalidRegex_whenExecPattern_thenFailure() throws Exception {
+        this.mockMvc.perform(post("/pattern")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param("pattern", "c(at")
+                        .param("regex", "true"))
+                .andExpect(view().name("pattern"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Invalid regex=[c(at]")));
+    }
+
     @Test
     void givenStartChar_whenExecSearch_thenSuccess() throws Exception {
         this.mockMvc.perform(post("/search")
@@ -0,0 +1,104 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import asia.fourtitude.interviewq.jumble.TestConfig;
+import asia.fourtitude.interviewq.jumble.core.GameIds;
+
+@WebMvcTest({ GameApiController.class, WordApiController.class })
+@Import(TestConfig.class)
+class ServerTimingFilterTest {
+
+    @TestConfiguration
+    static class FilterConfig {
+
+        @Bean
+        public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+            FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter());
+            registration.addUrlPatterns("/api/game/new", "/api/game/guess", "/api/game/guess/batch", "/api/word/*");
+            return registration;
+        }
+
+    }
+
+    @Autowired
+    private MockMvc mvc;
+
+    private String serverTiming(MvcResult result) {
+        String header = result.getResponse().getHeader("Server-Timing");
+        assertNotNull(header, "Server-Timing");
+        assertTrue(header.matches("(\\w+;dur=\\d+\\.\\d{3})(, \\w+;dur=\\d+\\.\\d{3})*"), "Server-Timing=" + header);
+        return header;
+    }
+
+    @Test
+    void whenNewGame_thenTimingHasEngineAndRepoStages() throws Exception {
+        MvcResult result = this.mvc.perform(get("/api/game/new"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").exists())
+                .andReturn();
+        String header = serverTiming(result);
+        assertTrue(header.startsWith("req;dur="), "Server-Timing=" + header);
+        assertTrue(header.contains("engine;dur="), "Server-Timing=" + header);
+        assertTrue(header.contains("repo;dur="), "Server-Timing=" + header);
+        assertTrue(header.contains("ser;dur="), "Server-Timing=" + header);
+        assertTrue(header.contains(", total;dur="), "Server-Timing=" + header);
+    }
+
+    @Test
+    void givenPrefix_whenAutoComplete_thenTimingHasEngineStage() throws Exception {
+        MvcResult result = this.mvc.perform(get("/api/word/awe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]").value("awe"))
+                .andReturn();
+        String header = serverTiming(result);
+        assertTrue(header.contains("engine;dur="), "Server-Timing=" + header);
+    }
+
+    @Test
+    void givenLetters_whenPhraseAnagrams_thenBodyAfterAsyncDispatch() throws Exception {
+        MvcResult started = this.mvc.perform(get("/api/word/phrases/{letters}", "dormitory"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertNull(started.getResponse().getHeader("Server-Timing"), "Server-Timing;started");
+        MvcResult result = this.mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@ == 'dirty room')]").exists())
+                .andReturn();
+        assertTrue(serverTiming(result).contains("total;dur="), "Server-Timing");
+    }
+
+    @Test
+    void givenInvalidId_whenPlayGame_thenOnlyTotal() throws Exception {
+        MvcResult result = this.mvc.perform(post("/api/game/guess")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":\"!\",\"word\":\"abc\"}"))
+                .andExpect(status().isNotFound())
+                .andReturn();
+        assertTrue(serverTiming(result).startsWith("total;dur="), "Server-Timing");
+    }
+
+    @Test
+    void givenUnknownGame_whenBatchGuess_thenTimingHasRepoStage() throws Exception {
+        MvcResult result = this.mvc.perform(post("/api/game/guess/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":\"" + GameIds.encode(1L << 40) + "\",\"words\":[\"abc\"]}"))
+                .andExpect(status().isNotFound())
+                .andReturn();
+        assertTrue(serverTiming(result).contains("repo;dur="), "Server-Timing");
+    }
+
+}
@@ -0,0 +1,168 @@
+package asia.fourtitude.interviewq.jumble.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import asia.fourtitude.interviewq.jumble.TestConfig;
+
+@WebMvcTest(WordApiController.class)
+@Import(TestConfig.class)
+class WordApiControllerTest {
+
+    static final ObjectMapper OM = new ObjectMapper();
+
+    @Autowired
+    private MockMvc mvc;
+
+    private List<String> getWords(String uri, Object... uriVars) throws Exception {
+        MvcResult resu = this.mvc.perform(get(uri, uriVars))
+                .andExpect(status().isOk())
+                .andReturn();
+        return OM.readValue(resu.getResponse().getContentAsString(), new TypeReference<List<String>>() {});
+    }
+
+    @Test
+    void givenPattern_whenMatchPattern_thenWords() throws Exception {
+        assertEquals(Arrays.asList("cats", "cots", "cuts"), getWords("/api/word/pattern?pattern={pattern}", "c?ts"), "pattern=c?ts");
+        assertTrue(getWords("/api/word/pattern?pattern={pattern}", "c?t*ts").contains("cutlets"), "pattern=c?t*ts");
+        assertEquals(0, getWords("/api/word/pattern?pattern={pattern}", "c.t").size(), "pattern=c.t");
+    }
+
+    @Test
+    void givenNoPattern_whenMatchPattern_thenAutoCompleteOfPattern() throws Exception {
+        assertTrue(getWords("/api/word/pattern").contains("patterns"), "prefix=pattern");
+    }
+
+    @Test
+    void givenRegex_whenMatchRegex_thenWords() throws Exception {
+        assertEquals(Arrays.asList("cat", "catch", "cats", "cot", "cots", "cut", "cuts"),
+                getWords("/api/word/regex?regex={regex}", "c[aeiou]t(s|ch)?"), "regex=c[aeiou]t(s|ch)?");
+    }
+
+    @Test
+    void givenNoRegex_whenMatchRegex_thenAutoCompleteOfRegex() throws Exception {
+        // no word begins with "regex", but it is a prefix lookup, not a 400
+        assertEquals(0, getWords("/api/word/regex").size(), "prefix=regex");
+    }
+
+    @Test
+    void givenInvalidRegex_whenMatchRegex_thenBadRequest() throws Exception {
+        this.mvc.perform(get("/api/word/regex?regex={regex}", "c(at"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenLetters_whenSearch_thenWords() throws Exception {
+        List<String> words = getWords("/api/word/search?length={length}&letters={letters}", 7, "3a,6e");
+        assertEquals(Arrays.asList("abashed", "adapted", "adapter", "alarmed"), words.subList(0, 4), "length=7;letters=3a,6e");
+        assertTrue(getWords("/api/word/search?letters={letters}", "1y,-1w").contains("yellow"), "letters=1y,-1w");
+    }
+
+    @Test
+    void givenNoCriteria_whenSearch_thenAutoCompleteOfSearch() throws Exception {
+        List<String> words = getWords("/api/word/search");
+        assertTrue(words.contains("search"), "prefix=search");
+        assertTrue(words.contains("searched"), "prefix=search");
+    }
+
+    @Test
+    void givenInvalidLetters_whenSearch_thenBadRequest() throws Exception {
+        this.mvc.perform(get("/api/word/search?length={length}&letters={letters}", 7, "a3"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenLetters_whenAnagrams_thenWords() throws Exception {
+        assertEquals(Arrays.asList("aster", "rates", "resat", "stare", "tares", "taser", "tears"),
+                getWords("/api/word/anagrams/{letters}", "tresa"), "letters=tresa");
+        assertEquals(0, getWords("/api/word/anagrams/{letters}", "xzq").size(), "letters=xzq");
+    }
+
+    @Test
+    void givenLetters_whenPhraseAnagrams_thenPhrases() throws Exception {
+        MvcResult started = this.mvc.perform(get("/api/word/phrases/{letters}", "dormitory"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult resu = this.mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<String> phrases = OM.readValue(resu.getResponse().getContentAsString(), new TypeReference<List<String>>() {});
+        assertTrue(phrases.contains("dirty room"), "letters=dormitory");
+    }
+
+    @Test
+    void givenTooManyLetters_whenPhraseAnagrams_thenBadRequest() throws Exception {
+        this.mvc.perform(get("/api/word/phrases/{letters}", "abcdefghijklmnopqrstu"))
+                .andExpect(status().isBadRequest());
+        this.mvc.perform(get("/api/word/phrases/{letters}?limit={limit}", "dormitory", 0))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenRack_whenBestWords_thenHighestScoreFirst() throws Exception {
+        this.mvc.perform(get("/api/word/best/{rack}?limit={limit}", "quartz?", 2))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].word").value("quartz"))
+                .andExpect(jsonPath("$[0].score").value(24))
+                .andExpect(jsonPath("$[1].word").value("quiz"));
+        this.mvc.perform(get("/api/word/best/{rack}?limit={limit}", "quartz?", 0))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void givenPrefix_whenAutoComplete_thenWords() throws Exception {
+        assertTrue(getWords("/api/word/{prefix}", "awe").contains("awesome"), "prefix=awe");
+        assertEquals(0, getWords("/api/word/{prefix}", "aw").size(), "prefix=aw");
+    }
+
+    @Test
+    void givenCount_whenQuery_thenCountOnly() throws Exception {
+        int prefixCount = getWords("/api/word/{prefix}", "awe").size();
+        this.mvc.perform(get("/api/word/count/{prefix}", "awe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(prefixCount));
+        this.mvc.perform(get("/api/word/count/{prefix}", "aw"))
+                .andExpect(jsonPath("$.count").value(0));
+        this.mvc.perform(get("/api/word/count/pattern?pattern={pattern}", "c?ts"))
+                .andExpect(jsonPath("$.count").value(3));
+        int patternPrefixCount = getWords("/api/word/{prefix}", "pattern").size();
+        this.mvc.perform(get("/api/word/count/pattern"))
+                .andExpect(jsonPath("$.count").value(patternPrefixCount));
+        int searchCount = getWords("/api/word/search?length={length}&letters={letters}", 7, "3a,6e").size();
+        this.mvc.perform(get("/api/word/count/search?length={length}&letters={letters}", 7, "3a,6e"))
+                .andExpect(jsonPath("$.count").value(searchCount));
+        int lettersCount = getWords("/api/word/search?letters={letters}", "1q,-1z").size();
+        this.mvc.perform(get("/api/word/count/search?letters={letters}", "1q,-1z"))
+                .andExpect(jsonPath("$.count").value(lettersCount));
+        this.mvc.perform(get("/api/word/count/search?letters={letters}", "xa"))
+                .andExpect(status().isBadRequest());
+        this.mvc.perform(get("/api/word/count/subwords/{word}", "yellow"))
+                .andExpect(jsonPath("$.count").value(13));
+        this.mvc.perform(get("/api/word/{prefix}?count=true", "awe"))
+                .andExpect(jsonPath("$.length()").value(prefixCount));
+    }
+
+    @Test
+    void givenWord_whenSubWords_thenWords() throws Exception {
+        assertEquals(Arrays.asList("low", "lowly", "lye", "ole", "owe", "owl", "well", "welly", "woe", "yell", "yeow", "yew", "yowl"),
+                getWords("/api/word/subwords/{word}", "yellow"), "word=yellow");
+        assertEquals(Arrays.asList("lowly", "welly"), getWords("/api/word/subwords/{word}?minLength={minLength}", "yellow", 5),
+                "word=yellow;minLength=5");
+    }
+
+}
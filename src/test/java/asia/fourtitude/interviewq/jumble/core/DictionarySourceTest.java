@@ -0,0 +1,50 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+class DictionarySourceTest {
+
+    @Test
+    void givenWords_whenInMemory_thenNormalizedAndSorted() {
+        String[] words = DictionarySource.of(Arrays.asList("Yellow", " owl", "owl", "can't", null)).load();
+        assertArrayEquals(new String[] { "owl", "yellow" }, words, "words");
+    }
+
+    @Test
+    void givenLocation_whenClasspathOrFile_thenSameWords() throws Exception {
+        String[] bundled = DictionarySource.fromLocation("classpath:words.txt").load();
+        assertTrue(bundled.length > 0, "bundled");
+
+        Path file = Files.createTempFile("words", ".txt");
+        try {
+            Files.write(file, Arrays.asList("low", "Owl", "yell"), StandardCharsets.UTF_8);
+            String[] expected = { "low", "owl", "yell" };
+            assertArrayEquals(expected, DictionarySource.fromLocation(file.toString()).load(), "path");
+            assertArrayEquals(expected, DictionarySource.fromLocation("file:" + file).load(), "file:");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void givenBlankLocation_whenResolve_thenIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> DictionarySource.fromLocation(" "));
+    }
+
+    @Test
+    void givenEngineType_whenCreate_thenEngineOrIllegalArgument() {
+        DictionarySource source = DictionarySource.of(Arrays.asList("low", "owl"));
+        JumbleEngine engine = JumbleEngine.create(JumbleEngine.DEFAULT, source);
+        assertTrue(engine instanceof DefaultJumbleEngine, "default");
+        assertEquals(2, engine.getWordCount(), "words");
+        assertThrows(IllegalArgumentException.class, () -> JumbleEngine.create("unknown", source));
+    }
+
+}
@@ -0,0 +1,56 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class EngineEventsTest {
+
+    @Test
+    void givenRecording_whenLoadAndGenerateSubWords_thenEventsRecorded() throws Exception {
+        Path file = Files.createTempFile("jumble", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable("asia.fourtitude.jumble.DictionaryLoad");
+                recording.enable("asia.fourtitude.jumble.SubWords");
+                recording.start();
+                JumbleEngine engine = new DefaultJumbleEngine(DictionarySource.of(Arrays.asList("low", "owl", "yell", "yellow")));
+                engine.generateSubWords("Yellow", 3);
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            RecordedEvent load = null;
+            RecordedEvent subWords = null;
+            for (RecordedEvent event : events) {
+                String name = event.getEventType().getName();
+                if (name.equals("asia.fourtitude.jumble.DictionaryLoad")) {
+                    load = event;
+                } else if (name.equals("asia.fourtitude.jumble.SubWords")) {
+                    subWords = event;
+                }
+            }
+            assertNotNull(load, "DictionaryLoad");
+            assertEquals(4, load.getInt("words"), "DictionaryLoad.words");
+            assertTrue(load.getLong("indexBytes") > 0, "DictionaryLoad.indexBytes");
+            assertNotNull(subWords, "SubWords");
+            assertEquals("yellow", subWords.getString("word"), "SubWords.word");
+            assertEquals(6, subWords.getInt("wordLength"), "SubWords.wordLength");
+            assertEquals(3, subWords.getInt("minLength"), "SubWords.minLength");
+            assertEquals(3, subWords.getInt("count"), "SubWords.count");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
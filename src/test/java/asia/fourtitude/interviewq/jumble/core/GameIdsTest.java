@@ -0,0 +1,51 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class GameIdsTest {
+
+    @Test
+    void givenAnyId_whenEncodeDecode_thenSameId() {
+        long[] ids = { 1L, 61L, 62L, Long.MAX_VALUE, Long.MIN_VALUE, -1L };
+        for (long id : ids) {
+            String text = GameIds.encode(id);
+            assertTrue(text.length() <= GameIds.MAX_LENGTH, "id=" + id + ";length");
+            assertEquals(id, GameIds.decode(text), "id=" + id);
+        }
+        for (int ix = 0; ix < 10_000; ix += 1) {
+            long id = GameIds.next();
+            assertNotEquals(GameIds.INVALID, id, "next");
+            assertEquals(id, GameIds.decode(GameIds.encode(id)), "id=" + id);
+        }
+    }
+
+    @Test
+    void givenInvalidText_whenDecode_thenInvalid() {
+        assertEquals(GameIds.INVALID, GameIds.decode(null), "text=null");
+        assertEquals(GameIds.INVALID, GameIds.decode(""), "text=<EMPTY>");
+        assertEquals(GameIds.INVALID, GameIds.decode("abc-def"), "text=<PUNCT>");
+        assertEquals(GameIds.INVALID, GameIds.decode("4579256c-326f-4169-9b56-6d1d1a2c11f0"), "text=<UUID>");
+        assertEquals(GameIds.INVALID, GameIds.decode("abcdéf"), "text=<NON_ASCII>");
+        assertEquals(GameIds.INVALID, GameIds.decode("zzzzzzzzzzz"), "text=<OVERFLOW>");
+        assertEquals(GameIds.INVALID, GameIds.decode("000000000001"), "text=<TOO_LONG>");
+    }
+
+    @Test
+    void givenLeadingZeros_whenDecode_thenInvalid() {
+        String text = GameIds.encode(62L);
+        assertEquals(62L, GameIds.decode(text), "text=" + text);
+        assertEquals(GameIds.INVALID, GameIds.decode("0" + text), "text=0" + text);
+        assertEquals(GameIds.INVALID, GameIds.decode("0000000001"), "text=0000000001");
+        assertEquals(GameIds.INVALID, GameIds.decode("0"), "text=0");
+        for (int ix = 0; ix < 1_000; ix += 1) {
+            long id = GameIds.next();
+            String padded = "0" + GameIds.encode(id);
+            if (padded.length() <= GameIds.MAX_LENGTH) {
+                assertEquals(GameIds.INVALID, GameIds.decode(padded), "text=" + padded);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,254 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class GameStateTest {
+
+    static final int NUM_WORDS = 200;
+
+    static final int NUM_THREADS = 8;
+
+    /*
+     * Has each of the letters 'a' to 'j' three times, enough to spell
+     * every word from words().
+     */
+    static final String ORIGINAL = "abcdefghijabcdefghijabcdefghij";
+
+    private static List<String> words() {
+        List<String> words = new ArrayList<>();
+        for (int ix = 0; ix < NUM_WORDS; ix += 1) {
+            // three letters from 'a' to 'j', one per decimal digit of `ix`
+            words.add(new String(new char[] {
+                    (char) ('a' + ix / 100), (char) ('a' + ix / 10 % 10), (char) ('a' + ix % 10) }));
+        }
+        return words;
+    }
+
+    private static GameState newGameState() {
+        Map<String, Boolean> subWords = new TreeMap<>();
+        for (String word : words()) {
+            subWords.put(word, Boolean.FALSE);
+        }
+        return new GameState(ORIGINAL, "scramble", subWords);
+    }
+
+    /*
+     * Runs each of `tasks` on its own thread, all released at the same time.
+     */
+    private static void runConcurrently(Runnable[] tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.length);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (Runnable task : tasks) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    task.run();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void givenPreGuessedWords_whenCreate_thenKeepGuessed() {
+        Map<String, Boolean> subWords = new TreeMap<>();
+        subWords.put("low", Boolean.TRUE);
+        subWords.put("owl", Boolean.FALSE);
+        subWords.put("yell", Boolean.TRUE);
+        GameState state = new GameState("yellow", "wolley", subWords);
+        assertEquals(3, state.getTotalWords(), "totalWords");
+        assertEquals(1, state.getRemainingWords(), "remainingWords");
+        assertEquals(subWords, state.getSubWords(), "subWords");
+    }
+
+    @Test
+    void whenGuessWords_thenExpectGuessedByLength() {
+        Map<String, Boolean> subWords = new TreeMap<>();
+        subWords.put("low", Boolean.FALSE);
+        subWords.put("owl", Boolean.FALSE);
+        subWords.put("lowly", Boolean.FALSE);
+        subWords.put("yell", Boolean.FALSE);
+        GameState state = new GameState("yellow", "wolley", subWords);
+
+        assertFalse(state.updateGuessWord(null), "word=null");
+        assertFalse(state.updateGuessWord("yellow"), "word=yellow");
+        assertTrue(state.updateGuessWord("lowly"), "word=lowly");
+        assertTrue(state.updateGuessWord("yell"), "word=yell");
+        assertTrue(state.updateGuessWord("owl"), "word=owl");
+        assertTrue(state.updateGuessWord("owl"), "word=owl;again");
+
+        List<String> expected = new ArrayList<>();
+        expected.add("owl");
+        expected.add("yell");
+        expected.add("lowly");
+        assertEquals(expected, state.getGuessedWords(), "guessedWords");
+        assertEquals(1, state.getRemainingWords(), "remainingWords");
+        assertFalse(state.getSubWords().get("low"), "subWords[low]");
+        assertTrue(state.getSubWords().get("owl"), "subWords[owl]");
+    }
+
+    @Test
+    void givenWordNotFromOriginalLetters_whenGuess_thenIncorrect() {
+        Map<String, Boolean> subWords = new TreeMap<>();
+        subWords.put("lowly", Boolean.FALSE);
+        subWords.put("yell", Boolean.FALSE);
+        GameState state = new GameState("yellow", "wolley", subWords);
+
+        assertTrue(state.isMadeOfOriginalLetters("lowly"), "word=lowly");
+        assertTrue(state.isMadeOfOriginalLetters("yowl"), "word=yowl;not_sub_word");
+        assertFalse(state.isMadeOfOriginalLetters("yellows"), "word=yellows;too_long");
+        assertFalse(state.isMadeOfOriginalLetters("lull"), "word=lull;too_many_l");
+        assertFalse(state.isMadeOfOriginalLetters("yelp"), "word=yelp;letter_p");
+        assertFalse(state.isMadeOfOriginalLetters("Yell"), "word=Yell;upper_case");
+        assertFalse(state.isMadeOfOriginalLetters("ye!l"), "word=ye!l;punct");
+        assertFalse(state.isMadeOfOriginalLetters(""), "word=<EMPTY>");
+        assertFalse(state.updateGuessWord("yelp"), "updateGuessWord=yelp");
+        assertEquals(2, state.getRemainingWords(), "remainingWords");
+    }
+
+    @Test
+    void givenBlanksInScramble_whenGuess_thenBlankForAnyLetter() {
+        Map<String, Boolean> subWords = new TreeMap<>();
+        subWords.put("below", Boolean.FALSE);
+        subWords.put("yell", Boolean.FALSE);
+        GameState state = new GameState("yellow", "w?ll?y", subWords);
+
+        assertTrue(state.isMadeOfOriginalLetters("below"), "word=below;one_blank");
+        assertTrue(state.isMadeOfOriginalLetters("yelp"), "word=yelp;one_blank");
+        assertTrue(state.isMadeOfOriginalLetters("yelps"), "word=yelps;two_blanks");
+        assertFalse(state.isMadeOfOriginalLetters("bumps"), "word=bumps;three_blanks");
+        assertFalse(state.isMadeOfOriginalLetters("bellows"), "word=bellows;too_long");
+        assertTrue(state.updateGuessWord("below"), "updateGuessWord=below");
+        assertEquals(1, state.getRemainingWords(), "remainingWords");
+    }
+
+    @Test
+    void givenSameGame_whenGuessConcurrently_thenNoLostUpdate() throws Exception {
+        for (int round = 0; round < 50; round += 1) {
+            GameState state = newGameState();
+            List<String> words = words();
+            Runnable[] tasks = new Runnable[NUM_THREADS];
+            for (int tx = 0; tx < NUM_THREADS; tx += 1) {
+                int offset = tx;
+                tasks[tx] = () -> {
+                    // every thread guesses every word, starting at a different word
+                    for (int ix = 0; ix < words.size(); ix += 1) {
+                        assertTrue(state.updateGuessWord(words.get((ix + offset) % words.size())));
+                    }
+                };
+            }
+            runConcurrently(tasks);
+            assertEquals(0, state.getRemainingWords(), "round=" + round + ";remainingWords");
+            assertEquals(NUM_WORDS, state.getGuessedWords().size(), "round=" + round + ";guessedWords.size");
+        }
+    }
+
+    @Test
+    void givenSameGame_whenGuessLastWordsConcurrently_thenCompletedOnce() throws Exception {
+        for (int round = 0; round < 200; round += 1) {
+            GameState state = newGameState();
+            List<String> words = words();
+            // all but the last two words guessed, which every thread then races for
+            for (String word : words.subList(0, words.size() - 2)) {
+                assertEquals(GameState.Guess.CORRECT, state.guess(word), "word=" + word);
+            }
+            AtomicInteger completed = new AtomicInteger();
+            Runnable[] tasks = new Runnable[NUM_THREADS];
+            for (int tx = 0; tx < NUM_THREADS; tx += 1) {
+                String word = words.get(words.size() - 1 - tx % 2);
+                tasks[tx] = () -> {
+                    if (state.guess(word) == GameState.Guess.COMPLETED) {
+                        completed.incrementAndGet();
+                    }
+                };
+            }
+            runConcurrently(tasks);
+            assertEquals(1, completed.get(), "round=" + round + ";completed");
+            assertEquals(GameState.Guess.CORRECT, state.guess(words.get(0)), "round=" + round + ";repeat");
+        }
+    }
+
+    @Test
+    void givenWords_whenGuessAll_thenOutcomePerWord() {
+        Map<String, Boolean> subWords = new TreeMap<>();
+        subWords.put("low", Boolean.FALSE);
+        subWords.put("owl", Boolean.FALSE);
+        GameState state = new GameState("yellow", "wolley", subWords);
+        assertArrayEquals(new GameState.Guess[] { GameState.Guess.CORRECT, GameState.Guess.INCORRECT },
+                state.guessAll(Arrays.asList("low", "yelp")), "low,yelp");
+        assertArrayEquals(new GameState.Guess[] { GameState.Guess.COMPLETED, GameState.Guess.INCORRECT, GameState.Guess.INCORRECT },
+                state.guessAll(Arrays.asList("owl", null, "answer")), "owl,null,answer");
+        assertArrayEquals(new GameState.Guess[] { GameState.Guess.CORRECT, GameState.Guess.CORRECT },
+                state.guessAll(Arrays.asList("low", "owl")), "low,owl;again");
+        assertEquals(0, state.guessAll(new ArrayList<>()).length, "empty");
+    }
+
+    @Test
+    void givenBatch_whenReadConcurrently_thenNoneOrAll() throws Exception {
+        List<String> words = words();
+        for (int round = 0; round < 100; round += 1) {
+            GameState state = newGameState();
+            AtomicBoolean done = new AtomicBoolean();
+            List<Integer> seen = new ArrayList<>();
+            Runnable reader = () -> {
+                while (! done.get()) {
+                    int remaining = state.getRemainingWords();
+                    if (remaining != NUM_WORDS && remaining != 0) {
+                        seen.add(remaining);
+                    }
+                }
+            };
+            Runnable writer = () -> {
+                GameState.Guess[] guesses = state.guessAll(words);
+                done.set(true);
+                assertEquals(GameState.Guess.COMPLETED, guesses[guesses.length - 1]);
+            };
+            runConcurrently(new Runnable[] { reader, writer });
+            assertTrue(seen.isEmpty(), "round=" + round + ";partial=" + seen);
+        }
+    }
+
+    @Test
+    void givenDistinctGames_whenGuessConcurrently_thenAllGuessed() throws Exception {
+        List<String> words = words();
+        GameState[] states = new GameState[NUM_THREADS];
+        Runnable[] tasks = new Runnable[NUM_THREADS];
+        for (int tx = 0; tx < NUM_THREADS; tx += 1) {
+            GameState state = newGameState();
+            states[tx] = state;
+            tasks[tx] = () -> {
+                for (String word : words) {
+                    assertTrue(state.updateGuessWord(word), "word=" + word);
+                }
+            };
+        }
+        runConcurrently(tasks);
+        for (GameState state : states) {
+            assertEquals(0, state.getRemainingWords(), "remainingWords");
+            assertEquals(NUM_WORDS, state.getGuessedWords().size(), "guessedWords.size");
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class GameTokenCodecTest {
+
+    static final JumbleEngine ENGINE = new DefaultJumbleEngine();
+
+    @Test
+    void givenGuessedWords_whenEncodeDecode_thenSameGameState() {
+        GameTokenCodec codec = new GameTokenCodec("secret", ENGINE);
+        GameState state = ENGINE.createGameState(6, 3);
+        List<String> words = new ArrayList<>(state.getSubWords().keySet());
+        for (int ix = 0; ix < words.size(); ix += 2) {
+            state.updateGuessWord(words.get(ix));
+        }
+
+        String token = codec.encode(state);
+        GameState decoded = codec.decode(token);
+        assertNotNull(decoded, "decoded");
+        assertEquals(state.getOriginal(), decoded.getOriginal(), "original");
+        assertEquals(state.getSubWords(), decoded.getSubWords(), "subWords");
+        assertEquals(state.getGuessedWords(), decoded.getGuessedWords(), "guessedWords");
+    }
+
+    @Test
+    void givenMinLengthAboveShortestWord_whenEncodeDecode_thenSameSubWords() {
+        GameTokenCodec codec = new GameTokenCodec("secret", ENGINE);
+        GameState state = ENGINE.createGameState(8, 5);
+        GameState decoded = codec.decode(codec.encode(state));
+        assertNotNull(decoded, "decoded");
+        assertEquals(state.getSubWords(), decoded.getSubWords(), "subWords");
+    }
+
+    @Test
+    void givenTamperedOrForeignToken_whenDecode_thenNull() {
+        GameTokenCodec codec = new GameTokenCodec("secret", ENGINE);
+        String token = codec.encode(ENGINE.createGameState(6, 3));
+
+        assertNull(codec.decode(null), "token=null");
+        assertNull(codec.decode(""), "token=<EMPTY>");
+        assertNull(codec.decode("not a token"), "token=<GARBAGE>");
+        assertNull(codec.decode("!!!." + token.substring(token.indexOf('.') + 1)), "token=<BAD_BASE64>");
+        // flip a character within the original word
+        char ch = token.charAt(8);
+        String tampered = token.substring(0, 8) + (ch == 'A' ? 'B' : 'A') + token.substring(9);
+        assertNull(codec.decode(tampered), "token=<TAMPERED>");
+        assertNull(new GameTokenCodec("other", ENGINE).decode(token), "token=<OTHER_SECRET>");
+        assertNull(new GameTokenCodec(null, ENGINE).decode(token), "token=<RANDOM_SECRET>");
+    }
+
+    @Test
+    void givenTokenOlderThanMaxAge_whenDecode_thenNull() {
+        Instant issued = Instant.parse("2024-01-01T00:00:00Z");
+        GameTokenCodec issuer = new GameTokenCodec("secret", Duration.ofHours(1), ENGINE,
+                Clock.fixed(issued, ZoneOffset.UTC));
+        String token = issuer.encode(ENGINE.createGameState(6, 3));
+
+        GameTokenCodec inTime = new GameTokenCodec("secret", Duration.ofHours(1), ENGINE,
+                Clock.fixed(issued.plus(Duration.ofMinutes(59)), ZoneOffset.UTC));
+        assertNotNull(inTime.decode(token), "age=59m");
+        GameTokenCodec late = new GameTokenCodec("secret", Duration.ofHours(1), ENGINE,
+                Clock.fixed(issued.plus(Duration.ofMinutes(61)), ZoneOffset.UTC));
+        assertNull(late.decode(token), "age=61m");
+        assertThrows(IllegalArgumentException.class, () -> { new GameTokenCodec("secret", Duration.ZERO, ENGINE); }, "maxAge=0");
+    }
+
+    @Test
+    void givenSamePuzzle_whenDecodeAgain_thenSubWordsNotRegenerated() {
+        AtomicInteger generated = new AtomicInteger();
+        JumbleEngine engine = new DefaultJumbleEngine(DictionarySource.of(Arrays.asList("at", "cat", "act", "tac", "tack"))) {
+            @Override
+            public Collection<String> generateSubWords(String word, Integer minLength) {
+                generated.incrementAndGet();
+                return super.generateSubWords(word, minLength);
+            }
+        };
+        try {
+            GameTokenCodec codec = new GameTokenCodec("secret", engine);
+            GameState state = engine.createGameState(4, 2);
+            state.updateGuessWord("cat");
+            int before = generated.get();
+            for (int ix = 0; ix < 3; ix += 1) {
+                GameState decoded = codec.decode(codec.encode(state));
+                assertNotNull(decoded, "decoded ix=" + ix);
+                assertEquals(state.getGuessedWords(), decoded.getGuessedWords(), "guessedWords ix=" + ix);
+            }
+            assertEquals(before + 1, generated.get(), "generateSubWords calls");
+        } finally {
+            engine.close();
+        }
+    }
+
+}
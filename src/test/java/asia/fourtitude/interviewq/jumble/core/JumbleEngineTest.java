@@ -2,7 +2,14 @@ package asia.fourtitude.interviewq.jumble.core;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -159,6 +166,130 @@ class JumbleEngineTest {
         assertEquals(0, engine.searchWords('K', 'q', null).size(), "start=K;end=q;length=null");
     }
 
+    @Test
+    void givenLetters_whenAnagrams_thenSortedWords() {
+        List<String> expected = Arrays.asList("enlist", "inlets", "listen", "silent", "tinsel");
+        assertEquals(expected, engine.anagrams("nestil"), "letters=nestil");
+        assertEquals(expected, engine.anagrams(" Listen "), "letters=<PAD> Listen");
+        assertEquals(0, engine.anagrams("nestilz").size(), "letters=nestilz");
+        assertEquals(0, engine.anagrams("xzq").size(), "letters=xzq");
+    }
+
+    @Test
+    void givenInvalidLetters_whenAnagrams_thenEmptyList() {
+        assertEquals(0, engine.anagrams(null).size(), "letters=null");
+        assertEquals(0, engine.anagrams(" ").size(), "letters=<SPACE>");
+        assertEquals(0, engine.anagrams("list-en").size(), "letters=list-en");
+    }
+
+    @Test
+    void givenLetters_whenPhraseAnagrams_thenPhrases() throws Exception {
+        List<String> phrases = engine.phraseAnagrams("Dormitory", null, 100, Duration.ofSeconds(10)).get(10, TimeUnit.SECONDS);
+        assertTrue(phrases.contains("dirty room"), "letters=Dormitory;dirty room");
+        assertTrue(phrases.contains("dormitory"), "letters=Dormitory;dormitory");
+        for (String phrase : phrases) {
+            assertEquals("dimoorrty", DefaultJumbleEngine.signature(phrase.replace(" ", "")), "phrase=" + phrase);
+        }
+    }
+
+    @Test
+    void givenValidPattern_whenMatchPattern_thenSortedWords() {
+        assertEquals(Arrays.asList("cats", "cots", "cuts"), engine.wordsMatchingPattern("c?ts"), "pattern=c?ts");
+        assertEquals(Arrays.asList("cats", "cots", "cuts"), engine.wordsMatchingPattern(" C?TS "), "pattern=<PAD> C?TS");
+        Collection<String> words = engine.wordsMatchingPattern("c?t*ts");
+        assertEquals(8, words.size(), "pattern=c?t*ts");
+        assertTrue(words.contains("cutlets"), "pattern=c?t*ts;word=cutlets");
+        assertEquals(0, engine.wordsMatchingPattern("x?x*").size(), "pattern=x?x*");
+    }
+
+    @Test
+    void givenInvalidPattern_whenMatchPattern_thenEmptyList() {
+        assertEquals(0, engine.wordsMatchingPattern(null).size(), "pattern=null");
+        assertEquals(0, engine.wordsMatchingPattern("").size(), "pattern=<EMPTY>");
+        assertEquals(0, engine.wordsMatchingPattern(" ").size(), "pattern=<BLANK>");
+        assertEquals(0, engine.wordsMatchingPattern("c.t").size(), "pattern=c.t");
+    }
+
+    @Test
+    void givenValidRegex_whenMatchRegex_thenSortedWords() {
+        assertEquals(Arrays.asList("cat", "catch", "cats", "cot", "cots", "cut", "cuts"),
+                engine.wordsMatchingRegex("c[aeiou]t(s|ch)?"), "regex=c[aeiou]t(s|ch)?");
+        assertEquals(Arrays.asList("yellow"), engine.wordsMatchingRegex(" ^YEL+OW$ "), "regex=<PAD> ^YEL+OW$");
+        assertEquals(0, engine.wordsMatchingRegex("x[^a-z]").size(), "regex=x[^a-z]");
+    }
+
+    @Test
+    void givenInvalidRegex_whenMatchRegex_thenExpectException() {
+        assertThrows(IllegalArgumentException.class, () -> { engine.wordsMatchingRegex(null); }, "regex=null");
+        assertThrows(IllegalArgumentException.class, () -> { engine.wordsMatchingRegex("c(at"); }, "regex=c(at");
+        assertThrows(IllegalArgumentException.class, () -> { engine.wordsMatchingRegex("c\\w+"); }, "regex=c\\w+");
+    }
+
+    @Test
+    void givenTypo_whenSuggestWords_thenNearestFirst() {
+        assertEquals(Arrays.asList("below", "yellow", "yeow"), engine.suggestWords("yelow", 1, 10), "word=yelow;maxDistance=1");
+        assertEquals(Arrays.asList("below", "yellow", "yeow", "aglow"), engine.suggestWords(" YELOW ", 2, 4), "word=<PAD> YELOW;maxDistance=2");
+        assertFalse(engine.suggestWords("yellow", 1, 10).contains("yellow"), "word=yellow;self");
+        assertEquals(0, engine.suggestWords("can't", 2, 10).size(), "word=can't");
+        assertEquals(0, engine.suggestWords(null, 2, 10).size(), "word=null");
+    }
+
+    @Test
+    void givenInvalidDistance_whenSuggestWords_thenExpectException() {
+        assertThrows(IllegalArgumentException.class, () -> { engine.suggestWords("yelow", 0, 10); }, "maxDistance=0");
+        assertThrows(IllegalArgumentException.class, () -> { engine.suggestWords("yelow", 3, 10); }, "maxDistance=3");
+        assertThrows(IllegalArgumentException.class, () -> { engine.suggestWords("yelow", 1, -1); }, "limit=-1");
+    }
+
+    @Test
+    void givenLettersAtPositions_whenSearchWords_thenSortedWords() {
+        Map<Integer, Character> letters = new HashMap<>();
+        letters.put(3, 'a');
+        letters.put(6, 'E');
+        Collection<String> words = engine.searchWords(7, letters);
+        assertEquals(Arrays.asList("abashed", "adapted", "adapter", "alarmed"), new ArrayList<>(words).subList(0, 4), "length=7;3=a;6=e");
+        letters.put(-1, 'd');
+        assertTrue(engine.searchWords(7, letters).contains("abashed"), "length=7;3=a;6=e;-1=d");
+        assertFalse(engine.searchWords(7, letters).contains("adapter"), "length=7;3=a;6=e;-1=d");
+        assertEquals(engine.searchWords('f', 'r', null), engine.searchWords(null, letters("1f", "-1r")), "1=f;-1=r");
+    }
+
+    @Test
+    void givenInvalidPositions_whenSearchWords_thenEmptyList() {
+        assertEquals(0, engine.searchWords(null, null).size(), "length=null;letters=null");
+        assertEquals(0, engine.searchWords(0, null).size(), "length=0;letters=null");
+        assertEquals(0, engine.searchWords(7, letters("0a")).size(), "length=7;0=a");
+        assertEquals(0, engine.searchWords(7, letters("3@")).size(), "length=7;3=@");
+    }
+
+    private static Map<Integer, Character> letters(String... items) {
+        Map<Integer, Character> letters = new HashMap<>();
+        for (String item : items) {
+            letters.put(Integer.parseInt(item.substring(0, item.length() - 1)), item.charAt(item.length() - 1));
+        }
+        return letters;
+    }
+
+    @Test
+    void givenQueries_whenCount_thenSameAsListSize() {
+        assertEquals(engine.wordsMatchingPrefix("awe").size(), engine.countWordsMatchingPrefix("AWE"), "prefix=awe");
+        assertEquals(engine.wordsMatchingPattern("c?t*").size(), engine.countWordsMatchingPattern("c?t*"), "pattern=c?t*");
+        assertEquals(engine.searchWords('f', 'r', 5).size(), engine.countSearchWords('f', 'r', 5), "f;r;5");
+        assertEquals(engine.searchWords(7, letters("3a", "6e")).size(), engine.countSearchWords(7, letters("3a", "6e")), "length=7;3=a;6=e");
+        assertEquals(13, engine.countSubWords("yellow", 3), "word=yellow;len=3");
+        assertEquals(engine.generateSubWords("abstemiously", 4).size(), engine.countSubWords("abstemiously", 4), "word=abstemiously;len=4");
+    }
+
+    @Test
+    void givenInvalidQueries_whenCount_thenZero() {
+        assertEquals(0, engine.countWordsMatchingPrefix(" "), "prefix=<BLANK>");
+        assertEquals(0, engine.countWordsMatchingPattern("c.t"), "pattern=c.t");
+        assertEquals(0, engine.countSearchWords(null, null, null), "all null");
+        assertEquals(0, engine.countSearchWords(7, letters("0a")), "length=7;0=a");
+        assertEquals(0, engine.countSubWords("yellow", 0), "word=yellow;len=0");
+        assertEquals(0, engine.countSubWords("yellow", 7), "word=yellow;len=7");
+    }
+
     @Test
     void whenInvalidWord_thenEmptyList() {
         assertEquals(0, engine.generateSubWords(null, null).size(), "word=null;len=null");
@@ -190,6 +321,52 @@ class JumbleEngineTest {
         assertNotNull(engine.createGameState(6, 6), "length=6;minLength=6");
     }
 
+    @Test
+    void givenRackWithBlanks_whenGenerateSubWords_thenAnyLetterForBlank() {
+        assertEquals(Arrays.asList("ace", "act", "arc", "cab", "cad", "cam", "can", "cap", "car", "cat", "caw", "mac", "sac", "vac"),
+                engine.generateSubWordsWithBlanks("ca?", 3), "rack=ca?");
+        Collection<String> words = engine.generateSubWordsWithBlanks(" YEL?OW ", 5);
+        assertTrue(words.contains("yellow"), "rack=<PAD> YEL?OW;yellow");
+        assertTrue(words.contains("below"), "rack=<PAD> YEL?OW;below");
+        assertEquals(engine.generateSubWords("yellow", 3), engine.generateSubWordsWithBlanks("yellow", 3), "rack=yellow");
+        assertEquals(0, engine.generateSubWordsWithBlanks("ca!", 3).size(), "rack=ca!");
+        assertEquals(0, engine.generateSubWordsWithBlanks(null, 3).size(), "rack=null");
+        assertEquals(0, engine.generateSubWordsWithBlanks("ca?", 0).size(), "rack=ca?;len=0");
+        assertEquals(0, engine.generateSubWordsWithBlanks("ca?", 4).size(), "rack=ca?;len=4");
+    }
+
+    @Test
+    void givenBlanks_whenCreateGameState_thenBlanksInScramble() {
+        GameState state = engine.createGameState(6, 3, 2);
+        assertEquals(2, state.getScramble().chars().filter(ch -> ch == '?').count(), "scramble=" + state.getScramble());
+        assertFalse(state.getSubWords().containsKey(state.getOriginal()), "original");
+        assertEquals(new ArrayList<>(engine.generateSubWordsWithBlanks(state.getScramble(), 3)).stream()
+                .filter(word -> ! word.equals(state.getOriginal())).count(), state.getTotalWords(), "totalWords");
+        for (String word : state.getSubWords().keySet()) {
+            assertTrue(state.updateGuessWord(word), "word=" + word);
+        }
+        assertThrows(IllegalArgumentException.class, () -> { engine.createGameState(6, 3, -1); }, "blanks=-1");
+        assertThrows(IllegalArgumentException.class, () -> { engine.createGameState(6, 3, 6); }, "blanks=6");
+    }
+
+    @Test
+    void givenRack_whenBestWords_thenHighestScoreFirst() {
+        List<ScoredWord> best = engine.bestWords(" Quartz? ", null, 2);
+        assertEquals(Arrays.asList(new ScoredWord("quartz", 24), new ScoredWord("quiz", 21)), best, "rack=<PAD> Quartz?");
+        assertEquals(0, engine.bestWords("quartz!", null, 2).size(), "rack=quartz!");
+        assertEquals(0, engine.bestWords("quartz", 0, 2).size(), "rack=quartz;minLength=0");
+        assertEquals(0, engine.bestWords("quartz", null, 0).size(), "rack=quartz;limit=0");
+        assertThrows(IllegalArgumentException.class, () -> { engine.bestWords("quartz", null, -1); }, "limit=-1");
+    }
+
+    @Test
+    void givenLetterValues_whenBestWords_thenScoredWithValues() {
+        JumbleEngine custom = new DefaultJumbleEngine(DictionarySource.of(Arrays.asList("low", "owl", "yellow")),
+                LetterValues.parse("1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,5,1,1,1"));
+        assertEquals(Arrays.asList(new ScoredWord("yellow", 10), new ScoredWord("low", 7), new ScoredWord("owl", 7)),
+                custom.bestWords("yellow", null, 3), "letterValues=w5");
+    }
+
     @Test
     void givenInvalidInput_whenCreateGameState_thenExpectException() {
         assertThrows(NullPointerException.class, () -> { engine.createGameState(null, null); }, "length=null;minLength=null");
@@ -198,4 +375,14 @@ class JumbleEngineTest {
         assertThrows(IllegalArgumentException.class, () -> { engine.createGameState(4, 5); }, "length=4;minLength=5");
     }
 
+    @Test
+    void givenWordList_whenCreateEngine_thenNormalizedAndSorted() {
+        JumbleEngine custom = new DefaultJumbleEngine(DictionarySource.of(Arrays.asList(" Owl", "yellow", "", "can't", "low", "owl", null)));
+        assertTrue(custom.exists("owl"), "word=owl");
+        assertTrue(custom.exists("yellow"), "word=yellow");
+        assertFalse(custom.exists("can't"), "word=can't");
+        assertEquals(Arrays.asList("low", "owl"), custom.searchWords(null, null, 3), "searchWords");
+        assertEquals(Arrays.asList("low", "owl"), custom.generateSubWords("yellow", 3), "generateSubWords");
+    }
+
 }
@@ -0,0 +1,71 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class LevenshteinAutomatonTest {
+
+    static String[] words;
+
+    static WordTrie trie;
+
+    @BeforeAll
+    static void loadWords() {
+        words = WordListLoader.loadResource("words.txt");
+        trie = new WordTrie(words);
+    }
+
+    private static int distance(String left, String right) {
+        int[] row = new int[right.length() + 1];
+        for (int jx = 0; jx <= right.length(); jx += 1) {
+            row[jx] = jx;
+        }
+        for (int ix = 1; ix <= left.length(); ix += 1) {
+            int diagonal = row[0];
+            row[0] = ix;
+            for (int jx = 1; jx <= right.length(); jx += 1) {
+                int above = row[jx];
+                int replace = diagonal + (left.charAt(ix - 1) == right.charAt(jx - 1) ? 0 : 1);
+                row[jx] = Math.min(replace, Math.min(above + 1, row[jx - 1] + 1));
+                diagonal = above;
+            }
+        }
+        return row[right.length()];
+    }
+
+    private static List<String> expected(String word, int maxDistance) {
+        List<String> found = new ArrayList<>();
+        for (int target = 1; target <= maxDistance; target += 1) {
+            for (String candidate : words) {
+                if (distance(word, candidate) == target) {
+                    found.add(candidate);
+                }
+            }
+        }
+        return found;
+    }
+
+    @Test
+    void givenWords_whenFind_thenSameAsEditDistance() {
+        String[] inputs = { "yelow", "rnak", "teh", "recieve", "a", "zzzzzz", "yellow", "qwertyuiop" };
+        for (String input : inputs) {
+            for (int maxDistance = 1; maxDistance <= 2; maxDistance += 1) {
+                List<String> actual = new LevenshteinAutomaton(input, maxDistance).find(trie, Integer.MAX_VALUE);
+                assertEquals(expected(input, maxDistance), actual, "word=" + input + ";maxDistance=" + maxDistance);
+            }
+        }
+    }
+
+    @Test
+    void givenLimit_whenFind_thenNearestFirst() {
+        List<String> actual = new LevenshteinAutomaton("yelow", 2).find(trie, 3);
+        assertEquals(Arrays.asList("below", "yellow", "yeow"), actual, "nearest");
+    }
+
+}
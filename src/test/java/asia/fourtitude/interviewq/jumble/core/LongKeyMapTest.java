@@ -0,0 +1,49 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LongKeyMapTest {
+
+    @Test
+    void givenRandomOperations_thenSameAsHashMap() {
+        LongKeyMap<String> map = new LongKeyMap<>();
+        Map<Long, String> expected = new HashMap<>();
+        Random random = new Random(42);
+        for (int ix = 0; ix < 200_000; ix += 1) {
+            // small key range, so that puts and removes hit the same probe runs
+            long key = 1 + random.nextInt(5_000);
+            switch (random.nextInt(3)) {
+            case 0:
+                assertEquals(expected.put(key, "v" + ix), map.put(key, "v" + ix), "put=" + key);
+                break;
+            case 1:
+                assertEquals(expected.remove(key), map.remove(key), "remove=" + key);
+                break;
+            default:
+                assertEquals(expected.get(key), map.get(key), "get=" + key);
+                break;
+            }
+        }
+        assertEquals(expected.size(), map.size(), "size");
+        for (Map.Entry<Long, String> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()), "get=" + entry.getKey());
+        }
+    }
+
+    @Test
+    void whenPutIfAbsent_thenKeepFirst() {
+        LongKeyMap<String> map = new LongKeyMap<>();
+        assertNull(map.putIfAbsent(7L, "first"), "putIfAbsent=first");
+        assertEquals("first", map.putIfAbsent(7L, "second"), "putIfAbsent=second");
+        assertEquals("first", map.get(7L), "get");
+        assertNull(map.get(0L), "get=0");
+        assertThrows(IllegalArgumentException.class, () -> { map.put(0L, "zero"); }, "put=0");
+    }
+
+}
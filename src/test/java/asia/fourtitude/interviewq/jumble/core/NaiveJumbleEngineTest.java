@@ -0,0 +1,120 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/*
+ * The naive engine must answer as the default engine does, over the same
+ * word list.
+ */
+class NaiveJumbleEngineTest {
+
+    static JumbleEngine indexed;
+
+    static JumbleEngine naive;
+
+    @BeforeAll
+    static void createEngines() {
+        DictionarySource source = DictionarySource.classpath("words.txt");
+        indexed = JumbleEngine.create(JumbleEngine.DEFAULT, source);
+        naive = JumbleEngine.create(JumbleEngine.NAIVE, source);
+    }
+
+    @AfterAll
+    static void closeEngines() {
+        indexed.close();
+        naive.close();
+    }
+
+    @Test
+    void givenType_whenCreate_thenEngineOfType() {
+        assertTrue(naive instanceof NaiveJumbleEngine, "naive");
+        assertEquals(indexed.getWordCount(), naive.getWordCount(), "getWordCount");
+        assertTrue(((JumbleEngineMetrics) naive).getIndexBytes() < ((JumbleEngineMetrics) indexed).getIndexBytes(),
+                "getIndexBytes");
+    }
+
+    @Test
+    void givenWords_whenLookups_thenSameAsDefault() {
+        assertEquals(indexed.retrievePalindromeWords(), naive.retrievePalindromeWords(), "retrievePalindromeWords");
+        for (String word : new String[] { "abc", "listen", " Silent ", "zzz", "", null }) {
+            assertEquals(indexed.exists(word), naive.exists(word), "exists word=" + word);
+            assertEquals(indexed.wordsMatchingPrefix(word), naive.wordsMatchingPrefix(word), "prefix word=" + word);
+            assertEquals(indexed.countWordsMatchingPrefix(word), naive.countWordsMatchingPrefix(word), "countPrefix word=" + word);
+            assertEquals(indexed.anagrams(word), naive.anagrams(word), "anagrams word=" + word);
+            assertEquals(indexed.suggestWords(word, 1, 20), naive.suggestWords(word, 1, 20), "suggest 1 word=" + word);
+            assertEquals(indexed.suggestWords(word, 2, 20), naive.suggestWords(word, 2, 20), "suggest 2 word=" + word);
+        }
+    }
+
+    @Test
+    void givenPatterns_whenMatch_thenSameAsDefault() {
+        for (String pattern : new String[] { "c?t", "*tion", "a*b*c", "?", "*", "x?z*", "no-pattern" }) {
+            assertEquals(indexed.wordsMatchingPattern(pattern), naive.wordsMatchingPattern(pattern), "pattern=" + pattern);
+            assertEquals(indexed.countWordsMatchingPattern(pattern), naive.countWordsMatchingPattern(pattern), "countPattern=" + pattern);
+        }
+        for (String regex : new String[] { "c[aeiou]t", "^(re|un).{3}ing$", "q[^u].*", "a{2,}b" }) {
+            assertEquals(indexed.wordsMatchingRegex(regex), naive.wordsMatchingRegex(regex), "regex=" + regex);
+        }
+        assertThrows(IllegalArgumentException.class, () -> { naive.wordsMatchingRegex("(ab"); }, "regex=(ab");
+    }
+
+    @Test
+    void givenConstraints_whenSearch_thenSameAsDefault() {
+        assertEquals(indexed.searchWords('c', 't', 3), naive.searchWords('c', 't', 3), "c..t 3");
+        assertEquals(indexed.searchWords('z', null, null), naive.searchWords('z', null, null), "z");
+        assertEquals(indexed.countSearchWords(null, 'q', 5), naive.countSearchWords(null, 'q', 5), "q 5");
+        assertEquals(indexed.searchWords(null, null, null), naive.searchWords(null, null, null), "none");
+        Map<Integer, Character> letters = new HashMap<>();
+        letters.put(2, 'a');
+        letters.put(-2, 'e');
+        assertEquals(indexed.searchWords(7, letters), naive.searchWords(7, letters), "7, 2=a, -2=e");
+        assertEquals(indexed.countSearchWords(null, letters), naive.countSearchWords(null, letters), "2=a, -2=e");
+        letters.put(20, 'a');
+        assertEquals(indexed.searchWords(null, letters), naive.searchWords(null, letters), "20=a");
+    }
+
+    @Test
+    void givenSeeds_whenSubWords_thenSameAsDefault() {
+        for (String seed : new String[] { "cat", "listen", "counterrevolutionary", "ab?", "qu??" }) {
+            assertEquals(indexed.generateSubWords(seed, 3), naive.generateSubWords(seed, 3), "subWords seed=" + seed);
+            assertEquals(indexed.countSubWords(seed, 3), naive.countSubWords(seed, 3), "countSubWords seed=" + seed);
+            assertEquals(indexed.generateSubWordsWithBlanks(seed, 2), naive.generateSubWordsWithBlanks(seed, 2),
+                    "subWordsWithBlanks seed=" + seed);
+            assertEquals(indexed.bestWords(seed, 2, 10), naive.bestWords(seed, 2, 10), "bestWords seed=" + seed);
+        }
+    }
+
+    @Test
+    void givenLetters_whenPhraseAnagrams_thenSameAsDefault() throws Exception {
+        Duration timeout = Duration.ofSeconds(10);
+        List<String> expected = indexed.phraseAnagrams("dormitory", 3, 100_000, timeout).get(10, TimeUnit.SECONDS);
+        List<String> actual = naive.phraseAnagrams("dormitory", 3, 100_000, timeout).get(10, TimeUnit.SECONDS);
+        assertEquals(new TreeSet<>(expected), new TreeSet<>(actual), "dormitory");
+        assertTrue(actual.contains("dirty room"), "dirty room");
+    }
+
+    @Test
+    void givenLength_whenCreateGameState_thenSubWordsOfOriginal() {
+        GameState state = naive.createGameState(6, 3);
+        assertEquals(6, state.getOriginal().length(), "original");
+        List<String> expected = new ArrayList<>(indexed.generateSubWords(state.getOriginal(), 3));
+        expected.remove(state.getOriginal());
+        assertEquals(expected, new ArrayList<>(state.getSubWords().keySet()), "subWords");
+        Collection<String> none = naive.generateSubWords("cat", 0);
+        assertTrue(none.isEmpty(), "minLength=0");
+    }
+
+}
@@ -0,0 +1,149 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class PhraseAnagramSolverTest {
+
+    static final String[] WORDS = {
+            "a", "act", "at", "cat", "cog", "do", "dog", "dot", "go", "god", "good", "got", "tac", "to", "tog" };
+
+    static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final DefaultJumbleEngine engine = new DefaultJumbleEngine(DictionarySource.of(Arrays.asList(WORDS)));
+
+    @AfterEach
+    void tearDown() {
+        this.engine.close();
+    }
+
+    /*
+     * Every multiset of words, words picked in list order, using exactly
+     * the letters.
+     */
+    private static void bruteForce(String letters, int from, List<String> phrase, TreeSet<String> found) {
+        if (letters.isEmpty()) {
+            found.add(String.join(" ", phrase));
+            return;
+        }
+        for (int ix = from; ix < WORDS.length; ix += 1) {
+            String rest = letters;
+            for (char ch : WORDS[ix].toCharArray()) {
+                int at = rest.indexOf(ch);
+                rest = at < 0 ? null : rest.substring(0, at) + rest.substring(at + 1);
+                if (rest == null) {
+                    break;
+                }
+            }
+            if (rest != null) {
+                phrase.add(WORDS[ix]);
+                bruteForce(rest, ix, phrase, found);
+                phrase.remove(phrase.size() - 1);
+            }
+        }
+    }
+
+    @Test
+    void givenLetters_whenPhraseAnagrams_thenSameAsBruteForce() throws Exception {
+        for (String letters : new String[] { "catdog", "goodcat", "dogact", "gogo", "tacotac", "adoggoat" }) {
+            TreeSet<String> expected = new TreeSet<>();
+            bruteForce(letters, 0, new ArrayList<>(), expected);
+            List<String> actual = this.engine.phraseAnagrams(letters, 1, 1000, TIMEOUT).get(10, TimeUnit.SECONDS);
+            assertEquals(new ArrayList<>(expected), actual, "letters=" + letters);
+        }
+    }
+
+    @Test
+    void givenMinLength_whenPhraseAnagrams_thenNoShortWords() throws Exception {
+        List<String> phrases = this.engine.phraseAnagrams("catdog", 3, 1000, TIMEOUT).get(10, TimeUnit.SECONDS);
+        assertTrue(phrases.contains("act dog"), "act dog");
+        assertFalse(phrases.contains("cat do g"), "do");
+        assertEquals(0, this.engine.phraseAnagrams("catdog", 0, 1000, TIMEOUT).get().size(), "minLength=0");
+    }
+
+    @Test
+    void givenLimit_whenPhraseAnagrams_thenAtMostLimit() throws Exception {
+        List<String> phrases = this.engine.phraseAnagrams("catdog", 1, 2, TIMEOUT).get(10, TimeUnit.SECONDS);
+        assertEquals(2, phrases.size(), "limit=2");
+    }
+
+    @Test
+    void givenCancel_whenPhraseAnagrams_thenStopped() {
+        try (JumbleEngine full = new DefaultJumbleEngine()) {
+            CompletableFuture<List<String>> future = full.phraseAnagrams("williamshakespeare", 1, 1_000_000, TIMEOUT);
+            assertTrue(future.cancel(false), "cancel");
+            assertTrue(future.isCancelled(), "isCancelled");
+        }
+    }
+
+    @Test
+    void givenClosed_whenPhraseAnagrams_thenRejected() {
+        this.engine.close();
+        assertEquals(0, this.engine.getSolverActiveCount(), "active");
+        assertEquals(0, this.engine.getSolverQueuedCount(), "queued");
+        assertThrows(RejectedExecutionException.class, () -> { this.engine.phraseAnagrams("catdog", 1, 10, TIMEOUT); });
+    }
+
+    @Test
+    void givenPhraseSearchesOnEveryThread_whenLongSeedSubWords_thenNotQueuedBehind() throws Exception {
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<CompletableFuture<List<String>>> searches = new ArrayList<>();
+        try (DefaultJumbleEngine full = new DefaultJumbleEngine()) {
+            for (int ix = 0; ix < threads; ix += 1) {
+                searches.add(full.phraseAnagrams("williamshakespeare", 1, 1_000_000, Duration.ofSeconds(30)));
+            }
+            long waitUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (full.getSolverActiveCount() < threads && System.nanoTime() - waitUntil < 0) {
+                Thread.sleep(10);
+            }
+            assertEquals(threads, full.getSolverActiveCount(), "solver threads busy");
+
+            long start = System.nanoTime();
+            Collection<String> subWords = full.generateSubWords("counterrevolutionary", 3);
+            int count = full.countSubWords("counterrevolutionary", 3);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1), "not queued behind the phrase searches");
+            assertTrue(subWords.contains("revolution"), "revolution");
+            assertEquals(subWords.size(), count, "count");
+            for (CompletableFuture<List<String>> search : searches) {
+                assertFalse(search.isDone(), "phrase search still running");
+            }
+        } finally {
+            for (CompletableFuture<List<String>> search : searches) {
+                search.cancel(false);
+            }
+        }
+    }
+
+    @Test
+    void givenTimeout_whenPhraseAnagrams_thenPartialResult() throws Exception {
+        try (JumbleEngine full = new DefaultJumbleEngine()) {
+            long start = System.nanoTime();
+            List<String> phrases = full.phraseAnagrams("williamshakespeare", 1, 1_000_000, Duration.ofMillis(200))
+                    .get(10, TimeUnit.SECONDS);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "stops near the time budget");
+            assertTrue(phrases.size() < 1_000_000, "partial");
+        }
+    }
+
+    @Test
+    void givenInvalidInput_whenPhraseAnagrams_thenEmptyOrException() throws Exception {
+        assertEquals(0, this.engine.phraseAnagrams(null, 1, 10, TIMEOUT).get().size(), "letters=null");
+        assertEquals(0, this.engine.phraseAnagrams("cat-dog", 1, 10, TIMEOUT).get().size(), "letters=cat-dog");
+        assertThrows(IllegalArgumentException.class, () -> { this.engine.phraseAnagrams("abcdefghijklmnopqrstu", 1, 10, TIMEOUT); }, "letters=21");
+        assertThrows(IllegalArgumentException.class, () -> { this.engine.phraseAnagrams("catdog", 1, 0, TIMEOUT); }, "limit=0");
+        assertThrows(IllegalArgumentException.class, () -> { this.engine.phraseAnagrams("catdog", 1, 10, Duration.ZERO); }, "timeout=0");
+    }
+
+}
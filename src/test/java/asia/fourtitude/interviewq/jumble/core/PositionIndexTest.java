@@ -0,0 +1,72 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class PositionIndexTest {
+
+    static String[] words;
+
+    static PositionIndex index;
+
+    @BeforeAll
+    static void loadWords() {
+        words = WordListLoader.loadResource("words.txt");
+        index = new PositionIndex(words);
+    }
+
+    private static List<String> expected(int length, int[] positions, char[] letters) {
+        List<String> found = new ArrayList<>();
+        for (String word : words) {
+            boolean matched = length == 0 || word.length() == length;
+            for (int ix = 0; ix < positions.length && matched; ix += 1) {
+                int pos = positions[ix] > 0 ? positions[ix] - 1 : word.length() + positions[ix];
+                matched = pos >= 0 && pos < word.length() && word.charAt(pos) == letters[ix];
+            }
+            if (matched) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    @Test
+    void givenRandomConstraints_whenFind_thenSameAsScan() {
+        Random random = new Random(11);
+        for (int round = 0; round < 200; round += 1) {
+            int length = random.nextInt(3) == 0 ? 0 : 3 + random.nextInt(8);
+            int count = 1 + random.nextInt(3);
+            int[] positions = new int[count];
+            char[] letters = new char[count];
+            for (int ix = 0; ix < count; ix += 1) {
+                positions[ix] = (1 + random.nextInt(6)) * (random.nextBoolean() ? 1 : -1);
+                letters[ix] = "aeiourstln".charAt(random.nextInt(10));
+            }
+            List<String> expected = expected(length, positions, letters);
+            assertEquals(expected, index.find(length, positions, letters), "round=" + round);
+            assertEquals(expected.size(), index.count(length, positions, letters), "round=" + round + ";count");
+        }
+    }
+
+    @Test
+    void givenOutOfRange_whenFind_thenEmpty() {
+        assertTrue(index.find(99, new int[0], new char[0]).isEmpty(), "length=99");
+        assertTrue(index.find(0, new int[] { 99 }, new char[] { 'a' }).isEmpty(), "position=99");
+        assertEquals(words.length, index.find(0, new int[0], new char[0]).size(), "no constraint");
+        assertEquals(0, index.count(99, new int[0], new char[0]), "length=99;count");
+        assertEquals(0, index.count(0, new int[] { 99 }, new char[] { 'a' }), "position=99;count");
+        assertEquals(words.length, index.count(0, new int[0], new char[0]), "no constraint;count");
+    }
+
+    @Test
+    void givenIndex_whenBytes_thenPositive() {
+        assertTrue(index.bytes() > 0, "bytes");
+    }
+
+}
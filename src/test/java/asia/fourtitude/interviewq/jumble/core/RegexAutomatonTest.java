@@ -0,0 +1,79 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class RegexAutomatonTest {
+
+    static String[] words;
+
+    static WordTrie trie;
+
+    @BeforeAll
+    static void loadWords() {
+        words = WordListLoader.loadResource("words.txt");
+        trie = new WordTrie(words);
+    }
+
+    private static List<String> expected(String regex) {
+        Pattern pattern = Pattern.compile(regex, Pattern.CASE_INSENSITIVE);
+        List<String> found = new ArrayList<>();
+        for (String word : words) {
+            if (pattern.matcher(word).matches()) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    private static List<String> actual(String regex) {
+        List<String> found = new ArrayList<>();
+        RegexAutomaton.compile(regex).visit(trie, found::add);
+        return found;
+    }
+
+    @Test
+    void givenRegexes_whenVisit_thenSameAsJavaRegex() {
+        String[] regexes = {
+                "c[aeiou]t(s|ch)?", ".*", "...", "[^aeiou]+", "(ab|ba)+.*", "a.{3,5}z?", "(x|y|z)[a-m]{2}",
+                "q[^u].*", "(re)?cycl(e|ed|es|ing)", ".*(ing|tion)s?", "a*b*c*", "[a-c][d-f][g-i].*", "(a|)b{2}.*",
+                "^yellow$", "YeL+oW", "((((a))))pple", "(?:un)?lock(s|ed)?", "k.{0}i.{1,}" };
+        for (String regex : regexes) {
+            assertEquals(expected(regex), actual(regex), "regex=" + regex);
+        }
+    }
+
+    @Test
+    void givenEmptyClass_whenVisit_thenNothing() {
+        assertTrue(actual("a[^a-z]b").isEmpty(), "a[^a-z]b");
+    }
+
+    @Test
+    void givenInvalidRegex_whenCompile_thenIllegalArgument() {
+        String[] regexes = { null, " ", "a(b", "a)b", "*a", "a{2,1}", "a{x}", "[a-", "[z-a]", "a\\d", "a b", "ab{1" };
+        for (String regex : regexes) {
+            assertThrows(IllegalArgumentException.class, () -> RegexAutomaton.compile(regex), "regex=" + regex);
+        }
+    }
+
+    @Test
+    void givenLargeRepeat_whenCompile_thenIllegalArgument() {
+        assertThrows(IllegalArgumentException.class, () -> RegexAutomaton.compile("(.{999}){999}"), "nfa states");
+    }
+
+    @Test
+    void givenBudget_whenExceeded_thenIllegalArgument() {
+        // the n-th letter from the end blows up the DFA
+        RegexAutomaton states = RegexAutomaton.compile(".*a.{12}", 100, RegexAutomaton.MAX_STEPS);
+        assertThrows(IllegalArgumentException.class, () -> states.visit(trie, word -> { }), "states");
+        RegexAutomaton steps = RegexAutomaton.compile(".*", RegexAutomaton.MAX_DFA_STATES, 1_000);
+        assertThrows(IllegalArgumentException.class, () -> steps.visit(trie, word -> { }), "steps");
+    }
+
+}
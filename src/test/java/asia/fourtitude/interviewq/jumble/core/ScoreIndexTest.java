@@ -0,0 +1,99 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ScoreIndexTest {
+
+    static String[] words;
+
+    static ScoreIndex index;
+
+    @BeforeAll
+    static void loadWords() {
+        words = WordListLoader.loadResource("words.txt");
+        index = new ScoreIndex(new WordTrie(words), words, LetterValues.SCRABBLE);
+    }
+
+    /*
+     * Scores every word buildable from the rack; a letter run out takes a
+     * blank, `?`, and does not score.
+     */
+    private static List<ScoredWord> expected(String rack, int minLength, int limit) {
+        int[] rackCounts = new int[26];
+        int blanks = 0;
+        for (char ch : rack.toCharArray()) {
+            if (ch == '?') {
+                blanks += 1;
+            } else {
+                rackCounts[ch - 'a'] += 1;
+            }
+        }
+        List<ScoredWord> found = new ArrayList<>();
+        for (String word : words) {
+            if (word.length() < minLength || word.length() > rack.length()) {
+                continue;
+            }
+            int[] counts = rackCounts.clone();
+            int over = 0;
+            int score = 0;
+            for (char ch : word.toCharArray()) {
+                if (--counts[ch - 'a'] < 0) {
+                    over += 1;
+                } else {
+                    score += LetterValues.SCRABBLE.value(ch);
+                }
+            }
+            if (over <= blanks) {
+                found.add(new ScoredWord(word, score));
+            }
+        }
+        found.sort(ScoreIndex.BEST_FIRST);
+        return found.subList(0, Math.min(limit, found.size()));
+    }
+
+    @Test
+    void givenRack_whenBest_thenHighestScoreFirst() {
+        List<ScoredWord> best = index.best("quartz?", 3, 3);
+        assertEquals(Arrays.asList(new ScoredWord("quartz", 24), new ScoredWord("quiz", 21), new ScoredWord("quart", 14)),
+                best, "rack=quartz?");
+    }
+
+    @Test
+    void givenRandomRacks_whenBest_thenSameAsScan() {
+        Random random = new Random(49);
+        for (int ix = 0; ix < 100; ix += 1) {
+            char[] rack = words[random.nextInt(words.length)].toCharArray();
+            int blanks = random.nextInt(Math.min(3, rack.length));
+            for (int bx = 0; bx < blanks; bx += 1) {
+                rack[random.nextInt(rack.length)] = '?';
+            }
+            String seed = new String(rack);
+            int minLength = 1 + random.nextInt(4);
+            int limit = 1 + random.nextInt(20);
+            assertEquals(expected(seed, minLength, limit), index.best(seed, minLength, limit),
+                    "rack=" + seed + ";minLength=" + minLength + ";limit=" + limit);
+        }
+    }
+
+    @Test
+    void givenLetterValues_whenParse_thenValues() {
+        LetterValues values = LetterValues.parse("1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1, 2");
+        assertEquals(2, values.value('z'), "z");
+        assertEquals(6, values.score("fuzz"), "fuzz");
+        assertEquals(LetterValues.SCRABBLE, LetterValues.parse(LetterValues.SCRABBLE.toString()), "scrabble");
+        assertThrows(IllegalArgumentException.class, () -> { LetterValues.parse("1,2,3"); }, "3 values");
+        assertThrows(IllegalArgumentException.class, () -> { LetterValues.parse(null); }, "null");
+        assertThrows(IllegalArgumentException.class, () -> {
+            LetterValues.parse("1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,1,x");
+        }, "x");
+    }
+
+}
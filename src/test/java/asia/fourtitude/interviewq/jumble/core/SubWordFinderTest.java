@@ -0,0 +1,109 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class SubWordFinderTest {
+
+    static String[] words;
+
+    static WordTrie trie;
+
+    static ForkJoinPool pool;
+
+    @BeforeAll
+    static void loadWords() {
+        words = WordListLoader.loadResource("words.txt");
+        trie = new WordTrie(words);
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    static void shutdownPool() {
+        pool.shutdown();
+    }
+
+    /*
+     * Scans every word; a letter run out takes one of the blanks, `?`.
+     */
+    private static List<String> expected(String seed, int minLength) {
+        int[] seedCounts = new int[26];
+        int blanks = 0;
+        for (char ch : seed.toCharArray()) {
+            if (ch == '?') {
+                blanks += 1;
+            } else {
+                seedCounts[ch - 'a'] += 1;
+            }
+        }
+        List<String> found = new ArrayList<>();
+        for (String word : words) {
+            if (word.length() < minLength || word.length() > seed.length() || word.equals(seed)) {
+                continue;
+            }
+            int[] counts = seedCounts.clone();
+            int over = 0;
+            for (int ix = 0; ix < word.length(); ix += 1) {
+                over += --counts[word.charAt(ix) - 'a'] < 0 ? 1 : 0;
+            }
+            if (over <= blanks) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    @Test
+    void givenSeed_whenFind_thenSortedSubWords() {
+        assertEquals(Arrays.asList("low", "lowly", "lye", "ole", "owe", "owl", "well", "welly", "woe", "yell", "yeow", "yew", "yowl"),
+                new SubWordFinder(trie, "yellow", 3).find(), "seed=yellow");
+    }
+
+    @Test
+    void givenRandomSeeds_whenFindInParallel_thenSameAsScan() {
+        Random random = new Random(46);
+        for (int ix = 0; ix < 50; ix += 1) {
+            String seed;
+            do {
+                seed = words[random.nextInt(words.length)];
+            } while (seed.length() < SubWordFinder.PARALLEL_LENGTH);
+            int minLength = 1 + random.nextInt(4);
+            List<String> expected = expected(seed, minLength);
+            SubWordFinder finder = new SubWordFinder(trie, seed, minLength);
+            assertEquals(expected, finder.find(), "seed=" + seed + ";minLength=" + minLength);
+            assertEquals(expected, finder.find(pool), "seed=" + seed + ";minLength=" + minLength + ";parallel");
+            assertEquals(expected.size(), finder.count(), "seed=" + seed + ";minLength=" + minLength + ";count");
+            assertEquals(expected.size(), finder.count(pool), "seed=" + seed + ";minLength=" + minLength + ";count;parallel");
+        }
+    }
+
+    @Test
+    void givenRandomRacksWithBlanks_whenFind_thenSameAsScan() {
+        Random random = new Random(48);
+        for (int ix = 0; ix < 100; ix += 1) {
+            char[] rack = words[random.nextInt(words.length)].toCharArray();
+            int blanks = 1 + random.nextInt(Math.min(3, rack.length));
+            for (int bx = 0; bx < blanks; bx += 1) {
+                rack[random.nextInt(rack.length)] = '?';
+            }
+            String seed = new String(rack);
+            int minLength = 1 + random.nextInt(4);
+            List<String> expected = expected(seed, minLength);
+            SubWordFinder finder = new SubWordFinder(trie, seed, minLength);
+            assertEquals(expected, finder.find(), "rack=" + seed + ";minLength=" + minLength);
+            assertEquals(expected, finder.find(pool), "rack=" + seed + ";minLength=" + minLength + ";parallel");
+            assertEquals(expected.size(), finder.count(), "rack=" + seed + ";minLength=" + minLength + ";count");
+            assertEquals(expected.size(), finder.count(pool), "rack=" + seed + ";minLength=" + minLength + ";count;parallel");
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class WildcardPatternTest {
+
+    static String[] words;
+
+    static WordTrie trie;
+
+    @BeforeAll
+    static void loadWords() {
+        words = WordListLoader.loadResource("words.txt");
+        trie = new WordTrie(words);
+    }
+
+    private static List<String> expected(String pattern) {
+        Pattern regex = Pattern.compile(pattern.toLowerCase().replace("?", "[a-z]").replace("*", "[a-z]*"));
+        List<String> found = new ArrayList<>();
+        for (String word : words) {
+            if (regex.matcher(word).matches()) {
+                found.add(word);
+            }
+        }
+        return found;
+    }
+
+    private static List<String> actual(String pattern) {
+        List<String> found = new ArrayList<>();
+        WildcardPattern.compile(pattern).collect(trie, found);
+        return found;
+    }
+
+    @Test
+    void givenPatterns_whenCollect_thenSameAsRegex() {
+        String[] patterns = { "c?t*s", "c?t*ts", "*", "???", "*ing", "a*a*a", "**z**", "?oo?ed", "Yellow", "q*u", "*?*?*" };
+        for (String pattern : patterns) {
+            assertEquals(expected(pattern), actual(pattern), "pattern=" + pattern);
+        }
+    }
+
+    @Test
+    void givenPatterns_whenCount_thenSameAsCollect() {
+        String[] patterns = { "c?t*s", "*", "???", "*ing", "un*", "a*a*", "**z**", "Yellow", "q*u*", "zzz*" };
+        for (String pattern : patterns) {
+            assertEquals(expected(pattern).size(), WildcardPattern.compile(pattern).count(trie), "pattern=" + pattern);
+        }
+    }
+
+    @Test
+    void givenNoMatch_whenCollect_thenEmpty() {
+        assertTrue(actual("zzz*").isEmpty(), "zzz*");
+        assertTrue(actual("??????????????????????????????").isEmpty(), "30 letters");
+    }
+
+    @Test
+    void givenInvalidPattern_whenCompile_thenNull() {
+        assertNull(WildcardPattern.compile(null), "null");
+        assertNull(WildcardPattern.compile("  "), "blank");
+        assertNull(WildcardPattern.compile("c.t"), "c.t");
+        assertNull(WildcardPattern.compile("can't"), "can't");
+        StringBuilder sb = new StringBuilder();
+        for (int ix = 0; ix < WildcardPattern.MAX_LENGTH; ix += 1) {
+            sb.append('?');
+        }
+        assertNotNull(WildcardPattern.compile(sb.toString()), "63");
+        assertNull(WildcardPattern.compile(sb.append('?').toString()), "64");
+    }
+
+    @Test
+    void givenStarRuns_whenCompile_thenFolded() {
+        assertEquals("a*b*", WildcardPattern.compile(" A***b** ").toString(), "folded");
+    }
+
+}
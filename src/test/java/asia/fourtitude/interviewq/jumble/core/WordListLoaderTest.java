@@ -0,0 +1,125 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+
+class WordListLoaderTest {
+
+    private static String[] expected(List<String> lines) {
+        Set<String> unique = new TreeSet<>();
+        for (String line : lines) {
+            String word = DefaultJumbleEngine.normalize(line);
+            if (word != null) {
+                unique.add(word);
+            }
+        }
+        return unique.toArray(new String[0]);
+    }
+
+    private static List<String> randomLines(int count) {
+        Random random = new Random(7);
+        List<String> lines = new ArrayList<>();
+        for (int ix = 0; ix < count; ix += 1) {
+            StringBuilder sb = new StringBuilder();
+            int len = 1 + random.nextInt(8);
+            for (int jx = 0; jx < len; jx += 1) {
+                sb.append((char) ((random.nextBoolean() ? 'a' : 'A') + random.nextInt(4)));
+            }
+            lines.add(sb.toString());
+        }
+        return lines;
+    }
+
+    @Test
+    void givenMessyLines_whenParse_thenSameAsNormalize() {
+        List<String> lines = Arrays.asList("Apple", "  banana\t", "apple", "", "can't", "café", "zoo\r", "   ", "Zoo", "b");
+        byte[] bytes = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        for (int chunkSize = 1; chunkSize <= bytes.length + 1; chunkSize += 1) {
+            String[] actual = WordListLoader.parse(ByteBuffer.wrap(bytes), chunkSize);
+            assertArrayEquals(expected(lines), actual, "chunkSize=" + chunkSize);
+        }
+    }
+
+    @Test
+    void givenManyChunks_whenParse_thenSortedUnique() {
+        List<String> lines = randomLines(50_000);
+        byte[] bytes = (String.join("\r\n", lines) + "\r\n").getBytes(StandardCharsets.UTF_8);
+        String[] actual = WordListLoader.parse(ByteBuffer.wrap(bytes), 1_000);
+        assertArrayEquals(expected(lines), actual, "words");
+    }
+
+    @Test
+    void givenFile_whenLoad_thenMapped() throws Exception {
+        List<String> lines = randomLines(1_000);
+        Path file = Files.createTempFile("words", ".txt");
+        try {
+            Files.write(file, lines, StandardCharsets.UTF_8);
+            assertArrayEquals(expected(lines), WordListLoader.loadFile(file), "words");
+
+            JumbleEngine engine = new DefaultJumbleEngine(DictionarySource.file(file));
+            assertTrue(engine.exists(expected(lines)[0]), "exists");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void givenLongLines_whenParseStream_thenCarryOverChunks() throws Exception {
+        List<String> lines = new ArrayList<>(randomLines(5_000));
+        StringBuilder longWord = new StringBuilder();
+        for (int ix = 0; ix < 300; ix += 1) {
+            longWord.append((char) ('a' + ix % 26));
+        }
+        lines.add(2_500, longWord.toString());
+        byte[] bytes = String.join("\n", lines).getBytes(StandardCharsets.UTF_8);
+        for (int chunkSize : new int[] { 16, 100, 4_096 }) {
+            String[] actual = WordListLoader.parseStream(new ByteArrayInputStream(bytes), chunkSize);
+            assertArrayEquals(expected(lines), actual, "chunkSize=" + chunkSize);
+        }
+    }
+
+    @Test
+    void givenGzipFile_whenLoad_thenDecompressed() throws Exception {
+        List<String> lines = randomLines(200_000);
+        Path file = Files.createTempFile("words", ".txt.gz");
+        try {
+            try (OutputStream os = new GZIPOutputStream(Files.newOutputStream(file))) {
+                os.write(String.join("\n", lines).getBytes(StandardCharsets.UTF_8));
+            }
+            assertArrayEquals(expected(lines), WordListLoader.loadFile(file), "words");
+
+            JumbleEngine engine = new DefaultJumbleEngine(DictionarySource.file(file));
+            assertTrue(engine.exists(expected(lines)[0]), "exists");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void givenBundledWords_whenGzip_thenSameWords() throws Exception {
+        byte[] plain = WordListLoader.readAll(getClass().getClassLoader().getResourceAsStream("words.txt"));
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream os = new GZIPOutputStream(compressed)) {
+            os.write(plain);
+        }
+        assertArrayEquals(WordListLoader.loadResource("words.txt"),
+                WordListLoader.loadGzip(new ByteArrayInputStream(compressed.toByteArray())), "words");
+    }
+
+}
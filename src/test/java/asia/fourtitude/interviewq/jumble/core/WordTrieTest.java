@@ -0,0 +1,50 @@
+package asia.fourtitude.interviewq.jumble.core;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+class WordTrieTest {
+
+    static final String[] WORDS = { "low", "lower", "owl", "yell", "yellow" };
+
+    @Test
+    void givenWords_whenFindPrefix_thenWordRange() {
+        WordTrie trie = new WordTrie(WORDS);
+        int node = trie.find("yel");
+        assertTrue(node > 0, "yel");
+        assertEquals(3, trie.wordFrom(node), "wordFrom");
+        assertEquals(5, trie.wordTo(node), "wordTo");
+        assertNull(trie.word(node, 3), "word");
+        assertEquals(6, trie.maxLength(node), "maxLength");
+        assertEquals(-1, trie.find("yo"), "yo");
+    }
+
+    @Test
+    void givenWords_whenFindWord_thenTerminal() {
+        WordTrie trie = new WordTrie(WORDS);
+        assertEquals("low", trie.word(trie.find("low"), 3), "low");
+        assertEquals("lower", trie.word(trie.find("lower"), 5), "lower");
+        assertEquals(0, trie.wordFrom(WordTrie.ROOT), "root.wordFrom");
+        assertEquals(WORDS.length, trie.wordTo(WordTrie.ROOT), "root.wordTo");
+    }
+
+    @Test
+    void givenWords_whenChildren_thenLetterOrder() {
+        WordTrie trie = new WordTrie(WORDS);
+        StringBuilder sb = new StringBuilder();
+        for (int child = trie.childStart(WordTrie.ROOT); child < trie.childEnd(WordTrie.ROOT); child += 1) {
+            sb.append(trie.label(child));
+        }
+        assertEquals("loy", sb.toString(), "root children");
+    }
+
+    @Test
+    void givenNoWords_whenFind_thenNothing() {
+        WordTrie trie = new WordTrie(new String[0]);
+        assertEquals(1, trie.size(), "size");
+        assertEquals(-1, trie.find("a"), "a");
+        assertEquals(0, trie.maxLength(WordTrie.ROOT), "maxLength");
+    }
+
+}
@@ -0,0 +1,46 @@
+package asia.fourtitude.interviewq.jumble.metrics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class GameMetricsTest {
+
+    private static GameState newGameState() {
+        Map<String, Boolean> subWords = new TreeMap<>();
+        subWords.put("owl", Boolean.FALSE);
+        subWords.put("yell", Boolean.FALSE);
+        return new GameState("yellow", "wolley", subWords);
+    }
+
+    private static void guess(GameMetrics metrics, String game, GameState state, String word) {
+        metrics.guessed(game, "id", state, word, state.guess(word));
+    }
+
+    @Test
+    void givenApiGames_whenGuessAllWords_thenNotActive() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        GameMetrics metrics = new GameMetrics(registry);
+        GameState first = newGameState();
+        metrics.gameCreated(GameMetrics.API, "id", first);
+        metrics.gameCreated(GameMetrics.API, "id", first);
+        metrics.gameCreated(GameMetrics.WEB, null, first);
+        assertEquals(2.0, registry.get("jumble.games.active").gauge().value(), "active");
+
+        guess(metrics, GameMetrics.API, first, "owl");
+        guess(metrics, GameMetrics.API, first, "yell");
+        guess(metrics, GameMetrics.API, first, "yell");
+        guess(metrics, GameMetrics.API, first, "lowly");
+        assertEquals(1.0, registry.get("jumble.games.active").gauge().value(), "active;after_completed");
+        assertEquals(3.0, registry.get("jumble.game.guesses").tag("outcome", "correct").counter().count(), "correct");
+        assertEquals(1.0, registry.get("jumble.game.guesses").tag("outcome", "incorrect").counter().count(), "incorrect");
+        assertEquals(1.0, registry.get("jumble.games.created").tag("game", GameMetrics.WEB).counter().count(), "created;web");
+    }
+
+}
@@ -0,0 +1,156 @@
+package asia.fourtitude.interviewq.jumble.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.Test;
+
+import asia.fourtitude.interviewq.jumble.core.GameState;
+import asia.fourtitude.interviewq.jumble.core.DefaultJumbleEngine;
+import asia.fourtitude.interviewq.jumble.core.JumbleEngine;
+
+class GameBoardTest {
+
+    static final JumbleEngine ENGINE = new DefaultJumbleEngine();
+
+    /*
+     * The session layout before GameBoard was Externalizable: default Java
+     * serialization of the words and a TreeMap of boxed Booleans.
+     */
+    static class DefaultGameBoard implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        String original;
+
+        String scramble;
+
+        Map<String, Boolean> subWords;
+
+        String word;
+
+        DefaultGameBoard(GameBoard board) {
+            this.original = board.getState().getOriginal();
+            this.scramble = board.getState().getScramble();
+            this.subWords = new TreeMap<>(board.getState().getSubWords());
+            this.word = board.getWord();
+        }
+
+    }
+
+    private static byte[] serialize(Object obj) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(obj);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(data))) {
+            return in.readObject();
+        }
+    }
+
+    private static GameBoard newBoard() {
+        GameBoard board = new GameBoard();
+        board.setState(ENGINE.createGameState(6, 3));
+        board.setWord("");
+        List<String> words = new ArrayList<>(board.getState().getSubWords().keySet());
+        for (int ix = 0; ix < words.size(); ix += 3) {
+            board.getState().updateGuessWord(words.get(ix));
+        }
+        return board;
+    }
+
+    @Test
+    void givenEmptyBoard_whenSerialize_thenSameBoard() throws Exception {
+        GameBoard copy = (GameBoard) deserialize(serialize(new GameBoard()));
+        assertNull(copy.getState(), "state");
+        assertNull(copy.getWord(), "word");
+        assertNull(copy.getToken(), "token");
+    }
+
+    @Test
+    void givenPlayedBoard_whenSerialize_thenSameBoard() throws Exception {
+        GameBoard board = newBoard();
+        board.setToken("some.token");
+        GameBoard copy = (GameBoard) deserialize(serialize(board));
+        assertEquals(board.getState().getOriginal(), copy.getState().getOriginal(), "original");
+        assertEquals(board.getState().getScramble(), copy.getState().getScramble(), "scramble");
+        assertEquals(board.getState().getSubWords(), copy.getState().getSubWords(), "subWords");
+        assertEquals(board.getState().getGuessedWords(), copy.getState().getGuessedWords(), "guessedWords");
+        assertEquals(board.getWord(), copy.getWord(), "word");
+        assertEquals(board.getToken(), copy.getToken(), "token");
+
+        String word = null;
+        for (Map.Entry<String, Boolean> entry : copy.getState().getSubWords().entrySet()) {
+            if (! entry.getValue()) {
+                word = entry.getKey();
+            }
+        }
+        if (word != null) {
+            assertTrue(copy.getState().updateGuessWord(word), "copy.updateGuessWord");
+        }
+    }
+
+    @Test
+    void givenWordAndTokenOver64KBytes_whenSerialize_thenSameBoard() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int ix = 0; ix < 30_000; ix += 1) {
+            // 3 bytes in UTF-8, so 90000 bytes in all
+            sb.append('\u20ac');
+        }
+        GameBoard board = new GameBoard();
+        board.setWord(sb.toString());
+        board.setToken(sb.reverse().append("x").toString());
+        GameBoard copy = (GameBoard) deserialize(serialize(board));
+        assertEquals(board.getWord(), copy.getWord(), "word");
+        assertEquals(board.getToken(), copy.getToken(), "token");
+    }
+
+    @Test
+    void givenTooLongSubWord_whenSerialize_thenException() {
+        String longest = "abcdefghijklmnopqrstuvwxyzabcdef";
+        Map<String, Boolean> subWords = new TreeMap<>();
+        subWords.put("abc", Boolean.FALSE);
+        subWords.put(longest, Boolean.FALSE);
+        GameBoard board = new GameBoard();
+        board.setState(new GameState(longest, longest, subWords));
+        assertThrows(IOException.class, () -> { serialize(board); }, "length=32");
+        subWords.remove(longest);
+        board.setState(new GameState(longest, longest, subWords));
+        assertDoesNotThrow(() -> serialize(board), "length=3");
+    }
+
+    /*
+     * Size of the compact form against default serialization; the speed
+     * is compared by GameBoardBenchmark.
+     */
+    @Test
+    void givenBoards_whenSerialize_thenSmallerThanDefault() throws Exception {
+        List<GameBoard> boards = new ArrayList<>();
+        for (int ix = 0; ix < 50; ix += 1) {
+            boards.add(newBoard());
+        }
+
+        long compactBytes = 0;
+        long defaultBytes = 0;
+        for (GameBoard board : boards) {
+            compactBytes += serialize(board).length;
+            defaultBytes += serialize(new DefaultGameBoard(board)).length;
+        }
+        assertTrue(compactBytes * 3 < defaultBytes, "compact=" + compactBytes + ";default=" + defaultBytes);
+    }
+
+}